@@ -5,6 +5,8 @@ plugins {
     id("org.sonarqube") version "7.0.0.6105"
     checkstyle
     jacoco
+    id("me.champeau.jmh") version "0.7.2"
+    id("org.graalvm.buildtools.native") version "0.9.28"
 }
 
 group = "hexlet.code"
@@ -14,22 +16,39 @@ repositories {
     mavenCentral()
 }
 
+// 6.2.1 из Boot 3.2.2 дважды регистрирует mvcHandlerMappingIntrospectorRequestTransformer в AOT-режиме
+extra["spring-security.version"] = "6.2.2"
+
 application {
     mainClass = "hexlet.code.AppApplication"
 }
 
+val perf: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations["perfImplementation"].extendsFrom(configurations.implementation.get())
+configurations["perfRuntimeOnly"].extendsFrom(configurations.runtimeOnly.get())
+
 dependencies {
     // Spring Boot starters
     implementation("org.springframework.boot:spring-boot-starter")
     implementation("org.springframework.boot:spring-boot-starter-web")
-    implementation("org.springframework.boot:spring-boot-devtools")
+    developmentOnly("org.springframework.boot:spring-boot-devtools")
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-validation")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
 
     // Spring Security
     implementation("org.springframework.boot:spring-boot-starter-security")
     implementation("org.springframework.boot:spring-boot-starter-oauth2-resource-server")
 
+    // Metrics
+    implementation("io.micrometer:micrometer-registry-prometheus")
+    implementation("org.hibernate.orm:hibernate-micrometer")
+    implementation("net.ttddyy:datasource-proxy:1.10")
+
     // MapStruct
     implementation("org.mapstruct:mapstruct:1.5.5.Final")
     annotationProcessor("org.projectlombok:lombok-mapstruct-binding:0.2.0")
@@ -56,6 +75,9 @@ dependencies {
     implementation("io.sentry:sentry-spring-boot-starter-jakarta:7.8.0")
     implementation("io.sentry:sentry-logback:7.8.0")
 
+    // Structured logging
+    implementation("net.logstash.logback:logstash-logback-encoder:7.4")
+
     // Test dependencies
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("org.instancio:instancio-junit:4.3.1")
@@ -72,6 +94,110 @@ tasks.withType<Test> {
     useJUnitPlatform()
 }
 
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Runs the HTTP load test against an embedded instance on the development profile"
+    classpath = perf.runtimeClasspath
+    mainClass = "hexlet.code.perf.LoadTest"
+    systemProperties(project.properties.filterKeys { it.startsWith("loadtest.") })
+    systemProperty("loadtest.report", layout.buildDirectory.file("reports/loadtest/result.json").get().asFile.path)
+}
+
+graalvmNative {
+    binaries {
+        named("main") {
+            imageName = "app"
+            buildArgs.add("-H:+ReportExceptionStackTraces")
+        }
+    }
+}
+
+tasks.register<JavaExec>("nativeSmokeTest") {
+    group = "verification"
+    description = "Starts the native image and the JVM jar on H2, calls /api/login and /api/tasks, compares startup"
+    dependsOn(tasks.nativeCompile, tasks.bootJar)
+    classpath = perf.runtimeClasspath
+    mainClass = "hexlet.code.perf.StartupProbe"
+    systemProperties(project.properties.filterKeys { it.startsWith("startup.") })
+    systemProperty("startup.report", layout.buildDirectory.file("reports/startup/native.json").get().asFile.path)
+    args(
+        "jvm={java} -jar " + tasks.bootJar.get().archiveFile.get().asFile.path,
+        "native=" + layout.buildDirectory.file("native/nativeCompile/app").get().asFile.path
+    )
+}
+
+// Под spring.aot.enabled определения репозиториев и условие отложенного bootstrap JPA фиксируются здесь,
+// при AOT-обработке: тот же параметр при запуске jar уже ничего не меняет
+tasks.processAot {
+    systemProperty("spring.data.jpa.repositories.bootstrap-mode", "deferred")
+}
+
+// JVM-режим быстрого старта: классы приложения вместе с AOT-кодом в app.jar, библиотеки в lib/ через Class-Path
+// манифеста. CDS не принимает каталоги в classpath, поэтому вложенный bootJar и build/classes здесь не годятся
+val cdsJar by tasks.registering(Jar::class) {
+    group = "build"
+    description = "Assembles the application jar with Spring AOT classes and a lib/ directory for AppCDS"
+    archiveFileName = "app.jar"
+    destinationDirectory = layout.buildDirectory.dir("cds")
+    from(sourceSets.main.get().output, sourceSets["aot"].output)
+    from(tasks.processAot.flatMap { it.classesOutput })
+    manifest {
+        attributes(
+            "Main-Class" to application.mainClass.get(),
+            "Class-Path" to configurations["productionRuntimeClasspath"].joinToString(" ") { "lib/${it.name}" }
+        )
+    }
+    doFirst {
+        sync {
+            from(configurations["productionRuntimeClasspath"])
+            into(layout.buildDirectory.dir("cds/lib"))
+        }
+    }
+}
+
+// Тренировочный прогон: контекст поднимается на H2 и завершается сразу после refresh,
+// загруженные классы сохраняются в динамический CDS-архив
+val cdsArchive by tasks.registering(Exec::class) {
+    group = "build"
+    description = "Records an AppCDS archive from a training run of the AOT-processed application"
+    dependsOn(cdsJar)
+    // Архив привязан к classpath в том виде, как он передан JVM, поэтому путь к jar здесь и при запуске одинаковый
+    val cdsDir = layout.buildDirectory.dir("cds").get().asFile
+    outputs.file(File(cdsDir, "app.jsa"))
+    commandLine(
+        javaToolchains.launcherFor(java.toolchain).get().executablePath.asFile.path,
+        "-XX:ArchiveClassesAtExit=$cdsDir/app.jsa",
+        "-Dspring.context.exit=onRefresh",
+        "-Dspring.aot.enabled=true",
+        "-jar", "$cdsDir/app.jar",
+        "--spring.profiles.active=development"
+    )
+}
+
+tasks.register<JavaExec>("startupBenchmark") {
+    group = "verification"
+    description = "Measures time to the first /api/tasks response: plain jar vs AppCDS + Spring AOT + deferred JPA"
+    dependsOn(tasks.bootJar, cdsArchive)
+    classpath = perf.runtimeClasspath
+    mainClass = "hexlet.code.perf.StartupProbe"
+    systemProperties(project.properties.filterKeys { it.startsWith("startup.") })
+    systemProperty("startup.report", layout.buildDirectory.file("reports/startup/jvm.json").get().asFile.path)
+    val cdsDir = layout.buildDirectory.dir("cds").get().asFile
+    args(
+        "jvm={java} -jar " + tasks.bootJar.get().archiveFile.get().asFile.path,
+        "cds-aot={java} -XX:SharedArchiveFile=$cdsDir/app.jsa -Dspring.aot.enabled=true -jar $cdsDir/app.jar"
+    )
+}
+
+jmh {
+    jmhVersion = "1.37"
+    warmupIterations = 3
+    iterations = 5
+    fork = 1
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("reports/jmh/results.json")
+}
+
 sonar {
     properties {
         property("sonar.projectKey", "AMOrlovSev_java-project-99")
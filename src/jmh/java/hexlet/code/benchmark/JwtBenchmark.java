@@ -0,0 +1,45 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.configuration.AdminConfig;
+import hexlet.code.util.JWTUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtBenchmark {
+
+    private JWTUtils jwtUtils;
+    private JwtDecoder jwtDecoder;
+    private String username;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp(ApplicationState application) {
+        jwtUtils = application.getBean(JWTUtils.class);
+        jwtDecoder = application.getBean(JwtDecoder.class);
+        username = application.getBean(AdminConfig.class).getEmail();
+        token = jwtUtils.generateToken(username);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateToken(username);
+    }
+
+    @Benchmark
+    public Jwt decodeToken() {
+        return jwtDecoder.decode(token);
+    }
+}
@@ -0,0 +1,57 @@
+package hexlet.code.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.task.TaskDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskSerializationBenchmark {
+
+    @Param({"10", "100"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<TaskDTO> tasks;
+
+    @Setup(Level.Trial)
+    public void setUp(ApplicationState application) {
+        // ObjectMapper из контекста, т.е. с настройками JacksonConfig (NON_NULL, JsonNullableModule)
+        objectMapper = application.getBean(ObjectMapper.class);
+
+        tasks = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            TaskDTO dto = new TaskDTO();
+            dto.setId(i);
+            dto.setIndex((int) i);
+            dto.setTitle("Task " + i);
+            dto.setContent("Description of task " + i + " with some realistic length of text");
+            dto.setStatus("to_review");
+            dto.setAssigneeId(i % 10);
+            dto.setTaskLabelIds(Set.of(1L, 2L, 3L));
+            dto.setCreatedAt(LocalDate.now());
+            tasks.add(dto);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(tasks);
+    }
+}
@@ -0,0 +1,66 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.dto.task.TaskParamsDTO;
+import hexlet.code.model.Task;
+import hexlet.code.specification.TaskSpecification;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskSpecificationBenchmark {
+
+    private TaskSpecification taskSpecification;
+    private EntityManager entityManager;
+    private TaskParamsDTO params;
+
+    @Setup(Level.Trial)
+    public void setUp(ApplicationState application) {
+        taskSpecification = application.getBean(TaskSpecification.class);
+        entityManager = application.getBean(EntityManagerFactory.class).createEntityManager();
+
+        params = new TaskParamsDTO();
+        params.setTitleCont("task");
+        params.setAssigneeId(1L);
+        params.setStatus("to_review");
+        params.setLabelId(1L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManager.close();
+    }
+
+    @Benchmark
+    public Specification<Task> build() {
+        return taskSpecification.build(params);
+    }
+
+    // Criteria -> SQM -> SQL: у Hibernate нет публичного API только для трансляции,
+    // поэтому запрос выполняется на маленькой таблице из DataInitializer и время определяется трансляцией
+    @Benchmark
+    public List<Task> buildAndTranslate() {
+        var spec = taskSpecification.build(params);
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(Task.class);
+        var root = query.from(Task.class);
+        query.where(spec.toPredicate(root, query, cb));
+        return entityManager.createQuery(query)
+                .setMaxResults(10)
+                .getResultList();
+    }
+}
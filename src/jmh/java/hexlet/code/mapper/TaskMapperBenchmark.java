@@ -0,0 +1,74 @@
+package hexlet.code.mapper;
+
+import hexlet.code.benchmark.ApplicationState;
+import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskMapperBenchmark {
+
+    @Param({"0", "3", "20"})
+    private int labelCount;
+
+    private TaskMapper taskMapper;
+    private Task task;
+
+    @Setup(Level.Trial)
+    public void setUp(ApplicationState application) {
+        taskMapper = application.getBean(TaskMapper.class);
+
+        TaskStatus status = new TaskStatus();
+        status.setId(1L);
+        status.setSlug("to_review");
+
+        User assignee = new User();
+        assignee.setId(1L);
+
+        Set<Label> labels = new HashSet<>();
+        for (long i = 1; i <= labelCount; i++) {
+            Label label = new Label();
+            label.setId(i);
+            label.setName("label" + i);
+            labels.add(label);
+        }
+
+        task = new Task();
+        task.setId(1L);
+        task.setIndex(1);
+        task.setName("Benchmark task");
+        task.setDescription("Description of the benchmark task");
+        task.setCreatedAt(LocalDateTime.now());
+        task.setTaskStatus(status);
+        task.setAssignee(assignee);
+        task.setLabels(labels);
+    }
+
+    @Benchmark
+    public TaskDTO mapTask() {
+        return taskMapper.map(task);
+    }
+
+    @Benchmark
+    public Set<Long> mapLabelsToTaskLabelIds() {
+        return taskMapper.mapLabelsToTaskLabelIds(task.getLabels());
+    }
+}
@@ -1,14 +1,25 @@
 package hexlet.code;
 
+import hexlet.code.configuration.NativeRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.NativeDetector;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
+import java.util.Map;
+
 @SpringBootApplication
 @EnableJpaAuditing
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class AppApplication {
     public static void main(String[] args) {
-        SpringApplication.run(AppApplication.class, args);
+        SpringApplication application = new SpringApplication(AppApplication.class);
+        if (NativeDetector.inNativeImage()) {
+            // В native-image нельзя генерировать классы в рантайме; ленивых to-one прокси у нас нет
+            application.setDefaultProperties(Map.of("spring.jpa.properties.hibernate.bytecode.provider", "none"));
+        }
+        application.run(args);
     }
 
 
@@ -0,0 +1,161 @@
+package hexlet.code.archive;
+
+import hexlet.code.configuration.ArchiveConfig;
+import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.mapper.TaskMapper;
+import hexlet.code.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Перенос завершённых задач из {@code tasks} и {@code task_labels} в {@code tasks_archive}
+ * и {@code task_labels_archive}.
+ *
+ * <p>В архив уходят задачи в статусе {@code app.archive.status}, не менявшиеся дольше {@code age}:
+ * отдельного времени завершения у задачи нет, а последнее изменение не раньше перехода в этот статус.
+ * Перенос идёт пачками по {@code batchSize}, каждая в своей транзакции и с паузой {@code pause} между
+ * ними, чтобы не держать долгих блокировок и не забирать базу у запросов пользователей.
+ *
+ * <p>Строки пачки блокируются {@code FOR UPDATE} с повторной проверкой условия, так что задача,
+ * которую в этот момент редактируют, либо дождётся переноса, либо в пачку не попадёт. На каждую
+ * перенесённую задачу публикуется {@link TaskChangedEvent.Type#ARCHIVED}: счётчики, поиск, outbox,
+ * поток SSE и журнал синхронизации убирают её из рабочего набора.
+ */
+@Slf4j
+@Component
+public class TaskArchiver {
+
+    private final ArchiveConfig config;
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskRepository taskRepository;
+    private final TaskMapper taskMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter archived;
+    private ScheduledExecutorService executor;
+
+    public TaskArchiver(ArchiveConfig config, JdbcTemplate jdbcTemplate, TaskRepository taskRepository,
+                        TaskMapper taskMapper, ApplicationEventPublisher eventPublisher,
+                        PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.jdbcTemplate = jdbcTemplate;
+        this.taskRepository = taskRepository;
+        this.taskMapper = taskMapper;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archived = Counter.builder("app.archive.tasks")
+                .description("Tasks moved from tasks to tasks_archive")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!config.isEnabled() || executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = config.getInterval().toMillis();
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                archive();
+            } catch (RuntimeException e) {
+                log.info("Task archiving failed, will retry: {}", e.getMessage());
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    // Переносит пачки, пока находятся задачи; возвращает число перенесённых
+    public int archive() {
+        int total = 0;
+        int moved;
+        do {
+            moved = archiveBatch();
+            total += moved;
+            if (moved == config.getBatchSize() && !pause()) {
+                break;
+            }
+        } while (moved == config.getBatchSize());
+        if (total > 0) {
+            log.info("Archived {} tasks", total);
+        }
+        return total;
+    }
+
+    public int archiveBatch() {
+        Integer count = transactionTemplate.execute(status -> {
+            Optional<Long> statusId = jdbcTemplate.queryForList("SELECT id FROM task_statuses WHERE slug = ?",
+                    Long.class, config.getStatus()).stream().findFirst();
+            if (statusId.isEmpty()) {
+                return 0;
+            }
+            Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(config.getAge()));
+            List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM tasks WHERE task_status_id = ?"
+                    + " AND COALESCE(updated_at, created_at) < ? ORDER BY id FETCH FIRST ? ROWS ONLY FOR UPDATE",
+                    Long.class, statusId.get(), cutoff, config.getBatchSize());
+            if (ids.isEmpty()) {
+                return 0;
+            }
+
+            // Состояние до переноса нужно подписчикам события: счётчики вычитают задачу по статусу и меткам
+            List<TaskDTO> tasks = taskRepository.findAllByIdIn(ids).stream().map(taskMapper::map).toList();
+            String in = String.join(", ", Collections.nCopies(ids.size(), "?"));
+            List<Object> args = new ArrayList<>();
+            args.add(Timestamp.valueOf(LocalDateTime.now()));
+            args.addAll(ids);
+            jdbcTemplate.update("INSERT INTO tasks_archive (id, index, name, description, created_at, updated_at,"
+                    + " task_status_id, assignee_id, archived_at) SELECT id, index, name, description, created_at,"
+                    + " updated_at, task_status_id, assignee_id, ? FROM tasks WHERE id IN (" + in + ")",
+                    args.toArray());
+            jdbcTemplate.update("INSERT INTO task_labels_archive (task_id, label_id)"
+                    + " SELECT task_id, label_id FROM task_labels WHERE task_id IN (" + in + ")", ids.toArray());
+            jdbcTemplate.update("DELETE FROM task_labels WHERE task_id IN (" + in + ")", ids.toArray());
+            jdbcTemplate.update("DELETE FROM tasks WHERE id IN (" + in + ")", ids.toArray());
+
+            tasks.forEach(task -> eventPublisher.publishEvent(TaskChangedEvent.archived(task)));
+            return ids.size();
+        });
+        archived.increment(count);
+        return count;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(config.getPause().toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package hexlet.code.autocomplete;
+
+import hexlet.code.model.Label;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Переносит изменения статусов, меток и пользователей в AutocompleteIndex после коммита,
+// откаченная транзакция индекс не трогает. Индекс берётся лениво: listener создаётся вместе с EntityManagerFactory
+@Component
+public class AutocompleteEntityListener {
+
+    private final ObjectProvider<AutocompleteIndex> index;
+
+    public AutocompleteEntityListener(ObjectProvider<AutocompleteIndex> index) {
+        this.index = index;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        if (entity instanceof TaskStatus status) {
+            long id = status.getId();
+            String name = status.getName();
+            String slug = status.getSlug();
+            afterCommit(() -> index.getObject().put(AutocompleteKind.STATUS, id, name, name, slug));
+        } else if (entity instanceof Label label) {
+            long id = label.getId();
+            String name = label.getName();
+            afterCommit(() -> index.getObject().put(AutocompleteKind.LABEL, id, name, name));
+        } else if (entity instanceof User user) {
+            var entry = AutocompleteIndex.user(user.getId(), user.getFirstName(), user.getLastName(), user.getEmail());
+            afterCommit(() -> index.getObject().put(AutocompleteKind.USER, entry.id(), entry.text(),
+                    entry.values().toArray(String[]::new)));
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        if (entity instanceof TaskStatus status) {
+            long id = status.getId();
+            afterCommit(() -> index.getObject().remove(AutocompleteKind.STATUS, id));
+        } else if (entity instanceof Label label) {
+            long id = label.getId();
+            afterCommit(() -> index.getObject().remove(AutocompleteKind.LABEL, id));
+        } else if (entity instanceof User user) {
+            long id = user.getId();
+            afterCommit(() -> index.getObject().remove(AutocompleteKind.USER, id));
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,163 @@
+package hexlet.code.autocomplete;
+
+import hexlet.code.configuration.AutocompleteConfig;
+import hexlet.code.dto.autocomplete.AutocompleteItemDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Автодополнение для выбора статуса, метки и исполнителя.
+ *
+ * <p>На каждый вид — неизменяемый {@link PrefixIndex}, чтение без блокировок и без обращения к базе.
+ * Изменения сущностей через JPA приходят из {@link AutocompleteEntityListener} после коммита, записи мимо
+ * JPA подхватывает полная перезагрузка раз в {@code refreshInterval}.
+ *
+ * <p>Индексы лежат в неизменяемой карте в volatile-поле: поиск только читает ссылку. Перезагрузка строит
+ * новые индексы без блокировки, а изменения, пришедшие за время её запросов к базе, запоминает и
+ * накатывает поверх перед подменой, чтобы не затереть их более старым снимком.
+ */
+@Slf4j
+@Component
+public class AutocompleteIndex {
+
+    private final AutocompleteConfig config;
+    private final JdbcTemplate jdbcTemplate;
+    // Только для писателей: поиск блокировку не берёт
+    private final Object writeLock = new Object();
+    private volatile Map<AutocompleteKind, PrefixIndex> indexes;
+    // Изменения, пришедшие во время перезагрузки; null — перезагрузка не идёт
+    private List<Change> changesDuringRefresh;
+    private ScheduledExecutorService executor;
+
+    public AutocompleteIndex(AutocompleteConfig config, JdbcTemplate jdbcTemplate) {
+        this.config = config;
+        this.jdbcTemplate = jdbcTemplate;
+        Map<AutocompleteKind, PrefixIndex> empty = new EnumMap<>(AutocompleteKind.class);
+        for (AutocompleteKind kind : AutocompleteKind.values()) {
+            empty.put(kind, PrefixIndex.EMPTY);
+        }
+        this.indexes = Collections.unmodifiableMap(empty);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "autocomplete-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                log.info("Autocomplete refresh failed, will retry: {}", e.getMessage());
+            }
+        }, 0, config.getRefreshInterval().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    // kind == null — по всем видам: сначала статусы, затем метки, затем пользователи
+    public List<AutocompleteItemDTO> search(AutocompleteKind kind, String prefix, int limit) {
+        int bounded = Math.max(1, Math.min(limit, config.getMaxLimit()));
+        List<AutocompleteItemDTO> items = new ArrayList<>();
+        Map<AutocompleteKind, PrefixIndex> snapshot = indexes;
+        for (AutocompleteKind current : kind == null ? AutocompleteKind.values() : new AutocompleteKind[] {kind}) {
+            for (PrefixIndex.Match match : snapshot.get(current).search(prefix, bounded - items.size())) {
+                items.add(new AutocompleteItemDTO(current, match.id(), match.text()));
+            }
+            if (items.size() >= bounded) {
+                break;
+            }
+        }
+        return items;
+    }
+
+    public void put(AutocompleteKind kind, long id, String text, String... values) {
+        var entry = new PrefixIndex.Entry(id, text, List.of(values));
+        apply(new Change(kind, index -> index.with(entry)));
+    }
+
+    public void remove(AutocompleteKind kind, long id) {
+        apply(new Change(kind, index -> index.without(id)));
+    }
+
+    // synchronized: плановая перезагрузка и ручной вызов не должны делить один список изменений
+    public synchronized void refresh() {
+        synchronized (writeLock) {
+            changesDuringRefresh = new ArrayList<>();
+        }
+        try {
+            Map<AutocompleteKind, PrefixIndex> fresh = new EnumMap<>(AutocompleteKind.class);
+            fresh.put(AutocompleteKind.STATUS, PrefixIndex.of(jdbcTemplate.query(
+                    "SELECT id, name, slug FROM task_statuses",
+                    (rs, rowNum) -> new PrefixIndex.Entry(rs.getLong(1), rs.getString(2),
+                            List.of(rs.getString(2), rs.getString(3))))));
+            fresh.put(AutocompleteKind.LABEL, PrefixIndex.of(jdbcTemplate.query(
+                    "SELECT id, name FROM labels",
+                    (rs, rowNum) -> new PrefixIndex.Entry(rs.getLong(1), rs.getString(2), List.of(rs.getString(2))))));
+            fresh.put(AutocompleteKind.USER, PrefixIndex.of(jdbcTemplate.query(
+                    "SELECT id, first_name, last_name, email FROM users",
+                    (rs, rowNum) -> user(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4)))));
+
+            synchronized (writeLock) {
+                // put и remove идемпотентны, так что изменение, уже попавшее в снимок, накатывается безвредно
+                for (Change change : changesDuringRefresh) {
+                    fresh.put(change.kind(), change.operation().apply(fresh.get(change.kind())));
+                }
+                indexes = Collections.unmodifiableMap(fresh);
+            }
+        } finally {
+            synchronized (writeLock) {
+                changesDuringRefresh = null;
+            }
+        }
+    }
+
+    private void apply(Change change) {
+        synchronized (writeLock) {
+            Map<AutocompleteKind, PrefixIndex> next = new EnumMap<>(indexes);
+            next.put(change.kind(), change.operation().apply(next.get(change.kind())));
+            indexes = Collections.unmodifiableMap(next);
+            if (changesDuringRefresh != null) {
+                changesDuringRefresh.add(change);
+            }
+        }
+    }
+
+    static PrefixIndex.Entry user(long id, String firstName, String lastName, String email) {
+        String name = String.join(" ", Stream.of(firstName, lastName)
+                .filter(part -> part != null && !part.isBlank())
+                .toList());
+        String text = name.isEmpty() ? email : name + " <" + email + ">";
+        return new PrefixIndex.Entry(id, text, Stream.of(firstName, lastName, email)
+                .filter(value -> value != null)
+                .toList());
+    }
+
+    private record Change(AutocompleteKind kind, UnaryOperator<PrefixIndex> operation) {
+    }
+}
@@ -0,0 +1,22 @@
+package hexlet.code.autocomplete;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+
+public enum AutocompleteKind {
+    STATUS, LABEL, USER;
+
+    @JsonValue
+    public String value() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static Optional<AutocompleteKind> of(String value) {
+        return Arrays.stream(values())
+                .filter(kind -> kind.value().equalsIgnoreCase(value))
+                .findFirst();
+    }
+}
@@ -0,0 +1,142 @@
+package hexlet.code.autocomplete;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Неизменяемый индекс по префиксу: отсортированный массив ключей и параллельный массив id.
+// Поиск — двоичный поиск начала диапазона и проход по нему; изменение строит новый индекс слиянием за O(n)
+final class PrefixIndex {
+
+    static final PrefixIndex EMPTY = new PrefixIndex(new String[0], new long[0], Map.of());
+
+    private final String[] keys;
+    private final long[] ids;
+    private final Map<Long, String> texts;
+
+    private PrefixIndex(String[] keys, long[] ids, Map<Long, String> texts) {
+        this.keys = keys;
+        this.ids = ids;
+        this.texts = texts;
+    }
+
+    static PrefixIndex of(List<Entry> entries) {
+        List<Key> all = new ArrayList<>();
+        Map<Long, String> texts = new HashMap<>();
+        for (Entry entry : entries) {
+            texts.put(entry.id(), entry.text());
+            keys(entry).forEach(key -> all.add(new Key(key, entry.id())));
+        }
+        all.sort(Key.ORDER);
+        return new PrefixIndex(all.stream().map(Key::key).toArray(String[]::new),
+                all.stream().mapToLong(Key::id).toArray(), texts);
+    }
+
+    PrefixIndex with(Entry entry) {
+        List<Key> added = new ArrayList<>(keys(entry).stream().map(key -> new Key(key, entry.id())).toList());
+        added.sort(Key.ORDER);
+
+        String[] mergedKeys = new String[keys.length + added.size()];
+        long[] mergedIds = new long[mergedKeys.length];
+        int size = 0;
+        int next = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (ids[i] == entry.id()) {
+                continue;
+            }
+            while (next < added.size() && Key.ORDER.compare(added.get(next), new Key(keys[i], ids[i])) < 0) {
+                mergedKeys[size] = added.get(next).key();
+                mergedIds[size++] = added.get(next++).id();
+            }
+            mergedKeys[size] = keys[i];
+            mergedIds[size++] = ids[i];
+        }
+        while (next < added.size()) {
+            mergedKeys[size] = added.get(next).key();
+            mergedIds[size++] = added.get(next++).id();
+        }
+
+        Map<Long, String> mergedTexts = new HashMap<>(texts);
+        mergedTexts.put(entry.id(), entry.text());
+        return new PrefixIndex(Arrays.copyOf(mergedKeys, size), Arrays.copyOf(mergedIds, size), mergedTexts);
+    }
+
+    PrefixIndex without(long id) {
+        if (!texts.containsKey(id)) {
+            return this;
+        }
+        String[] keptKeys = new String[keys.length];
+        long[] keptIds = new long[keys.length];
+        int size = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (ids[i] != id) {
+                keptKeys[size] = keys[i];
+                keptIds[size++] = ids[i];
+            }
+        }
+        Map<Long, String> keptTexts = new HashMap<>(texts);
+        keptTexts.remove(id);
+        return new PrefixIndex(Arrays.copyOf(keptKeys, size), Arrays.copyOf(keptIds, size), keptTexts);
+    }
+
+    // Первые limit разных id в порядке ключей
+    List<Match> search(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle].compareTo(normalized) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        Set<Long> found = new LinkedHashSet<>();
+        for (int i = low; i < keys.length && found.size() < limit && keys[i].startsWith(normalized); i++) {
+            found.add(ids[i]);
+        }
+        return found.stream().map(id -> new Match(id, texts.get(id))).toList();
+    }
+
+    int size() {
+        return texts.size();
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.strip().toLowerCase(Locale.ROOT).replace('ё', 'е');
+    }
+
+    // Каждое слово значения — отдельный ключ: "good first issue" находится и по "first", и по "issue"
+    private static Set<String> keys(Entry entry) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (String value : entry.values()) {
+            String normalized = normalize(value);
+            for (int i = 0; i < normalized.length(); i++) {
+                if (i == 0 || !Character.isLetterOrDigit(normalized.charAt(i - 1))
+                        && Character.isLetterOrDigit(normalized.charAt(i))) {
+                    keys.add(normalized.substring(i));
+                }
+            }
+        }
+        return keys;
+    }
+
+    // values — по чему искать, text — что показать
+    record Entry(long id, String text, List<String> values) {
+    }
+
+    record Match(long id, String text) {
+    }
+
+    private record Key(String key, long id) {
+        static final Comparator<Key> ORDER = Comparator.comparing(Key::key).thenComparingLong(Key::id);
+    }
+}
@@ -0,0 +1,23 @@
+package hexlet.code.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.archive")
+@Getter
+@Setter
+public class ArchiveConfig {
+    private boolean enabled = true;
+    // Статус завершённых задач; в архив уходят те, что не менялись дольше age
+    private String status = "published";
+    private Duration age = Duration.ofDays(90);
+    private int batchSize = 500;
+    // Пауза между пачками, чтобы перенос не занимал базу целиком
+    private Duration pause = Duration.ofMillis(200);
+    private Duration interval = Duration.ofHours(1);
+}
@@ -0,0 +1,18 @@
+package hexlet.code.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.autocomplete")
+@Getter
+@Setter
+public class AutocompleteConfig {
+    // Полная перезагрузка из базы подхватывает то, что записано мимо JPA (засев, генератор данных)
+    private Duration refreshInterval = Duration.ofMinutes(5);
+    private int maxLimit = 50;
+}
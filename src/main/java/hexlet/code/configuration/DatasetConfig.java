@@ -0,0 +1,30 @@
+package hexlet.code.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.dataset")
+@Getter
+@Setter
+public class DatasetConfig {
+    // Генерация запускается при старте приложения только по явному флагу
+    private boolean enabled = false;
+    private int users = 10_000;
+    private int labels = 50;
+    private int tasks = 100_000;
+    private int maxLabelsPerTask = 3;
+    // Степень перекоса: 1 — равномерно, 3 — около половины задач у 10% пользователей
+    private double assigneeSkew = 3.0;
+    private double labelSkew = 2.0;
+    private double statusSkew = 1.5;
+    // Доля задач без исполнителя
+    private double unassignedRatio = 0.1;
+    // Даты создания равномерно распределяются по этому периоду
+    private int historyDays = 365;
+    private int batchSize = 1000;
+    private int threads = 4;
+    private String password = "password";
+}
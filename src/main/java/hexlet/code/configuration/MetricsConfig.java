@@ -0,0 +1,16 @@
+package hexlet.code.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.metrics")
+@Getter
+@Setter
+public class MetricsConfig {
+    // /actuator/prometheus без аутентификации — только для локального scrape.
+    // Иначе он доступен админу, Prometheus ходит с basic_auth
+    private boolean publicScrape = false;
+}
@@ -0,0 +1,107 @@
+package hexlet.code.configuration;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import hexlet.code.logging.CountingAsyncAppender;
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import org.openapitools.jackson.nullable.JsonNullable;
+import org.openapitools.jackson.nullable.JsonNullableJakartaValueExtractor;
+import org.openapitools.jackson.nullable.JsonNullableModule;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.util.ClassUtils;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Метаданные для native-image (Spring AOT, ./gradlew nativeCompile): то, что приложение достаёт рефлексией,
+// прокси и ресурсами в обход бинов, и что AOT сам не видит. Выполняется на этапе сборки
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final MemberCategory[] ALL_MEMBERS = {
+        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+        MemberCategory.INVOKE_DECLARED_METHODS,
+        MemberCategory.DECLARED_FIELDS
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        var bindings = new BindingReflectionHintsRegistrar();
+
+        // DTO: Jackson и валидация ходят по полям и аксессорам, в том числе внутрь JsonNullable
+        for (Class<?> dto : scan("hexlet.code.dto", classLoader)) {
+            bindings.registerReflectionHints(hints.reflection(), dto);
+        }
+
+        // Сущности: Hibernate читает и пишет поля напрямую
+        for (Class<?> entity : scan("hexlet.code.model", classLoader)) {
+            hints.reflection().registerType(entity, ALL_MEMBERS);
+        }
+
+        // Реализации MapStruct генерируются при компиляции; @Autowired-поля абстрактных мапперов заполняются рефлексией
+        for (Class<?> mapper : scan("hexlet.code.mapper", classLoader)) {
+            hints.reflection().registerType(mapper, ALL_MEMBERS);
+        }
+
+        // JsonNullable: модуль Jackson и ValueExtractor для Bean Validation, который грузится через ServiceLoader
+        hints.reflection().registerType(JsonNullable.class, ALL_MEMBERS);
+        hints.reflection().registerType(JsonNullableModule.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.reflection().registerType(JsonNullableJakartaValueExtractor.class,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.resources().registerPattern("META-INF/services/jakarta.validation.valueextraction.ValueExtractor");
+
+        // Nimbus JWT: ключи RSA из classpath и алгоритмы подписи, которые Nimbus находит по имени
+        hints.resources().registerPattern("certs/*.pem");
+        for (Class<?> type : new Class<?>[] {JWSAlgorithm.class, RSAKey.class, JWKSet.class,
+            RSASSASigner.class, RSASSAVerifier.class}) {
+            hints.reflection().registerType(type, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS, MemberCategory.PUBLIC_FIELDS);
+        }
+
+        // springdoc: статика Swagger UI из webjar и фронтенд
+        hints.resources().registerPattern("META-INF/resources/webjars/swagger-ui/*");
+        hints.resources().registerPattern("static/*");
+
+        // datasource-proxy оборачивает JDBC в JDK-прокси, а RowCountingResultSetLogic вызывает методы через Method
+        for (Class<?> jdbcType : new Class<?>[] {Connection.class, Statement.class, PreparedStatement.class,
+            CallableStatement.class, ResultSet.class}) {
+            hints.proxies().registerJdkProxy(ProxyJdbcObject.class, jdbcType);
+            hints.reflection().registerType(jdbcType, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+
+        // Аппендер из logback-spring.xml создаётся Joran по имени класса
+        hints.reflection().registerType(CountingAsyncAppender.class,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.reflection().registerType(TypeReference.of("net.logstash.logback.encoder.LogstashEncoder"),
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+        // Datafaker читает словари локали при первом обращении
+        hints.resources().registerPattern("en*.yml");
+    }
+
+    private static Set<Class<?>> scan(String basePackage, ClassLoader classLoader) {
+        var scanner = new ClassPathScanningCandidateComponentProvider(false) {
+            @Override
+            protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                return true;
+            }
+        };
+        scanner.addIncludeFilter((reader, factory) -> true);
+        return scanner.findCandidateComponents(basePackage).stream()
+                .map(definition -> ClassUtils.resolveClassName(definition.getBeanClassName(), classLoader))
+                .collect(Collectors.toSet());
+    }
+}
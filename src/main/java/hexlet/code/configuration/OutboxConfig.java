@@ -0,0 +1,21 @@
+package hexlet.code.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.outbox")
+@Getter
+@Setter
+public class OutboxConfig {
+    // Запись в outbox идёт всегда, флаг выключает только релей
+    private boolean relayEnabled = true;
+    private int batchSize = 100;
+    private Duration pollInterval = Duration.ofSeconds(1);
+    // Сколько ждать строку с пропущенным id, прежде чем считать её откатившейся транзакцией
+    private Duration gapTimeout = Duration.ofSeconds(5);
+}
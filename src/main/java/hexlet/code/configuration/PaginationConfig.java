@@ -0,0 +1,17 @@
+package hexlet.code.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.pagination")
+@Getter
+@Setter
+public class PaginationConfig {
+    // Размер страницы, если клиент не передал ни perPage, ни _end
+    private int defaultPerPage = 20;
+    // Больший запрошенный размер урезается до этого
+    private int maxPerPage = 100;
+}
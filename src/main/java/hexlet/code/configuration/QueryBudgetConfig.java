@@ -0,0 +1,21 @@
+package hexlet.code.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.query-budget")
+@Getter
+@Setter
+public class QueryBudgetConfig {
+    // Выключает только проверку бюджета и метрики на запрос; имя обработчика для журнала медленных запросов остаётся
+    private boolean enabled = true;
+    // Сколько JDBC-запросов допустимо на один HTTP-запрос
+    private int maxStatements = 25;
+    // Сколько раз один и тот же запрос (с точностью до параметров) может повториться, прежде чем это сочтём N+1
+    private int maxRepeatedStatements = 5;
+    // В тестах превышение бюджета роняет запрос исключением, в проде только логируется и пишется в метрики
+    private boolean failOnViolation = false;
+}
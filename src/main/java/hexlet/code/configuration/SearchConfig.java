@@ -0,0 +1,26 @@
+package hexlet.code.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.search")
+@Getter
+@Setter
+public class SearchConfig {
+    // Облегчённый стеммер для русского и английского: "задачи" находит "задача", "fixing" — "fixed"
+    private boolean stemming = true;
+    // Параметры BM25
+    private float k1 = 1.2f;
+    private float b = 0.75f;
+    // Слово в названии весит как столько же слов в описании
+    private int titleWeight = 2;
+    private int maxLimit = 100;
+    private int snippetLength = 160;
+    // Сколько задач читать за один запрос при перестроении индекса
+    private int rebuildBatchSize = 10_000;
+    // При такой доле удалённых документов индекс перестраивается из базы
+    private double rebuildDeadRatio = 0.3;
+}
@@ -37,11 +37,15 @@ public class SecurityConfig {
     private final JwtDecoder jwtDecoder;
     private final PasswordEncoder passwordEncoder;
     private final CustomUserDetailsService userService;
+    private final MetricsConfig metricsConfig;
 
     @SuppressWarnings("java:S4502") // CSRF disabled intentionally for stateless REST API
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http, HandlerMappingIntrospector introspector)
             throws Exception {
+        String[] publicActuator = metricsConfig.isPublicScrape()
+                ? new String[] {"/actuator/health", "/actuator/health/**", "/actuator/prometheus"}
+                : new String[] {"/actuator/health", "/actuator/health/**"};
         return http
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
@@ -76,6 +80,11 @@ public class SecurityConfig {
                         // Регистрация (только POST запросы для создания пользователей)
                         .requestMatchers(HttpMethod.POST, "/api/users").permitAll()
 
+                        // Метрики: health публичен, prometheus — только при app.metrics.public-scrape,
+                        // остальное только админу
+                        .requestMatchers(publicActuator).permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                         .anyRequest().authenticated())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .oauth2ResourceServer((rs) -> rs
@@ -132,7 +141,7 @@ public class SecurityConfig {
         ));
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("Authorization", "Cache-Control", "Content-Type", "X-Total-Count"));
-        configuration.setExposedHeaders(List.of("X-Total-Count"));
+        configuration.setExposedHeaders(List.of("X-Total-Count", "Content-Range", "X-Missing-Ids"));
         configuration.setAllowCredentials(false);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -1,8 +1,13 @@
 package hexlet.code.configuration;
 
+import hexlet.code.reporting.ErrorReportingProperties;
+import hexlet.code.reporting.ErrorSink;
+import hexlet.code.reporting.SentryErrorSink;
 import io.sentry.Sentry;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
@@ -14,6 +19,21 @@ public class SentryConfig {
     @Value("${sentry.environment:development}")
     private String environment;
 
+    @Value("${sentry.traces-sample-rate:1.0}")
+    private double tracesSampleRate;
+
+    // Очередь, окно агрегации и доля событий по типу исключения: sentry.reporting.*
+    @Bean
+    @ConfigurationProperties(prefix = "sentry.reporting")
+    public ErrorReportingProperties errorReportingProperties() {
+        return new ErrorReportingProperties();
+    }
+
+    @Bean
+    public ErrorSink sentryErrorSink() {
+        return new SentryErrorSink();
+    }
+
     @PostConstruct
     public void init() {
         if (sentryDsn != null && !sentryDsn.isEmpty() && !sentryDsn.isBlank()) {
@@ -21,7 +41,7 @@ public class SentryConfig {
                 options.setDsn(sentryDsn);
                 options.setEnvironment(environment);
                 options.setRelease("task-manager@1.0.0");
-                options.setTracesSampleRate(1.0);
+                options.setTracesSampleRate(tracesSampleRate);
                 options.setEnableExternalConfiguration(true);
                 options.setSendDefaultPii(true);
             });
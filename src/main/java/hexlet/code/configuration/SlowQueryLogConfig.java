@@ -0,0 +1,22 @@
+package hexlet.code.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.slow-query")
+@Getter
+@Setter
+public class SlowQueryLogConfig {
+    private boolean enabled = true;
+    // Запросы не быстрее порога пишутся в лог всегда
+    private long thresholdMs = 200;
+    // Доля остальных запросов, попадающих в лог (0 — только медленные, 1 — все)
+    private double sampleRate = 0.0;
+    // Подсчёт строк в выборках требует прокси над ResultSet
+    private boolean countRows = true;
+    // Ограничение на число различных запросов в гистограмме, чтобы динамический SQL не раздувал память
+    private int maxFingerprints = 500;
+}
@@ -0,0 +1,79 @@
+package hexlet.code.configuration;
+
+import hexlet.code.monitoring.EntityLoadCountingListener;
+import hexlet.code.monitoring.QueryCountingListener;
+import hexlet.code.monitoring.RowCountingResultSetLogic;
+import hexlet.code.monitoring.SlowQueryListener;
+import hexlet.code.monitoring.SqlStatementStats;
+import net.ttddyy.dsproxy.listener.ChainListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+@Configuration
+public class SqlMonitoringConfig {
+
+    // Все JDBC-запросы идут через прокси, слушатели которого считают и замеряют их.
+    // Настройки берутся лениво: BeanPostProcessor создаётся раньше остальных бинов
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(ObjectProvider<SlowQueryLogConfig> slowQueryConfig,
+                                                                 ObjectProvider<SqlStatementStats> statementStats) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    ChainListener listener = new ChainListener();
+                    listener.addListener(new QueryCountingListener());
+                    var builder = ProxyDataSourceBuilder.create(dataSource).name(beanName);
+
+                    SlowQueryLogConfig config = slowQueryConfig.getObject();
+                    if (config.isEnabled()) {
+                        listener.addListener(new SlowQueryListener(config, statementStats.getObject()));
+                        if (config.isCountRows()) {
+                            builder.proxyResultSet(RowCountingResultSetLogic.FACTORY);
+                        }
+                    }
+                    return builder.listener(listener).build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityLoadCountingCustomizer() {
+        var listener = new EntityLoadCountingListener();
+        Integrator integrator = new Integrator() {
+            @Override
+            public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                                  SessionFactoryImplementor sessionFactory) {
+                var registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+                registry.appendListeners(EventType.POST_LOAD, listener);
+                registry.appendListeners(EventType.INIT_COLLECTION, listener);
+            }
+
+            @Override
+            public void disintegrate(SessionFactoryImplementor sessionFactory,
+                                     SessionFactoryServiceRegistry serviceRegistry) {
+                // слушатели уходят вместе с SessionFactory
+            }
+        };
+        return properties -> properties.put("hibernate.integrator_provider",
+                (IntegratorProvider) () -> List.of(integrator));
+    }
+}
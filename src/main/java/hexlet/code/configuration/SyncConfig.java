@@ -0,0 +1,23 @@
+package hexlet.code.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.sync")
+@Getter
+@Setter
+public class SyncConfig {
+    private int defaultLimit = 500;
+    private int maxLimit = 1000;
+    // Сколько ждать запись с пропущенным id, прежде чем считать её откатившейся транзакцией.
+    // Транзакция, закоммиченная позже, останется клиентами не замечена — таймаут должен быть длиннее транзакций
+    private Duration gapTimeout = Duration.ofSeconds(30);
+    // Токен старше удалённых записей получает 410, и клиент загружает всё заново
+    private Duration retention = Duration.ofDays(30);
+    private Duration purgeInterval = Duration.ofHours(1);
+}
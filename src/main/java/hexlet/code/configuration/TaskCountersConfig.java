@@ -0,0 +1,19 @@
+package hexlet.code.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.task-counters")
+@Getter
+@Setter
+public class TaskCountersConfig {
+    // Как часто накопленные приращения уходят в task_counters одной пачкой
+    private Duration flushInterval = Duration.ofSeconds(1);
+    // Пересчёт по tasks исправляет расхождения: прямые вставки JDBC, удаление меток и пользователей, сбои
+    private Duration reconcileInterval = Duration.ofMinutes(15);
+}
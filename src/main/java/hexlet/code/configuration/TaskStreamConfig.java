@@ -0,0 +1,25 @@
+package hexlet.code.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.task-stream")
+@Getter
+@Setter
+public class TaskStreamConfig {
+    // Сверх лимита подписка отклоняется с 503; Tomcat при этом должен держать столько же соединений
+    private int maxSubscribers = 10_000;
+    // Неотправленные изменения разных задач на одного подписчика; при переполнении подписчик отключается
+    private int maxPendingEvents = 256;
+    // После таймаута EventSource переподключается сам
+    private Duration timeout = Duration.ofMinutes(30);
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+    private int senderThreads = 4;
+    // Запись, не закончившаяся за это время, отключает подписчика, а её поток в пуле заменяется новым
+    private Duration sendTimeout = Duration.ofSeconds(10);
+}
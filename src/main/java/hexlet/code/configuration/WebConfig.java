@@ -0,0 +1,32 @@
+package hexlet.code.configuration;
+
+import hexlet.code.logging.UserMdcInterceptor;
+import hexlet.code.monitoring.QueryBudgetInterceptor;
+import hexlet.code.pagination.ListParamsArgumentResolver;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+@AllArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final QueryBudgetInterceptor queryBudgetInterceptor;
+    private final UserMdcInterceptor userMdcInterceptor;
+    private final ListParamsArgumentResolver listParamsArgumentResolver;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(queryBudgetInterceptor);
+        registry.addInterceptor(userMdcInterceptor);
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(listParamsArgumentResolver);
+    }
+}
@@ -0,0 +1,53 @@
+package hexlet.code.controller;
+
+import hexlet.code.autocomplete.AutocompleteIndex;
+import hexlet.code.autocomplete.AutocompleteKind;
+import hexlet.code.dto.autocomplete.AutocompleteItemDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api")
+@Tag(name = "Автодополнение", description = "Подсказки при выборе статуса, метки и исполнителя")
+@SecurityRequirement(name = "bearerAuth")
+@AllArgsConstructor
+public class AutocompleteController {
+
+    private final AutocompleteIndex autocompleteIndex;
+
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Подсказки по префиксу",
+            description = "Ищет по началу любого слова в названии статуса или метки, имени, фамилии и email "
+                    + "пользователя. Без type возвращает сначала статусы, затем метки, затем пользователей.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Подсказки"),
+            @ApiResponse(responseCode = "400", description = "Неизвестный type"),
+            @ApiResponse(responseCode = "401", description = "Пользователь не аутентифицирован")
+    })
+    @Parameter(name = "q", description = "Начало слова", example = "joh")
+    @Parameter(name = "type", description = "status, label или user", example = "user")
+    @Parameter(name = "limit", description = "Сколько подсказок вернуть (не больше 50)", example = "10")
+    public ResponseEntity<List<AutocompleteItemDTO>> index(
+            @RequestParam String q,
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "10") int limit) {
+        Optional<AutocompleteKind> kind = AutocompleteKind.of(type);
+        if (type != null && kind.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(autocompleteIndex.search(kind.orElse(null), q, limit));
+    }
+}
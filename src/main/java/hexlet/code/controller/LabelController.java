@@ -6,14 +6,20 @@ import hexlet.code.dto.label.LabelUpdateDTO;
 import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.mapper.LabelMapper;
 import hexlet.code.model.Label;
+import hexlet.code.pagination.ListParams;
+import hexlet.code.pagination.MultiGet;
+import hexlet.code.pagination.Pagination;
 import hexlet.code.service.LabelService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -23,10 +29,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api")
@@ -35,21 +43,42 @@ import java.util.List;
 @AllArgsConstructor
 public class LabelController {
 
+    private static final Map<String, String> SORTABLE = Map.of("id", "id", "name", "name", "createdAt", "createdAt");
+
     private final LabelService labelService;
     private final LabelMapper labelMapper;
+    private final Pagination pagination;
 
     @GetMapping("/labels")
-    @Operation(summary = "Получить список всех меток", description = "Возвращает список всех доступных меток")
-    @ApiResponse(responseCode = "200", description = "Список меток успешно получен")
-    public ResponseEntity<List<LabelDTO>> index() {
-        var labels = labelService.getAll();
-        List<LabelDTO> labelDTOs = labels.stream()
+    @Operation(summary = "Получить список меток",
+            description = "Возвращает страницу меток. Сортировка по id, name и createdAt.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Список меток успешно получен"),
+            @ApiResponse(responseCode = "400", description = "Недопустимое поле или направление сортировки")
+    })
+    @Parameter(name = "_start", in = ParameterIn.QUERY, description = "Смещение первой записи", example = "0")
+    @Parameter(name = "_end", in = ParameterIn.QUERY, description = "Смещение после последней записи", example = "20")
+    @Parameter(name = "_sort", in = ParameterIn.QUERY, description = "Поля сортировки через запятую", example = "name")
+    @Parameter(name = "_order", in = ParameterIn.QUERY, description = "ASC или DESC для каждого поля", example = "ASC")
+    @Parameter(name = "page", in = ParameterIn.QUERY, description = "Номер страницы, вместо _start/_end", example = "1")
+    @Parameter(name = "perPage", in = ParameterIn.QUERY, description = "Размер страницы, до 100", example = "20")
+    @Parameter(name = "id", description = "Выбрать записи по id (можно повторять), остальные параметры игнорируются",
+            example = "1")
+    public ResponseEntity<List<LabelDTO>> index(
+            @Parameter(hidden = true) ListParams params,
+            @RequestParam(name = "id", required = false) List<Long> ids) {
+        if (ids != null) {
+            List<Long> requested = pagination.ids(ids);
+            var found = MultiGet.of(requested, labelService.findAllById(requested), Label::getId);
+            return found.ok().body(found.found().stream().map(labelMapper::map).toList());
+        }
+
+        Page<Label> labels = labelService.getAll(pagination.pageable(params, SORTABLE));
+        List<LabelDTO> labelDTOs = labels.getContent().stream()
                 .map(labelMapper::map)
                 .toList();
 
-        return ResponseEntity.ok()
-                .header("X-Total-Count", String.valueOf(labelDTOs.size()))
-                .body(labelDTOs);
+        return Pagination.ok(labels, "labels").body(labelDTOs);
     }
 
     @GetMapping("/labels/{id}")
@@ -0,0 +1,71 @@
+package hexlet.code.controller;
+
+import hexlet.code.configuration.SyncConfig;
+import hexlet.code.dto.sync.ChangesDTO;
+import hexlet.code.exception.BadRequestException;
+import hexlet.code.service.SyncService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api")
+@Tag(name = "Синхронизация", description = "Изменения задач, меток, статусов и пользователей после токена")
+@SecurityRequirement(name = "bearerAuth")
+@AllArgsConstructor
+public class SyncController {
+
+    private final SyncService syncService;
+    private final SyncConfig syncConfig;
+
+    @GetMapping("/changes")
+    @Operation(summary = "Изменения после токена",
+            description = "Без since возвращает только токен: его берут перед полной загрузкой данных. "
+                    + "С since — текущее состояние изменённых записей, id удалённых и новый токен. "
+                    + "Пока hasMore, следующий запрос можно делать сразу.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Изменения"),
+            @ApiResponse(responseCode = "400", description = "Некорректный since"),
+            @ApiResponse(responseCode = "401", description = "Пользователь не аутентифицирован"),
+            @ApiResponse(responseCode = "410", description = "Токен устарел, нужна полная загрузка")
+    })
+    @Parameter(name = "since", description = "Токен из предыдущего ответа", example = "1024")
+    @Parameter(name = "limit", description = "Сколько записей журнала прочитать (не больше 1000)", example = "500")
+    public ResponseEntity<ChangesDTO> index(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer limit) {
+        if (since == null) {
+            var changes = new ChangesDTO();
+            changes.setToken(String.valueOf(syncService.head()));
+            return ResponseEntity.ok(changes);
+        }
+        int size = Math.min(limit == null ? syncConfig.getDefaultLimit() : Math.max(limit, 1),
+                syncConfig.getMaxLimit());
+        return syncService.changesSince(parseToken(since), size)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.GONE).build());
+    }
+
+    private static long parseToken(String since) {
+        long token;
+        try {
+            token = Long.parseLong(since);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid since token: " + since);
+        }
+        if (token < 0) {
+            throw new BadRequestException("Invalid since token: " + since);
+        }
+        return token;
+    }
+}
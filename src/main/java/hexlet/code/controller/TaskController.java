@@ -1,16 +1,34 @@
 package hexlet.code.controller;
 
+import hexlet.code.dto.task.TaskBoardColumnDTO;
 import hexlet.code.dto.task.TaskCreateDTO;
 import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.dto.task.TaskDocumentDTO;
+import hexlet.code.dto.task.TaskField;
+import hexlet.code.dto.task.TaskInclude;
+import hexlet.code.dto.task.TaskMoveDTO;
 import hexlet.code.dto.task.TaskParamsDTO;
+import hexlet.code.dto.task.TaskSearchHitDTO;
+import hexlet.code.dto.task.TaskStatisticsDTO;
 import hexlet.code.dto.task.TaskUpdateDTO;
 import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.mapper.TaskMapper;
 import hexlet.code.model.Task;
+import hexlet.code.pagination.ListParams;
+import hexlet.code.pagination.MultiGet;
+import hexlet.code.pagination.Pagination;
+import hexlet.code.search.TaskSearchIndex;
+import hexlet.code.search.TaskSearchService;
+import hexlet.code.service.TaskArchiveService;
+import hexlet.code.service.TaskIncludeService;
 import hexlet.code.service.TaskService;
 import hexlet.code.specification.TaskSpecification;
+import hexlet.code.statistics.TaskCounters;
+import hexlet.code.stream.TaskEventFilter;
+import hexlet.code.stream.TaskStreamBroadcaster;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -18,8 +36,10 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -32,8 +52,13 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api")
@@ -42,36 +67,179 @@ import java.util.List;
 @AllArgsConstructor
 public class TaskController {
 
+    private static final int MAX_BOARD_LIMIT = 100;
+    private static final int DEFAULT_PER_PAGE = 10;
+    private static final String FIELDS_DESCRIPTION = "Какие поля вернуть, через запятую: index, title, content, "
+            + "status, assigneeId, taskLabelIds, createdAt. id возвращается всегда";
+    private static final String INCLUDE_DESCRIPTION = "Какие связанные записи подгрузить, через запятую: "
+            + "assignee, status, labels";
+    private static final String ARCHIVED_DESCRIPTION = "Искать в архиве завершённых задач вместо рабочего набора. "
+            + "Задача по id и выборка ?id= находят архивные задачи и без этого параметра";
+    // title и name — одно поле: в API оно называется title, в базе name
+    private static final Map<String, String> SORTABLE = Map.of("id", "id", "index", "index", "createdAt", "createdAt",
+            "title", "name", "name", "name", "status", "taskStatusId", "assigneeId", "assigneeId");
+
     private final TaskService taskService;
     private final TaskMapper taskMapper;
     private final TaskSpecification taskSpecification;
+    private final TaskStreamBroadcaster taskStreamBroadcaster;
+    private final TaskCounters taskCounters;
+    private final TaskSearchIndex taskSearchIndex;
+    private final TaskSearchService taskSearchService;
+    private final Pagination pagination;
+    private final TaskIncludeService taskIncludeService;
+    private final TaskArchiveService taskArchiveService;
 
     @GetMapping("/tasks")
     @Operation(summary = "Получить список всех задач",
-            description = "Возвращает список всех задач с возможностью фильтрации по названию, "
-                    + "исполнителю, статусу и метке. Поддерживает пагинацию через параметр page.")
+            description = "Возвращает страницу задач с возможностью фильтрации по названию, "
+                    + "исполнителю, статусу и метке. Сортировка по id, index, createdAt, title, status "
+                    + "и assigneeId, в том числе по нескольким полям сразу.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Список задач успешно получен"),
+            @ApiResponse(responseCode = "400", description = "Недопустимое поле сортировки или поле в fields"),
             @ApiResponse(responseCode = "401", description = "Пользователь не аутентифицирован")
     })
     @Parameter(name = "titleCont", description = "Фильтр по названию задачи (содержит подстроку)", example = "create")
     @Parameter(name = "assigneeId", description = "Фильтр по ID исполнителя", example = "1")
     @Parameter(name = "status", description = "Фильтр по слагу статуса", example = "to_be_fixed")
     @Parameter(name = "labelId", description = "Фильтр по ID метки", example = "1")
-    @Parameter(name = "page", description = "Номер страницы для пагинации", example = "1")
+    @Parameter(name = "page", in = ParameterIn.QUERY, description = "Номер страницы", example = "1")
+    @Parameter(name = "perPage", in = ParameterIn.QUERY, description = "Размер страницы, до 100", example = "10")
+    @Parameter(name = "_start", in = ParameterIn.QUERY, description = "Смещение первой задачи", example = "0")
+    @Parameter(name = "_end", in = ParameterIn.QUERY, description = "Смещение после последней задачи", example = "10")
+    @Parameter(name = "_sort", in = ParameterIn.QUERY, description = "Поля сортировки через запятую",
+            example = "status,index")
+    @Parameter(name = "_order", in = ParameterIn.QUERY, description = "ASC или DESC для каждого поля",
+            example = "ASC,ASC")
+    @Parameter(name = "fields", description = FIELDS_DESCRIPTION, example = "title,status")
+    @Parameter(name = "id", description = "Выбрать задачи по id (можно повторять), фильтры и страницы игнорируются",
+            example = "1")
+    @Parameter(name = "archived", description = ARCHIVED_DESCRIPTION, example = "true")
     public ResponseEntity<List<TaskDTO>> index(
             @ModelAttribute TaskParamsDTO params,
-            @RequestParam(defaultValue = "1") int page) {
+            @Parameter(hidden = true) ListParams listParams,
+            @RequestParam(required = false) String fields,
+            @RequestParam(name = "id", required = false) List<Long> ids,
+            @RequestParam(defaultValue = "false") boolean archived) {
+        if (archived) {
+            return indexArchived(params, listParams, fields, ids);
+        }
+        if (ids != null) {
+            return getMany(pagination.ids(ids), fields);
+        }
 
         var spec = taskSpecification.build(params);
-        Page<Task> tasksPage = taskService.getAll(spec, PageRequest.of(page - 1, 10));
+        var pageable = pagination.pageable(listParams, SORTABLE, DEFAULT_PER_PAGE);
+        if (fields != null) {
+            Page<TaskDTO> projected = taskService.getAll(spec, pageable, TaskField.parse(fields));
+            return Pagination.ok(projected, "tasks").body(projected.getContent());
+        }
+
+        Page<Task> tasksPage = taskService.getAll(spec, pageable);
         List<TaskDTO> taskDTOs = tasksPage.getContent().stream()
                 .map(taskMapper::map)
                 .toList();
 
-        return ResponseEntity.ok()
-                .header("X-Total-Count", String.valueOf(tasksPage.getTotalElements()))
-                .body(taskDTOs);
+        return Pagination.ok(tasksPage, "tasks").body(taskDTOs);
+    }
+
+    @GetMapping(value = "/tasks", params = "include")
+    @Operation(summary = "Список задач со связанными записями",
+            description = "То же, что список задач, но в data, а в included — исполнители, статусы и метки, "
+                    + "на которые ссылаются задачи, без повторов.")
+    @Parameter(name = "include", description = INCLUDE_DESCRIPTION, example = "assignee,status,labels")
+    public ResponseEntity<TaskDocumentDTO<List<TaskDTO>>> indexWithIncluded(
+            @ModelAttribute TaskParamsDTO params,
+            @Parameter(hidden = true) ListParams listParams,
+            @RequestParam(required = false) String fields,
+            @RequestParam(name = "id", required = false) List<Long> ids,
+            @RequestParam(defaultValue = "false") boolean archived,
+            @RequestParam String include) {
+        Set<TaskInclude> includes = TaskInclude.parse(include);
+        var tasks = index(params, listParams, TaskInclude.withReferenceFields(fields, includes), ids, archived);
+        return ResponseEntity.status(tasks.getStatusCode())
+                .headers(tasks.getHeaders())
+                .body(new TaskDocumentDTO<>(tasks.getBody(), taskIncludeService.load(tasks.getBody(), includes)));
+    }
+
+    @GetMapping(value = "/tasks/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Поток изменений задач",
+            description = "Server-Sent Events: created, updated, deleted и archived с задачей в data. Фильтры те же, "
+                    + "что у списка задач. Отстающий клиент получает resync и должен перечитать список.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Поток открыт"),
+            @ApiResponse(responseCode = "401", description = "Пользователь не аутентифицирован"),
+            @ApiResponse(responseCode = "503", description = "Достигнут предел подписчиков")
+    })
+    public ResponseEntity<SseEmitter> stream(@ModelAttribute TaskParamsDTO params) {
+        return taskStreamBroadcaster.subscribe(TaskEventFilter.of(params))
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
+    @GetMapping("/tasks/board")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Канбан-доска",
+            description = "Колонки по статусам: в каждой первые limit задач по index и общее число задач. "
+                    + "Фильтры те же, что у списка задач.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Доска получена"),
+            @ApiResponse(responseCode = "401", description = "Пользователь не аутентифицирован")
+    })
+    @Parameter(name = "limit", description = "Сколько задач вернуть в каждой колонке (не больше 100)", example = "20")
+    public List<TaskBoardColumnDTO> board(
+            @ModelAttribute TaskParamsDTO params,
+            @RequestParam(defaultValue = "20") int limit) {
+        return taskService.getBoard(params, Math.max(1, Math.min(limit, MAX_BOARD_LIMIT)));
+    }
+
+    @GetMapping(value = "/tasks/board", params = "include")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Канбан-доска со связанными записями",
+            description = "Колонки доски в data, исполнители, статусы и метки задач доски — в included.")
+    @Parameter(name = "include", description = INCLUDE_DESCRIPTION, example = "assignee,labels")
+    public TaskDocumentDTO<List<TaskBoardColumnDTO>> boardWithIncluded(
+            @ModelAttribute TaskParamsDTO params,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam String include) {
+        Set<TaskInclude> includes = TaskInclude.parse(include);
+        List<TaskBoardColumnDTO> columns = board(params, limit);
+        List<TaskDTO> tasks = columns.stream().flatMap(column -> column.getTasks().stream()).toList();
+        return new TaskDocumentDTO<>(columns, taskIncludeService.load(tasks, includes));
+    }
+
+    @GetMapping("/tasks/search")
+    @Operation(summary = "Полнотекстовый поиск задач",
+            description = "Ищет по названию и описанию, результаты ранжированы по BM25. Возвращает id, "
+                    + "название и фрагмент текста с найденным словом.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Результаты поиска"),
+            @ApiResponse(responseCode = "401", description = "Пользователь не аутентифицирован"),
+            @ApiResponse(responseCode = "503", description = "Индекс ещё строится после старта")
+    })
+    @Parameter(name = "q", description = "Поисковый запрос", example = "payment bug")
+    @Parameter(name = "limit", description = "Сколько результатов вернуть (не больше 100)", example = "20")
+    public ResponseEntity<List<TaskSearchHitDTO>> search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (!taskSearchIndex.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(taskSearchService.search(q, limit));
+    }
+
+    @GetMapping("/tasks/statistics")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Статистика задач",
+            description = "Число задач всего, по статусам, исполнителям и меткам. Счётчики обновляются "
+                    + "инкрементально и не зависят от числа задач; изменения с других узлов видны через секунду.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Статистика получена"),
+            @ApiResponse(responseCode = "401", description = "Пользователь не аутентифицирован")
+    })
+    public TaskStatisticsDTO statistics() {
+        return taskCounters.statistics();
     }
 
     @GetMapping("/tasks/{id}")
@@ -79,13 +247,41 @@ public class TaskController {
     @Operation(summary = "Получить задачу по ID", description = "Возвращает задачу по указанному идентификатору")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Задача успешно найдена"),
+            @ApiResponse(responseCode = "400", description = "Неизвестное поле в fields"),
             @ApiResponse(responseCode = "404", description = "Задача не найдена"),
             @ApiResponse(responseCode = "401", description = "Пользователь не аутентифицирован")
     })
-    public TaskDTO show(@PathVariable Long id) {
-        var task = taskService.findById(id)
+    @Parameter(name = "fields", description = FIELDS_DESCRIPTION, example = "title,status")
+    @Parameter(name = "archived", description = ARCHIVED_DESCRIPTION, example = "true")
+    public TaskDTO show(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "false") boolean archived) {
+        Set<TaskField> parsed = fields == null ? null : TaskField.parse(fields);
+        Optional<TaskDTO> hot = Optional.empty();
+        if (!archived) {
+            hot = parsed != null
+                    ? taskService.findById(id, parsed)
+                    : taskService.findById(id).map(taskMapper::map);
+        }
+        // Ссылка на задачу остаётся рабочей и после её переноса в архив
+        return hot.or(() -> taskArchiveService.findById(id, parsed))
                 .orElseThrow(() -> new ResourceNotFoundException("Task Not Found: " + id));
-        return taskMapper.map(task);
+    }
+
+    @GetMapping(value = "/tasks/{id}", params = "include")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Задача со связанными записями",
+            description = "Задача в data, её исполнитель, статус и метки — в included.")
+    @Parameter(name = "include", description = INCLUDE_DESCRIPTION, example = "assignee,status,labels")
+    public TaskDocumentDTO<TaskDTO> showWithIncluded(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "false") boolean archived,
+            @RequestParam String include) {
+        Set<TaskInclude> includes = TaskInclude.parse(include);
+        TaskDTO task = show(id, TaskInclude.withReferenceFields(fields, includes), archived);
+        return new TaskDocumentDTO<>(task, taskIncludeService.load(List.of(task), includes));
     }
 
     @PostMapping("/tasks")
@@ -116,6 +312,22 @@ public class TaskController {
         return taskMapper.map(task);
     }
 
+    @PostMapping("/tasks/{id}/move")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Переместить задачу",
+            description = "Ставит задачу перед beforeId или после afterId (в колонку соседа) либо в конец "
+                    + "колонки status. Остальные задачи колонки не перенумеровываются.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Задача перемещена"),
+            @ApiResponse(responseCode = "400", description = "Указано больше одного ориентира"),
+            @ApiResponse(responseCode = "404", description = "Задача, сосед или статус не найдены"),
+            @ApiResponse(responseCode = "409", description = "Сосед перемещён одновременно, повторите запрос"),
+            @ApiResponse(responseCode = "401", description = "Пользователь не аутентифицирован")
+    })
+    public TaskDTO move(@PathVariable Long id, @RequestBody @Valid TaskMoveDTO move) {
+        return taskMapper.map(taskService.move(id, move));
+    }
+
     @DeleteMapping("/tasks/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @Operation(summary = "Удалить задачу", description = "Удаляет задачу по указанному идентификатору")
@@ -127,4 +339,36 @@ public class TaskController {
     public void delete(@PathVariable Long id) {
         taskService.delete(id);
     }
+
+    // Id, которых нет в рабочем наборе, ищутся в архиве: ссылки на перенесённые задачи не ломаются
+    private ResponseEntity<List<TaskDTO>> getMany(List<Long> ids, String fields) {
+        Set<TaskField> parsed = fields == null ? null : TaskField.parse(fields);
+        List<TaskDTO> tasks = new ArrayList<>();
+        if (parsed != null) {
+            Specification<Task> byIds = (root, query, cb) -> root.get("id").in(ids);
+            tasks.addAll(taskService.getAll(byIds, Pageable.unpaged(), parsed).getContent());
+        } else {
+            taskService.findAllById(ids).forEach(task -> tasks.add(taskMapper.map(task)));
+        }
+        List<Long> missing = MultiGet.of(ids, tasks, TaskDTO::getId).missing();
+        if (!missing.isEmpty()) {
+            tasks.addAll(taskArchiveService.findAllById(missing, parsed));
+        }
+        var found = MultiGet.of(ids, tasks, TaskDTO::getId);
+        return found.ok().body(found.found());
+    }
+
+    // Списки и фильтры читают архив только по явному archived=true: обычные запросы касаются одной таблицы tasks
+    private ResponseEntity<List<TaskDTO>> indexArchived(TaskParamsDTO params, ListParams listParams, String fields,
+                                                        List<Long> ids) {
+        Set<TaskField> parsed = fields == null ? null : TaskField.parse(fields);
+        if (ids != null) {
+            List<Long> requested = pagination.ids(ids);
+            var found = MultiGet.of(requested, taskArchiveService.findAllById(requested, parsed), TaskDTO::getId);
+            return found.ok().body(found.found());
+        }
+        Page<TaskDTO> page = taskArchiveService.getAll(params, pagination.pageable(listParams, SORTABLE,
+                DEFAULT_PER_PAGE), parsed);
+        return Pagination.ok(page, "tasks").body(page.getContent());
+    }
 }
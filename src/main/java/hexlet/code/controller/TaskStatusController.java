@@ -6,14 +6,20 @@ import hexlet.code.dto.taskStatus.TaskStatusUpdateDTO;
 import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.mapper.TaskStatusMapper;
 import hexlet.code.model.TaskStatus;
+import hexlet.code.pagination.ListParams;
+import hexlet.code.pagination.MultiGet;
+import hexlet.code.pagination.Pagination;
 import hexlet.code.service.TaskStatusService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -23,10 +29,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api")
@@ -35,22 +43,43 @@ import java.util.List;
 @AllArgsConstructor
 public class TaskStatusController {
 
+    private static final Map<String, String> SORTABLE = Map.of("id", "id", "name", "name", "slug", "slug",
+            "createdAt", "createdAt");
+
     private final TaskStatusService taskStatusService;
     private final TaskStatusMapper taskStatusMapper;
+    private final Pagination pagination;
 
     @GetMapping("/task_statuses")
-    @Operation(summary = "Получить список всех статусов задач",
-            description = "Возвращает список всех доступных статусов задач")
-    @ApiResponse(responseCode = "200", description = "Список статусов успешно получен")
-    public ResponseEntity<List<TaskStatusDTO>> index() {
-        var taskStatuses = taskStatusService.getAll();
-        List<TaskStatusDTO> taskStatusDTOs = taskStatuses.stream()
+    @Operation(summary = "Получить список статусов задач",
+            description = "Возвращает страницу статусов. Сортировка по id, name, slug и createdAt.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Список статусов успешно получен"),
+            @ApiResponse(responseCode = "400", description = "Недопустимое поле или направление сортировки")
+    })
+    @Parameter(name = "_start", in = ParameterIn.QUERY, description = "Смещение первой записи", example = "0")
+    @Parameter(name = "_end", in = ParameterIn.QUERY, description = "Смещение после последней записи", example = "20")
+    @Parameter(name = "_sort", in = ParameterIn.QUERY, description = "Поля сортировки через запятую", example = "name")
+    @Parameter(name = "_order", in = ParameterIn.QUERY, description = "ASC или DESC для каждого поля", example = "ASC")
+    @Parameter(name = "page", in = ParameterIn.QUERY, description = "Номер страницы, вместо _start/_end", example = "1")
+    @Parameter(name = "perPage", in = ParameterIn.QUERY, description = "Размер страницы, до 100", example = "20")
+    @Parameter(name = "id", description = "Выбрать записи по id (можно повторять), остальные параметры игнорируются",
+            example = "1")
+    public ResponseEntity<List<TaskStatusDTO>> index(
+            @Parameter(hidden = true) ListParams params,
+            @RequestParam(name = "id", required = false) List<Long> ids) {
+        if (ids != null) {
+            List<Long> requested = pagination.ids(ids);
+            var found = MultiGet.of(requested, taskStatusService.findAllById(requested), TaskStatus::getId);
+            return found.ok().body(found.found().stream().map(taskStatusMapper::map).toList());
+        }
+
+        Page<TaskStatus> taskStatuses = taskStatusService.getAll(pagination.pageable(params, SORTABLE));
+        List<TaskStatusDTO> taskStatusDTOs = taskStatuses.getContent().stream()
                 .map(taskStatusMapper::map)
                 .toList();
 
-        return ResponseEntity.ok()
-                .header("X-Total-Count", String.valueOf(taskStatusDTOs.size()))
-                .body(taskStatusDTOs);
+        return Pagination.ok(taskStatuses, "task_statuses").body(taskStatusDTOs);
     }
 
     @GetMapping("/task_statuses/{id}")
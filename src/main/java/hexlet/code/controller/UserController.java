@@ -6,14 +6,20 @@ import hexlet.code.dto.user.UserUpdateDTO;
 import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.mapper.UserMapper;
 import hexlet.code.model.User;
+import hexlet.code.pagination.ListParams;
+import hexlet.code.pagination.MultiGet;
+import hexlet.code.pagination.Pagination;
 import hexlet.code.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -24,10 +30,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api")
@@ -36,22 +44,44 @@ import java.util.List;
 @AllArgsConstructor
 public class UserController {
 
+    private static final Map<String, String> SORTABLE = Map.of("id", "id", "email", "email",
+            "firstName", "firstName", "lastName", "lastName", "createdAt", "createdAt");
+
     private final UserService userService;
     private final UserMapper userMapper;
+    private final Pagination pagination;
 
     @GetMapping("/users")
-    @Operation(summary = "Получить список всех пользователей",
-            description = "Возвращает список всех зарегистрированных пользователей")
-    @ApiResponse(responseCode = "200", description = "Список пользователей успешно получен")
-    public ResponseEntity<List<UserDTO>> index() {
-        var users = userService.getAll();
-        List<UserDTO> userDTOs = users.stream()
+    @Operation(summary = "Получить список пользователей",
+            description = "Возвращает страницу пользователей. Сортировка по id, email, firstName, lastName "
+                    + "и createdAt.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Список пользователей успешно получен"),
+            @ApiResponse(responseCode = "400", description = "Недопустимое поле или направление сортировки")
+    })
+    @Parameter(name = "_start", in = ParameterIn.QUERY, description = "Смещение первой записи", example = "0")
+    @Parameter(name = "_end", in = ParameterIn.QUERY, description = "Смещение после последней записи", example = "20")
+    @Parameter(name = "_sort", in = ParameterIn.QUERY, description = "Поля сортировки через запятую", example = "email")
+    @Parameter(name = "_order", in = ParameterIn.QUERY, description = "ASC или DESC для каждого поля", example = "ASC")
+    @Parameter(name = "page", in = ParameterIn.QUERY, description = "Номер страницы, вместо _start/_end", example = "1")
+    @Parameter(name = "perPage", in = ParameterIn.QUERY, description = "Размер страницы, до 100", example = "20")
+    @Parameter(name = "id", description = "Выбрать записи по id (можно повторять), остальные параметры игнорируются",
+            example = "1")
+    public ResponseEntity<List<UserDTO>> index(
+            @Parameter(hidden = true) ListParams params,
+            @RequestParam(name = "id", required = false) List<Long> ids) {
+        if (ids != null) {
+            List<Long> requested = pagination.ids(ids);
+            var found = MultiGet.of(requested, userService.findAllById(requested), User::getId);
+            return found.ok().body(found.found().stream().map(userMapper::map).toList());
+        }
+
+        Page<User> users = userService.getAll(pagination.pageable(params, SORTABLE));
+        List<UserDTO> userDTOs = users.getContent().stream()
                 .map(userMapper::map)
                 .toList();
 
-        return ResponseEntity.ok()
-                .header("X-Total-Count", String.valueOf(userDTOs.size()))
-                .body(userDTOs);
+        return Pagination.ok(users, "users").body(userDTOs);
     }
 
     @GetMapping("/users/{id}")
@@ -1,212 +1,222 @@
 package hexlet.code.data;
 
 import hexlet.code.configuration.AdminConfig;
-import hexlet.code.model.Label;
 import hexlet.code.model.Role;
-import hexlet.code.model.Task;
-import hexlet.code.model.TaskStatus;
-import hexlet.code.model.User;
-import hexlet.code.repository.LabelRepository;
-import hexlet.code.repository.TaskRepository;
-import hexlet.code.repository.TaskStatusRepository;
-import hexlet.code.repository.UserRepository;
-import jakarta.annotation.PostConstruct;
+import hexlet.code.sync.ChangeLogWriter;
+import hexlet.code.sync.SyncEntity;
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
+// Начальные данные: администратор, демо-пользователи, статусы, метки и задачи.
+// Засев идёт после старта (ApplicationReadyEvent), одной транзакцией: по каждой таблице один запрос
+// за уже существующими ключами и одна пачка вставок недостающих строк. Отключается app.seed.enabled=false.
+// Флаг читается при старте, а не через @ConditionalOnProperty: образ запускается со spring.aot.enabled,
+// и условие на бин вычислялось бы при сборке, так что переменная окружения в контейнере ничего бы не меняла.
+// Вставленные строки попадают в change_log, иначе клиенты синхронизации их бы не увидели
+@Slf4j
 @Component
 @AllArgsConstructor
 public class DataInitializer {
 
-    private final UserRepository userRepository;
-    private final TaskStatusRepository taskStatusRepository;
-    private final LabelRepository labelRepository;
-    private final TaskRepository taskRepository;
+    // Ключ advisory-блокировки PostgreSQL: узлы, стартующие одновременно, засевают базу по очереди
+    private static final long SEED_LOCK_KEY = 7_354_821_906_127L;
+
+    private static final List<SeedUser> DEMO_USERS = List.of(
+            new SeedUser("alice.smith@example.com", "Alice", "Smith", "password123", Role.USER),
+            new SeedUser("bob.johnson@example.com", "Bob", "Johnson", "password123", Role.USER),
+            new SeedUser("carol.williams@example.com", "Carol", "Williams", "password123", Role.USER));
+
+    private static final List<SeedStatus> STATUSES = List.of(
+            new SeedStatus("draft", "Draft"),
+            new SeedStatus("to_review", "ToReview"),
+            new SeedStatus("to_be_fixed", "ToBeFixed"),
+            new SeedStatus("to_publish", "ToPublish"),
+            new SeedStatus("published", "Published"));
+
+    private static final List<String> LABELS = List.of("feature", "bug", "urgent", "documentation");
+
+    private static final List<SeedTask> TASKS = List.of(
+            new SeedTask("Implement user authentication", "Develop secure login and registration system",
+                    1, "draft", "bob.johnson@example.com", List.of("feature")),
+            new SeedTask("Fix payment processing bug", "Payment gateway integration is failing for certain cards",
+                    2, "to_be_fixed", "carol.williams@example.com", List.of("bug", "urgent")),
+            new SeedTask("Design new dashboard UI", "Create modern and responsive dashboard interface",
+                    3, "to_review", "alice.smith@example.com", List.of("feature")),
+            new SeedTask("Write API documentation", "Document all REST API endpoints with examples",
+                    4, "to_publish", "alice.smith@example.com", List.of("documentation")),
+            new SeedTask("Research new technologies", "Investigate potential new frameworks and libraries",
+                    5, "draft", null, List.of()),
+            new SeedTask("Performance optimization", "Improve application performance and reduce load times",
+                    6, "published", "carol.williams@example.com", List.of("feature", "urgent")),
+            new SeedTask("Database migration", "Migrate from MySQL to PostgreSQL",
+                    7, "to_be_fixed", "bob.johnson@example.com", List.of("feature")),
+            new SeedTask("Security audit", "Conduct comprehensive security review of the application",
+                    8, "to_review", "alice.smith@example.com", List.of("urgent")));
+
+    private final JdbcTemplate jdbcTemplate;
     private final PasswordEncoder passwordEncoder;
     private final AdminConfig adminConfig;
+    private final Environment environment;
+    private final ChangeLogWriter changeLogWriter;
 
-    @PostConstruct
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
     @Transactional
-    public void init() {
-        // Проверяем, что все зависимости инициализированы
-        if (userRepository == null || taskStatusRepository == null || labelRepository == null
-                || taskRepository == null || passwordEncoder == null || adminConfig == null) {
+    public void seed() {
+        if (!environment.getProperty("app.seed.enabled", Boolean.class, true)) {
+            log.info("Seed data: disabled by app.seed.enabled");
             return;
         }
+        long started = System.nanoTime();
+        lockAgainstConcurrentNodes();
 
-        initUsers();
-        initTaskStatuses();
-        initLabels();
-        initTasks();
-    }
-
-    private void initUsers() {
-        // Администратор
-        if (adminConfig.getEmail() != null && !userRepository.existsByEmail(adminConfig.getEmail())) {
-            User admin = new User();
-            admin.setEmail(adminConfig.getEmail());
-            admin.setPasswordDigest(passwordEncoder.encode(adminConfig.getPassword()));
-            admin.setFirstName("Hexlet");
-            admin.setLastName("Admin");
-            admin.setRole(Role.ADMIN);
-            admin.setCreatedAt(LocalDateTime.now());
-            admin.setUpdatedAt(LocalDateTime.now());
-            userRepository.save(admin);
-        }
+        int users = seedUsers();
+        int statuses = seedStatuses();
+        int labels = seedLabels();
+        int tasks = seedTasks();
 
-        // 3 конкретных пользователя
-        createUserIfNotExists("alice.smith@example.com", "Alice", "Smith", "password123", Role.USER);
-        createUserIfNotExists("bob.johnson@example.com", "Bob", "Johnson", "password123", Role.USER);
-        createUserIfNotExists("carol.williams@example.com", "Carol", "Williams", "password123", Role.USER);
+        log.info("Seed data: inserted {} users, {} statuses, {} labels, {} tasks in {} ms",
+                users, statuses, labels, tasks, (System.nanoTime() - started) / 1_000_000);
     }
 
-    private void createUserIfNotExists(String email, String firstName, String lastName, String password, Role role) {
-        if (!userRepository.existsByEmail(email)) {
-            User user = new User();
-            user.setEmail(email);
-            user.setFirstName(firstName);
-            user.setLastName(lastName);
-            user.setPasswordDigest(passwordEncoder.encode(password));
-            user.setRole(role);
-            user.setCreatedAt(LocalDateTime.now());
-            user.setUpdatedAt(LocalDateTime.now());
-            userRepository.save(user);
+    private void lockAgainstConcurrentNodes() {
+        String database = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        // H2 в памяти у каждого узла своя, блокировать нечего
+        if ("PostgreSQL".equals(database)) {
+            jdbcTemplate.execute("SELECT pg_advisory_xact_lock(" + SEED_LOCK_KEY + ")");
         }
     }
 
-    private void initTaskStatuses() {
-        List<TaskStatus> defaultStatuses = List.of(
-                createTaskStatus("Draft", "draft"),
-                createTaskStatus("ToReview", "to_review"),
-                createTaskStatus("ToBeFixed", "to_be_fixed"),
-                createTaskStatus("ToPublish", "to_publish"),
-                createTaskStatus("Published", "published")
-        );
-
-        defaultStatuses.forEach(status -> {
-            if (!taskStatusRepository.existsBySlug(status.getSlug())) {
-                taskStatusRepository.save(status);
-            }
-        });
-    }
-
-    private TaskStatus createTaskStatus(String name, String slug) {
-        TaskStatus status = new TaskStatus();
-        status.setName(name);
-        status.setSlug(slug);
-        status.setCreatedAt(LocalDateTime.now());
-        return status;
+    private int seedUsers() {
+        List<SeedUser> users = new ArrayList<>();
+        if (adminConfig.getEmail() != null) {
+            users.add(new SeedUser(adminConfig.getEmail(), "Hexlet", "Admin", adminConfig.getPassword(), Role.ADMIN));
+        }
+        users.addAll(DEMO_USERS);
+
+        Set<String> existing = existing("users", "email", users.stream().map(SeedUser::email).toList());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        // BCrypt только для действительно вставляемых строк
+        List<SeedUser> missing = users.stream().filter(user -> !existing.contains(user.email())).toList();
+        List<Object[]> rows = missing.stream()
+                .map(user -> new Object[] {user.email(), user.firstName(), user.lastName(),
+                    passwordEncoder.encode(user.password()), user.role().name(), now, now})
+                .toList();
+        jdbcTemplate.batchUpdate("INSERT INTO users"
+                + " (email, first_name, last_name, password_digest, role, created_at, updated_at)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+        changeLogWriter.recordInserted(SyncEntity.USER, "users", "email",
+                missing.stream().map(SeedUser::email).toList());
+        return rows.size();
     }
 
-    private void initLabels() {
-        List<Label> defaultLabels = List.of(
-                createLabel("feature"),
-                createLabel("bug"),
-                createLabel("urgent"),
-                createLabel("documentation")
-        );
-
-        defaultLabels.forEach(label -> {
-            if (!labelRepository.existsByName(label.getName())) {
-                labelRepository.save(label);
-            }
-        });
+    private int seedStatuses() {
+        Set<String> existing = existing("task_statuses", "slug", STATUSES.stream().map(SeedStatus::slug).toList());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<SeedStatus> missing = STATUSES.stream().filter(status -> !existing.contains(status.slug())).toList();
+        List<Object[]> rows = missing.stream()
+                .map(status -> new Object[] {status.name(), status.slug(), now})
+                .toList();
+        jdbcTemplate.batchUpdate("INSERT INTO task_statuses (name, slug, created_at) VALUES (?, ?, ?)", rows);
+        changeLogWriter.recordInserted(SyncEntity.STATUS, "task_statuses", "slug",
+                missing.stream().map(SeedStatus::slug).toList());
+        return rows.size();
     }
 
-    private Label createLabel(String name) {
-        Label label = new Label();
-        label.setName(name);
-        label.setCreatedAt(LocalDateTime.now());
-        return label;
+    private int seedLabels() {
+        Set<String> existing = existing("labels", "name", LABELS);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<String> missing = LABELS.stream().filter(label -> !existing.contains(label)).toList();
+        List<Object[]> rows = missing.stream()
+                .map(label -> new Object[] {label, now})
+                .toList();
+        jdbcTemplate.batchUpdate("INSERT INTO labels (name, created_at) VALUES (?, ?)", rows);
+        changeLogWriter.recordInserted(SyncEntity.LABEL, "labels", "name", missing);
+        return rows.size();
     }
 
-    private void initTasks() {
-        // Проверяем, есть ли уже задачи
-        if (taskRepository.count() > 0) {
-            return;
+    // Демо-задачи создаются только в пустой базе: их названия не уникальны, и пользователи могли их изменить
+    private int seedTasks() {
+        if (!jdbcTemplate.queryForList("SELECT id FROM tasks FETCH FIRST 1 ROWS ONLY", Long.class).isEmpty()) {
+            return 0;
         }
 
-        // Получаем пользователей
-        User alice = userRepository.findByEmail("alice.smith@example.com").orElse(null);
-        User bob = userRepository.findByEmail("bob.johnson@example.com").orElse(null);
-        User carol = userRepository.findByEmail("carol.williams@example.com").orElse(null);
-        User admin = userRepository.findByEmail(adminConfig.getEmail()).orElse(null);
-
-        // Получаем статусы
-        TaskStatus draft = taskStatusRepository.findBySlug("draft").orElse(null);
-        TaskStatus toReview = taskStatusRepository.findBySlug("to_review").orElse(null);
-        TaskStatus toBeFixed = taskStatusRepository.findBySlug("to_be_fixed").orElse(null);
-        TaskStatus toPublish = taskStatusRepository.findBySlug("to_publish").orElse(null);
-        TaskStatus published = taskStatusRepository.findBySlug("published").orElse(null);
-
-        // Получаем метки
-        Label feature = labelRepository.findByName("feature").orElse(null);
-        Label bug = labelRepository.findByName("bug").orElse(null);
-        Label urgent = labelRepository.findByName("urgent").orElse(null);
-        Label documentation = labelRepository.findByName("documentation").orElse(null);
-
-        // Проверяем, что все необходимые данные доступны
-        if (alice == null || bob == null || carol == null || admin == null
-                || draft == null || toReview == null || toBeFixed == null
-                || toPublish == null || published == null) {
-            System.out.println("Skipping task initialization - required data not available");
-            return;
+        Map<String, Long> users = ids("users", "email", TASKS.stream()
+                .map(SeedTask::assignee)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList());
+        Map<String, Long> statuses = ids("task_statuses", "slug", STATUSES.stream().map(SeedStatus::slug).toList());
+        Map<String, Long> labels = ids("labels", "name", LABELS);
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = TASKS.stream()
+                .map(task -> new Object[] {task.name(), task.description(), task.index(), now,
+                    statuses.get(task.status()), task.assignee() == null ? null : users.get(task.assignee())})
+                .toList();
+        jdbcTemplate.batchUpdate("INSERT INTO tasks (name, description, index, created_at, task_status_id, assignee_id)"
+                + " VALUES (?, ?, ?, ?, ?, ?)", rows);
+
+        Map<String, Long> tasks = ids("tasks", "name", TASKS.stream().map(SeedTask::name).toList());
+        List<Object[]> links = new ArrayList<>();
+        for (SeedTask task : TASKS) {
+            task.labels().forEach(label -> links.add(new Object[] {tasks.get(task.name()), labels.get(label)}));
         }
+        jdbcTemplate.batchUpdate("INSERT INTO task_labels (task_id, label_id) VALUES (?, ?)", links);
+        changeLogWriter.recordInserted(SyncEntity.TASK, "tasks", "id", tasks.values());
+        return rows.size();
+    }
 
-        // Создаем 8 задач
-        createTask("Implement user authentication",
-                "Develop secure login and registration system",
-                1, draft, alice, bob, feature != null ? Set.of(feature) : Set.of());
-
-        createTask("Fix payment processing bug",
-                "Payment gateway integration is failing for certain cards",
-                2, toBeFixed, bob, carol, bug != null && urgent != null ? Set.of(bug, urgent) : Set.of());
-
-        createTask("Design new dashboard UI",
-                "Create modern and responsive dashboard interface",
-                3, toReview, carol, alice, feature != null ? Set.of(feature) : Set.of());
-
-        createTask("Write API documentation",
-                "Document all REST API endpoints with examples",
-                4, toPublish, admin, alice, documentation != null ? Set.of(documentation) : Set.of());
-
-        createTask("Research new technologies",
-                "Investigate potential new frameworks and libraries",
-                5, draft, alice, null, Set.of());
+    private Set<String> existing(String table, String column, Collection<String> values) {
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT " + column + " FROM " + table + " WHERE " + column + " IN (" + placeholders(values) + ")",
+                String.class, values.toArray()));
+    }
 
-        createTask("Performance optimization",
-                "Improve application performance and reduce load times",
-                6, published, bob, carol, feature != null && urgent != null ? Set.of(feature, urgent) : Set.of());
+    private Map<String, Long> ids(String table, String column, Collection<String> values) {
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT id, " + column + " FROM " + table + " WHERE " + column + " IN (" + placeholders(values) + ")",
+                rs -> {
+                    ids.put(rs.getString(2), rs.getLong(1));
+                }, values.toArray());
+        return ids;
+    }
 
-        createTask("Database migration",
-                "Migrate from MySQL to PostgreSQL",
-                7, toBeFixed, carol, bob, feature != null ? Set.of(feature) : Set.of());
+    private static String placeholders(Collection<?> values) {
+        return String.join(", ", Collections.nCopies(values.size(), "?"));
+    }
 
-        createTask("Security audit",
-                "Conduct comprehensive security review of the application",
-                8, toReview, admin, alice, urgent != null ? Set.of(urgent) : Set.of());
+    private record SeedUser(String email, String firstName, String lastName, String password, Role role) {
     }
 
-    private void createTask(String name, String description, Integer index,
-                            TaskStatus status, User creator, User assignee, Set<Label> labels) {
-        Task task = new Task();
-        task.setName(name);
-        task.setDescription(description);
-        task.setIndex(index);
-        task.setTaskStatus(status);
-        task.setAssignee(assignee);
-        task.setCreatedAt(LocalDateTime.now());
-
-        if (labels != null && !labels.isEmpty()) {
-            task.setLabels(labels);
-        }
+    private record SeedStatus(String slug, String name) {
+    }
 
-        taskRepository.save(task);
+    private record SeedTask(String name, String description, int index, String status, String assignee,
+                            List<String> labels) {
     }
 }
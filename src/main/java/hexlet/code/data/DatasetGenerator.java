@@ -0,0 +1,305 @@
+package hexlet.code.data;
+
+import hexlet.code.configuration.DatasetConfig;
+import hexlet.code.event.DatasetGeneratedEvent;
+import hexlet.code.model.Role;
+import hexlet.code.sync.ChangeLogWriter;
+import hexlet.code.sync.SyncEntity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.datafaker.Faker;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+/**
+ * Генератор большого синтетического набора данных для нагрузочного тестирования.
+ *
+ * <p>Пишет напрямую через JDBC пачками по {@code batchSize} строк, пачки обрабатываются параллельно
+ * в {@code threads} потоках, каждая в своей транзакции. Id заранее резервируются сдвигом identity
+ * под блокировкой таблицы (в PostgreSQL), поэтому связи задач с исполнителями и метками строятся
+ * без чтения сгенерированных ключей.
+ * Распределения исполнителей, меток и статусов степенные: небольшая часть получает большую часть задач.
+ *
+ * <p>Запуск: {@code ./gradlew run --args='--app.dataset.enabled=true --app.dataset.tasks=5000000'}.
+ * Для PostgreSQL стоит добавить к URL {@code reWriteBatchedInserts=true}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DatasetGenerator {
+
+    private static final int POOL_SIZE = 1000;
+
+    private static final String INSERT_USER = "INSERT INTO users"
+            + " (id, first_name, last_name, email, password_digest, role, created_at, updated_at)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_LABEL = "INSERT INTO labels (id, name, created_at) VALUES (?, ?, ?)";
+    private static final String INSERT_TASK = "INSERT INTO tasks"
+            + " (id, index, name, description, created_at, task_status_id, assignee_id)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_TASK_LABEL = "INSERT INTO task_labels (task_id, label_id) VALUES (?, ?)";
+
+    private final DatasetConfig datasetConfig;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final PasswordEncoder passwordEncoder;
+    private final Faker faker;
+    private final ApplicationEventPublisher events;
+    private final ChangeLogWriter changeLogWriter;
+
+    // После DataInitializer: генератору нужны статусы задач
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void run() {
+        if (datasetConfig.isEnabled()) {
+            generate(datasetConfig);
+        }
+    }
+
+    public Result generate(DatasetConfig config) {
+        List<Long> statusIds = jdbcTemplate.queryForList("SELECT id FROM task_statuses ORDER BY id", Long.class);
+        if (statusIds.isEmpty()) {
+            throw new IllegalStateException("Task statuses must exist before generating a dataset");
+        }
+
+        long started = System.nanoTime();
+        var pools = new Pools(faker);
+        ExecutorService executor = Executors.newFixedThreadPool(config.getThreads());
+        try {
+            var ids = new IdRanges(reserveIds("users", config.getUsers()),
+                    reserveIds("labels", config.getLabels()),
+                    reserveIds("tasks", config.getTasks()));
+
+            // Один хэш на всех: BCrypt на каждого пользователя занял бы больше, чем вся остальная генерация
+            String digest = passwordEncoder.encode(config.getPassword());
+            LocalDateTime now = LocalDateTime.now();
+
+            insertInBatches(executor, config, SyncEntity.USER, "users", config.getUsers(), INSERT_USER, id -> {
+                long userId = ids.firstUser() + id;
+                return new Object[] {userId, pools.firstName(), pools.lastName(), "user" + userId + "@example.com",
+                    digest, Role.USER.name(), createdAt(now, config), Timestamp.valueOf(now)};
+            });
+            insertInBatches(executor, config, SyncEntity.LABEL, "labels", config.getLabels(), INSERT_LABEL, id -> {
+                long labelId = ids.firstLabel() + id;
+                return new Object[] {labelId, pools.labelName() + "-" + labelId, createdAt(now, config)};
+            });
+            insertTasks(executor, config, pools, statusIds, ids, now);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        var result = new Result(config.getUsers(), config.getLabels(), config.getTasks(),
+                (System.nanoTime() - started) / 1_000_000);
+        log.info("Generated dataset: {} users, {} labels, {} tasks in {} ms",
+                result.users(), result.labels(), result.tasks(), result.elapsedMs());
+        // Вставки шли мимо TaskChangedEvent: поиск и счётчики пересобираются из базы
+        events.publishEvent(new DatasetGeneratedEvent(result.users(), result.labels(), result.tasks()));
+        return result;
+    }
+
+    private void insertTasks(ExecutorService executor, DatasetConfig config, Pools pools, List<Long> statusIds,
+                             IdRanges ids, LocalDateTime now) {
+        var transactions = new TransactionTemplate(transactionManager);
+        var progress = new Progress("tasks", config.getTasks());
+        List<Future<?>> batches = new ArrayList<>();
+
+        for (long from = 0; from < config.getTasks(); from += config.getBatchSize()) {
+            long batchStart = from;
+            long batchEnd = Math.min(from + config.getBatchSize(), config.getTasks());
+            batches.add(executor.submit(() -> {
+                var random = ThreadLocalRandom.current();
+                List<Object[]> tasks = new ArrayList<>();
+                List<Object[]> links = new ArrayList<>();
+
+                for (long i = batchStart; i < batchEnd; i++) {
+                    long taskId = ids.firstTask() + i;
+                    Long assignee = random.nextDouble() < config.getUnassignedRatio()
+                            ? null
+                            : ids.firstUser() + skewed(config.getUsers(), config.getAssigneeSkew());
+                    tasks.add(new Object[] {taskId, (int) i, pools.taskName(), pools.description(),
+                        createdAt(now, config), statusIds.get(skewed(statusIds.size(), config.getStatusSkew())),
+                        assignee});
+
+                    Set<Long> labels = new LinkedHashSet<>();
+                    int count = config.getLabels() == 0 ? 0 : random.nextInt(config.getMaxLabelsPerTask() + 1);
+                    for (int l = 0; l < count; l++) {
+                        labels.add(ids.firstLabel() + skewed(config.getLabels(), config.getLabelSkew()));
+                    }
+                    labels.forEach(labelId -> links.add(new Object[] {taskId, labelId}));
+                }
+
+                transactions.executeWithoutResult(status -> {
+                    jdbcTemplate.batchUpdate(INSERT_TASK, tasks);
+                    jdbcTemplate.batchUpdate(INSERT_TASK_LABEL, links);
+                    changeLogWriter.recordInserted(SyncEntity.TASK, "tasks", ids.firstTask() + batchStart,
+                            ids.firstTask() + batchEnd - 1);
+                });
+                progress.add(tasks.size());
+            }));
+        }
+        await(batches);
+    }
+
+    // Пачка и её записи в change_log коммитятся вместе: клиенты синхронизации видят сгенерированные строки
+    private void insertInBatches(ExecutorService executor, DatasetConfig config, SyncEntity entity, String table,
+                                 int count, String sql, LongFunction<Object[]> row) {
+        var transactions = new TransactionTemplate(transactionManager);
+        var progress = new Progress(table, count);
+        List<Future<?>> batches = new ArrayList<>();
+        for (long from = 0; from < count; from += config.getBatchSize()) {
+            long batchStart = from;
+            long batchEnd = Math.min(from + config.getBatchSize(), count);
+            batches.add(executor.submit(() -> {
+                List<Object[]> rows = new ArrayList<>();
+                for (long i = batchStart; i < batchEnd; i++) {
+                    rows.add(row.apply(i));
+                }
+                transactions.executeWithoutResult(status -> {
+                    jdbcTemplate.batchUpdate(sql, rows);
+                    changeLogWriter.recordInserted(entity, table, (Long) rows.get(0)[0],
+                            (Long) rows.get(rows.size() - 1)[0]);
+                });
+                progress.add(rows.size());
+            }));
+        }
+        await(batches);
+    }
+
+    // Сдвигает identity за пределы диапазона, чтобы приложение, работающее параллельно, не заняло эти id.
+    // MAX(id) и RESTART должны идти под одной блокировкой, иначе вставка между ними возьмёт id из диапазона:
+    // в PostgreSQL LOCK TABLE ждёт незакоммиченные вставки и держит новые до конца транзакции.
+    // H2 такой блокировки не умеет, а DDL у неё коммитит транзакцию; она только для тестов и разработки
+    private long reserveIds(String table, int count) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            if (isPostgres()) {
+                jdbcTemplate.execute("LOCK TABLE " + table + " IN ACCESS EXCLUSIVE MODE");
+            }
+            Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+            long first = max == null ? 1 : max + 1;
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + (first + count));
+            return first;
+        });
+    }
+
+    private boolean isPostgres() {
+        return "PostgreSQL".equals(jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()));
+    }
+
+    // Номер в [0, size) со степенным распределением: при skew = 1 равномерно, чем больше skew,
+    // тем сильнее выборка смещена к первым номерам
+    static int skewed(int size, double skew) {
+        return (int) (size * Math.pow(ThreadLocalRandom.current().nextDouble(), skew));
+    }
+
+    private static Timestamp createdAt(LocalDateTime now, DatasetConfig config) {
+        long seconds = ThreadLocalRandom.current().nextLong(config.getHistoryDays() * 86_400L + 1);
+        return Timestamp.valueOf(now.minusSeconds(seconds));
+    }
+
+    private static void await(List<Future<?>> batches) {
+        try {
+            for (Future<?> batch : batches) {
+                batch.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Dataset generation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Dataset generation failed", e.getCause());
+        }
+    }
+
+    public record Result(int users, int labels, int tasks, long elapsedMs) {
+    }
+
+    private record IdRanges(long firstUser, long firstLabel, long firstTask) {
+    }
+
+    // Faker не рассчитан на конкурентный доступ и медленный на миллионах вызовов, поэтому значения
+    // генерируются один раз, а потоки выбирают из готовых пулов
+    private static final class Pools {
+        private final List<String> firstNames = new ArrayList<>();
+        private final List<String> lastNames = new ArrayList<>();
+        private final List<String> labelNames = new ArrayList<>();
+        private final List<String> taskNames = new ArrayList<>();
+        private final List<String> descriptions = new ArrayList<>();
+
+        Pools(Faker faker) {
+            for (int i = 0; i < POOL_SIZE; i++) {
+                firstNames.add(faker.name().firstName());
+                lastNames.add(faker.name().lastName());
+                labelNames.add(faker.lorem().word());
+                taskNames.add(faker.hacker().verb() + " " + faker.hacker().noun());
+                descriptions.add(faker.lorem().sentence());
+            }
+        }
+
+        String firstName() {
+            return pick(firstNames);
+        }
+
+        String lastName() {
+            return pick(lastNames);
+        }
+
+        String labelName() {
+            return pick(labelNames);
+        }
+
+        String taskName() {
+            return pick(taskNames);
+        }
+
+        String description() {
+            return pick(descriptions);
+        }
+
+        private static String pick(List<String> values) {
+            return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+        }
+    }
+
+    private static final class Progress {
+        private final String table;
+        private final long total;
+        private final long step;
+        private final AtomicLong done = new AtomicLong();
+
+        Progress(String table, long total) {
+            this.table = table;
+            this.total = total;
+            this.step = Math.max(total / 10, 1);
+        }
+
+        void add(long rows) {
+            long before = done.getAndAdd(rows);
+            if ((before + rows) / step > before / step) {
+                log.info("Generated {} of {} {}", before + rows, total, table);
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package hexlet.code.dto.autocomplete;
+
+import hexlet.code.autocomplete.AutocompleteKind;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+@AllArgsConstructor
+public class AutocompleteItemDTO {
+    private AutocompleteKind type;
+    private Long id;
+    private String text;
+}
@@ -0,0 +1,25 @@
+package hexlet.code.dto.sync;
+
+import hexlet.code.dto.label.LabelDTO;
+import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.dto.taskStatus.TaskStatusDTO;
+import hexlet.code.dto.user.UserDTO;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Изменения после токена: текущее состояние изменённых записей и id удалённых.
+// token передаётся в следующий запрос, hasMore — журнал прочитан не до конца
+@Setter
+@Getter
+public class ChangesDTO {
+    private String token;
+    private boolean hasMore;
+    private List<TaskDTO> tasks = new ArrayList<>();
+    private List<LabelDTO> labels = new ArrayList<>();
+    private List<TaskStatusDTO> statuses = new ArrayList<>();
+    private List<UserDTO> users = new ArrayList<>();
+    private DeletedDTO deleted = new DeletedDTO();
+}
@@ -0,0 +1,16 @@
+package hexlet.code.dto.sync;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Setter
+@Getter
+public class DeletedDTO {
+    private List<Long> tasks = new ArrayList<>();
+    private List<Long> labels = new ArrayList<>();
+    private List<Long> statuses = new ArrayList<>();
+    private List<Long> users = new ArrayList<>();
+}
@@ -0,0 +1,18 @@
+package hexlet.code.dto.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Setter
+@Getter
+@AllArgsConstructor
+public class TaskBoardColumnDTO {
+    private String status;
+    private String name;
+    // Всего задач в колонке с учётом фильтров; в tasks — не больше limit первых по index
+    private long total;
+    private List<TaskDTO> tasks;
+}
@@ -0,0 +1,14 @@
+package hexlet.code.dto.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+// Ответ с include=: сами данные и подгруженные к ним связанные записи
+@Setter
+@Getter
+@AllArgsConstructor
+public class TaskDocumentDTO<T> {
+    private T data;
+    private TaskIncludedDTO included;
+}
@@ -0,0 +1,44 @@
+package hexlet.code.dto.task;
+
+import hexlet.code.exception.BadRequestException;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+// Поля TaskDTO, которые можно запросить через fields=. id возвращается всегда
+public enum TaskField {
+    ID("id"),
+    INDEX("index"),
+    TITLE("title"),
+    CONTENT("content"),
+    STATUS("status"),
+    ASSIGNEE_ID("assigneeId"),
+    TASK_LABEL_IDS("taskLabelIds"),
+    CREATED_AT("createdAt");
+
+    private final String value;
+
+    TaskField(String value) {
+        this.value = value;
+    }
+
+    public String value() {
+        return value;
+    }
+
+    public static Set<TaskField> parse(String fields) {
+        Set<TaskField> parsed = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.strip();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            parsed.add(Arrays.stream(values())
+                    .filter(field -> field.value.equals(trimmed))
+                    .findFirst()
+                    .orElseThrow(() -> new BadRequestException("Unknown task field: " + trimmed)));
+        }
+        return parsed;
+    }
+}
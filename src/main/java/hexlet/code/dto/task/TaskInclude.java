@@ -0,0 +1,51 @@
+package hexlet.code.dto.task;
+
+import hexlet.code.exception.BadRequestException;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+// Связанные записи, которые можно подгрузить к задачам через include=, и поле задачи со ссылкой на них
+public enum TaskInclude {
+    ASSIGNEE("assignee", TaskField.ASSIGNEE_ID),
+    STATUS("status", TaskField.STATUS),
+    LABELS("labels", TaskField.TASK_LABEL_IDS);
+
+    private final String value;
+    private final TaskField field;
+
+    TaskInclude(String value, TaskField field) {
+        this.value = value;
+        this.field = field;
+    }
+
+    public String value() {
+        return value;
+    }
+
+    public static Set<TaskInclude> parse(String include) {
+        Set<TaskInclude> parsed = EnumSet.noneOf(TaskInclude.class);
+        for (String name : include.split(",")) {
+            String trimmed = name.strip();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            parsed.add(Arrays.stream(values())
+                    .filter(value -> value.value.equals(trimmed))
+                    .findFirst()
+                    .orElseThrow(() -> new BadRequestException("Unknown include: " + trimmed)));
+        }
+        return parsed;
+    }
+
+    // Ссылки на подгружаемые записи должны попасть в ответ, даже если fields= их не перечислил
+    public static String withReferenceFields(String fields, Set<TaskInclude> include) {
+        if (fields == null) {
+            return null;
+        }
+        StringBuilder extended = new StringBuilder(fields);
+        include.forEach(value -> extended.append(',').append(value.field.value()));
+        return extended.toString();
+    }
+}
@@ -0,0 +1,21 @@
+package hexlet.code.dto.task;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import hexlet.code.dto.label.LabelDTO;
+import hexlet.code.dto.taskStatus.TaskStatusDTO;
+import hexlet.code.dto.user.UserDTO;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Map;
+
+// Связанные записи без повторов. Ключи — то, чем на запись ссылается TaskDTO:
+// id исполнителя и меток, slug статуса
+@Setter
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskIncludedDTO {
+    private Map<Long, UserDTO> users;
+    private Map<String, TaskStatusDTO> statuses;
+    private Map<Long, LabelDTO> labels;
+}
@@ -0,0 +1,24 @@
+package hexlet.code.dto.task;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.stream.Stream;
+
+// Куда переместить задачу: перед задачей, после задачи или в конец колонки status.
+// С соседом колонка берётся у него; пустое тело — в конец текущей колонки
+@Setter
+@Getter
+public class TaskMoveDTO {
+    private String status;
+    private Long beforeId;
+    private Long afterId;
+
+    @JsonIgnore
+    @AssertTrue(message = "Specify at most one of status, beforeId and afterId")
+    public boolean isSingleTarget() {
+        return Stream.of(status, beforeId, afterId).filter(value -> value != null).count() <= 1;
+    }
+}
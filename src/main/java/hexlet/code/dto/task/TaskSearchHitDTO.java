@@ -0,0 +1,16 @@
+package hexlet.code.dto.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+@AllArgsConstructor
+public class TaskSearchHitDTO {
+    private Long id;
+    private String title;
+    private float score;
+    // Фрагмент описания вокруг первого найденного слова, если совпало только название — название
+    private String snippet;
+}
@@ -0,0 +1,19 @@
+package hexlet.code.dto.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Map;
+
+@Setter
+@Getter
+@AllArgsConstructor
+public class TaskStatisticsDTO {
+    private long total;
+    private Map<String, Long> byStatus;
+    // Ключ — id исполнителя, задачи без исполнителя считаются отдельно
+    private Map<Long, Long> byAssignee;
+    private long unassigned;
+    private Map<Long, Long> byLabel;
+}
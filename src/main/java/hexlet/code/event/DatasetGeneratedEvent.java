@@ -0,0 +1,5 @@
+package hexlet.code.event;
+
+// Набор данных записан через JDBC мимо TaskChangedEvent: производные структуры надо пересобрать из базы
+public record DatasetGeneratedEvent(int users, int labels, int tasks) {
+}
@@ -0,0 +1,33 @@
+package hexlet.code.event;
+
+import hexlet.code.dto.task.TaskDTO;
+
+// Публикуется из TaskServiceImpl внутри транзакции. task — состояние после изменения (для удаления — последнее
+// известное), previous — до обновления: по нему подписчик с фильтром узнаёт, что задача из выборки ушла.
+// ARCHIVED публикует TaskArchiver: задача ушла из tasks в архив, для рабочего набора это то же удаление
+public record TaskChangedEvent(Type type, Long taskId, TaskDTO task, TaskDTO previous) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED, ARCHIVED
+    }
+
+    public static TaskChangedEvent created(TaskDTO task) {
+        return new TaskChangedEvent(Type.CREATED, task.getId(), task, null);
+    }
+
+    public static TaskChangedEvent updated(TaskDTO previous, TaskDTO task) {
+        return new TaskChangedEvent(Type.UPDATED, task.getId(), task, previous);
+    }
+
+    public static TaskChangedEvent deleted(TaskDTO task) {
+        return new TaskChangedEvent(Type.DELETED, task.getId(), task, null);
+    }
+
+    public static TaskChangedEvent archived(TaskDTO task) {
+        return new TaskChangedEvent(Type.ARCHIVED, task.getId(), task, null);
+    }
+
+    public boolean removesTask() {
+        return type == Type.DELETED || type == Type.ARCHIVED;
+    }
+}
@@ -0,0 +1,5 @@
+package hexlet.code.event;
+
+// Между соседними задачами колонки почти не осталось свободных index: колонку стоит перенумеровать
+public record TaskColumnCrowdedEvent(Long statusId) {
+}
@@ -0,0 +1,7 @@
+package hexlet.code.exception;
+
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
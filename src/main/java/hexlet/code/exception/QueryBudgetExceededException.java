@@ -0,0 +1,7 @@
+package hexlet.code.exception;
+
+public class QueryBudgetExceededException extends RuntimeException {
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
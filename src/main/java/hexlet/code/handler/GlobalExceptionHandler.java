@@ -1,7 +1,12 @@
 package hexlet.code.handler;
 
+import hexlet.code.exception.BadRequestException;
+import hexlet.code.exception.ConflictException;
 import hexlet.code.exception.ResourceNotFoundException;
-import io.sentry.Sentry;
+import hexlet.code.reporting.ErrorReporter;
+import io.sentry.SentryLevel;
+import lombok.AllArgsConstructor;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -13,16 +18,26 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeSet;
 
 @ControllerAdvice
+@AllArgsConstructor
 public class GlobalExceptionHandler {
 
+    private final ErrorReporter errorReporter;
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<String> handleNotFound(ResourceNotFoundException ex) {
-        Sentry.captureMessage("Resource not found: " + ex.getMessage(), io.sentry.SentryLevel.WARNING);
+        errorReporter.report(SentryLevel.WARNING, "Resource not found: " + ex.getMessage(), ex);
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
     }
 
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<String> handleBadRequest(BadRequestException ex) {
+        errorReporter.report(SentryLevel.WARNING, "Bad request: " + ex.getMessage(), ex);
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, String>> handleValidationErrors(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
@@ -30,13 +45,14 @@ public class GlobalExceptionHandler {
                 errors.put(error.getField(), error.getDefaultMessage())
         );
 
-        Sentry.captureMessage("Validation error: " + errors, io.sentry.SentryLevel.WARNING);
+        // В сводку идут только имена полей: сообщения с введёнными значениями дробили бы группировку
+        errorReporter.report(SentryLevel.WARNING, "Validation error: " + new TreeSet<>(errors.keySet()), ex);
         return ResponseEntity.badRequest().body(errors);
     }
 
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<String> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
-        Sentry.captureException(ex);
+        errorReporter.report(SentryLevel.ERROR, "Data integrity violation: " + ex.getMessage(), ex);
 
         String rootMessage = ex.getRootCause() != null ? ex.getRootCause().getMessage() : ex.getMessage();
 
@@ -79,21 +95,34 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(userMessage);
     }
 
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<String> handleConflict(ConflictException ex) {
+        errorReporter.report(SentryLevel.WARNING, "Conflict: " + ex.getMessage(), ex);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+    }
+
+    // Конфликт с параллельным изменением: повтор запроса обычно проходит
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<String> handleConcurrencyFailure(ConcurrencyFailureException ex) {
+        errorReporter.report(SentryLevel.WARNING, "Concurrent modification: " + ex.getMessage(), ex);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("Concurrent modification, please retry");
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<String> handleAccessDenied(AccessDeniedException ex) {
-        Sentry.captureMessage("Access denied: " + ex.getMessage(), io.sentry.SentryLevel.WARNING);
+        errorReporter.report(SentryLevel.WARNING, "Access denied: " + ex.getMessage(), ex);
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied: " + ex.getMessage());
     }
 
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<String> handleBadCredentials(BadCredentialsException ex) {
-        Sentry.captureMessage("Bad credentials attempt", io.sentry.SentryLevel.WARNING);
+        errorReporter.report(SentryLevel.WARNING, "Bad credentials attempt", ex);
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid credentials");
     }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleOtherExceptions(Exception ex) {
-        Sentry.captureException(ex);
+        errorReporter.report(SentryLevel.ERROR, ex.getClass().getName() + ": " + ex.getMessage(), ex);
         String message = "Something went wrong. Please try again later.";
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(message);
     }
@@ -0,0 +1,69 @@
+package hexlet.code.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// AsyncAppender с настраиваемым уровнем, до которого события выбрасываются под нагрузкой, и счётчиками потерь.
+// Поток запроса только кладёт событие в ограниченную очередь; запись в консоль/Sentry идёт в фоновом потоке
+public class CountingAsyncAppender extends AsyncAppender {
+
+    // Счётчики живут дольше экземпляра: logback пересоздаёт аппендеры при переинициализации Spring Boot
+    private static final Map<String, DropCounters> COUNTERS = new ConcurrentHashMap<>();
+
+    private Level discardLevel = Level.INFO;
+    private DropCounters counters;
+
+    public static Map<String, DropCounters> counters() {
+        return COUNTERS;
+    }
+
+    // События этого уровня и ниже выбрасываются, когда в очереди остаётся меньше discardingThreshold мест
+    public void setDiscardLevel(String level) {
+        this.discardLevel = Level.toLevel(level, Level.INFO);
+    }
+
+    @Override
+    public void start() {
+        counters = COUNTERS.computeIfAbsent(getName(), name -> new DropCounters());
+        super.start();
+    }
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        return event.getLevel().toInt() <= discardLevel.toInt();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        // Та же проверка, что в AsyncAppenderBase, но с подсчётом. Гонка с воркером может немного
+        // сдвинуть цифры, на сами события это не влияет
+        int remaining = getRemainingCapacity();
+        if (remaining < getDiscardingThreshold() && isDiscardable(event)) {
+            counters.discarded.increment();
+            return;
+        }
+        if (remaining == 0 && isNeverBlock()) {
+            counters.queueFull.increment();
+            return;
+        }
+        super.append(event);
+    }
+
+    public static final class DropCounters {
+        private final LongAdder discarded = new LongAdder();
+        private final LongAdder queueFull = new LongAdder();
+
+        public long getDiscarded() {
+            return discarded.sum();
+        }
+
+        public long getQueueFull() {
+            return queueFull.sum();
+        }
+    }
+}
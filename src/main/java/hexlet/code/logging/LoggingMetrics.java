@@ -0,0 +1,29 @@
+package hexlet.code.logging;
+
+import hexlet.code.logging.CountingAsyncAppender.DropCounters;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+// logback.events.dropped{appender, reason}: discarded — низкоуровневые события, сброшенные под нагрузкой,
+// queue_full — любые события, не поместившиеся в заполненную очередь
+@Component
+public class LoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CountingAsyncAppender.counters().forEach((appender, counters) -> {
+            FunctionCounter.builder("logback.events.dropped", counters, DropCounters::getDiscarded)
+                    .description("Log events dropped by the async appender")
+                    .tag("appender", appender)
+                    .tag("reason", "discarded")
+                    .register(registry);
+            FunctionCounter.builder("logback.events.dropped", counters, DropCounters::getQueueFull)
+                    .description("Log events dropped by the async appender")
+                    .tag("appender", appender)
+                    .tag("reason", "queue_full")
+                    .register(registry);
+        });
+    }
+}
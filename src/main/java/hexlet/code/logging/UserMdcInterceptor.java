@@ -0,0 +1,26 @@
+package hexlet.code.logging;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+// Пользователь известен только после фильтров Spring Security, поэтому userId ставится здесь, а не в RequestIdFilter.
+// Берём id из токена (claim "id"), а не email — в логах не должно быть персональных данных
+@Component
+public class UserMdcInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (SecurityContextHolder.getContext().getAuthentication() instanceof JwtAuthenticationToken token) {
+            Object userId = token.getToken().getClaim("id");
+            if (userId != null) {
+                MDC.put(RequestIdFilter.USER_ID, userId.toString());
+            }
+        }
+        return true;
+    }
+}
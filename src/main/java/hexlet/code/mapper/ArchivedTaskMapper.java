@@ -0,0 +1,21 @@
+package hexlet.code.mapper;
+
+import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.model.ArchivedTask;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.ReportingPolicy;
+
+// Slug статуса в архиве не хранится, его проставляет TaskArchiveServiceImpl
+@Mapper(
+        componentModel = MappingConstants.ComponentModel.SPRING,
+        unmappedTargetPolicy = ReportingPolicy.IGNORE
+)
+public abstract class ArchivedTaskMapper {
+    @Mapping(source = "name", target = "title")
+    @Mapping(source = "description", target = "content")
+    @Mapping(source = "labelIds", target = "taskLabelIds")
+    @Mapping(target = "status", ignore = true)
+    public abstract TaskDTO map(ArchivedTask model);
+}
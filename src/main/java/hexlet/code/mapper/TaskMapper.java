@@ -46,6 +46,8 @@ public abstract class TaskMapper {
     @Mapping(source = "content", target = "description")
     @Mapping(target = "taskStatus", ignore = true)
     @Mapping(target = "assignee", ignore = true)
+    @Mapping(target = "taskStatusId", ignore = true)
+    @Mapping(target = "assigneeId", ignore = true)
     @Mapping(target = "labels", ignore = true)
     public abstract Task map(TaskCreateDTO dto);
 
@@ -60,6 +62,8 @@ public abstract class TaskMapper {
     @Mapping(source = "content", target = "description")
     @Mapping(target = "taskStatus", ignore = true)
     @Mapping(target = "assignee", ignore = true)
+    @Mapping(target = "taskStatusId", ignore = true)
+    @Mapping(target = "assigneeId", ignore = true)
     @Mapping(target = "labels", ignore = true)
     public abstract void update(TaskUpdateDTO dto, @MappingTarget Task model);
 
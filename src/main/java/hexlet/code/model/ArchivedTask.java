@@ -0,0 +1,62 @@
+package hexlet.code.model;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Table;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+// Задача, перенесённая TaskArchiver из tasks. Id тот же, что был в tasks. Статус, исполнитель и метки —
+// простые колонки без внешних ключей: архив не должен мешать удалять пользователей и метки
+@Entity
+@Getter
+@Setter
+@ToString(includeFieldNames = true, onlyExplicitlyIncluded = true)
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Table(name = "tasks_archive", indexes = {
+    @Index(name = "idx_tasks_archive_task_status", columnList = "task_status_id, id"),
+    @Index(name = "idx_tasks_archive_assignee", columnList = "assignee_id, id")
+})
+public class ArchivedTask implements BaseEntity {
+    @Id
+    @ToString.Include
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    private Integer index;
+
+    @ToString.Include
+    private String name;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    @Column(name = "task_status_id")
+    private Long taskStatusId;
+
+    @Column(name = "assignee_id")
+    private Long assigneeId;
+
+    @ElementCollection
+    @CollectionTable(name = "task_labels_archive", joinColumns = @JoinColumn(name = "task_id"))
+    @Column(name = "label_id")
+    private Set<Long> labelIds = new HashSet<>();
+}
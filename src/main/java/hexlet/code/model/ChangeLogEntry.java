@@ -0,0 +1,46 @@
+package hexlet.code.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+import static jakarta.persistence.GenerationType.IDENTITY;
+
+// Запись журнала изменений для синхронизации клиентов: id — водяной знак, deleted — надгробие.
+// Строки пишет ChangeLogWriter через JDBC в транзакции изменения, удаляет по сроку ChangeLogPurger
+@Entity
+@Getter
+@Setter
+@ToString(includeFieldNames = true, onlyExplicitlyIncluded = true)
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Table(name = "change_log", indexes = @Index(name = "idx_change_log_changed_at", columnList = "changed_at"))
+public class ChangeLogEntry implements BaseEntity {
+    @Id
+    @GeneratedValue(strategy = IDENTITY)
+    @ToString.Include
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(nullable = false)
+    @ToString.Include
+    private String entityType;
+
+    @Column(nullable = false)
+    @ToString.Include
+    private Long entityId;
+
+    @ToString.Include
+    private boolean deleted;
+
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
+}
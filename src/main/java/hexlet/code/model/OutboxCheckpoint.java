@@ -0,0 +1,30 @@
+package hexlet.code.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+// Последний опубликованный id. Строка блокируется на время прохода релея, так что узлы публикуют по очереди
+@Entity
+@Getter
+@Setter
+@ToString(includeFieldNames = true, onlyExplicitlyIncluded = true)
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Table(name = "outbox_checkpoints")
+public class OutboxCheckpoint implements BaseEntity {
+    @Id
+    @ToString.Include
+    @EqualsAndHashCode.Include
+    private String relay;
+
+    @ToString.Include
+    private long lastEventId;
+
+    private LocalDateTime updatedAt;
+}
@@ -6,6 +6,7 @@ import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
@@ -18,6 +19,7 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
@@ -32,7 +34,18 @@ import static jakarta.persistence.GenerationType.IDENTITY;
 @EntityListeners(AuditingEntityListener.class)
 @ToString(includeFieldNames = true, onlyExplicitlyIncluded = true)
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
-@Table(name = "tasks")
+// Индексы под сортировку списка задач: id в конце каждого — тот же, что добавляется к сортировке
+// для устойчивого порядка, поэтому отсортированная страница читается сканированием индекса
+// (task_status_id, index, id) — порядок доски по умолчанию status,index, ROW_NUMBER по колонке в сводке доски
+// и поиск соседей при перемещении внутри колонки
+@Table(name = "tasks", indexes = {
+    @Index(name = "idx_tasks_index", columnList = "index, id"),
+    @Index(name = "idx_tasks_created_at", columnList = "created_at, id"),
+    @Index(name = "idx_tasks_name", columnList = "name, id"),
+    @Index(name = "idx_tasks_task_status", columnList = "task_status_id, id"),
+    @Index(name = "idx_tasks_task_status_index", columnList = "task_status_id, index, id"),
+    @Index(name = "idx_tasks_assignee", columnList = "assignee_id, id")
+})
 public class Task implements BaseEntity {
     @Id
     @GeneratedValue(strategy = IDENTITY)
@@ -53,6 +66,9 @@ public class Task implements BaseEntity {
     @CreatedDate
     private LocalDateTime createdAt;
 
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+
     @ManyToOne(optional = false)
     @JoinColumn(name = "task_status_id")
     private TaskStatus taskStatus;
@@ -61,6 +77,14 @@ public class Task implements BaseEntity {
     @JoinColumn(name = "assignee_id")
     private User assignee;
 
+    // Внешние ключи как простые колонки только для чтения: сортировка по ним не соединяет таблицы
+    // и идёт по индексам tasks. Значения заполняет Hibernate при загрузке, менять связь — через taskStatus и assignee
+    @Column(name = "task_status_id", insertable = false, updatable = false)
+    private Long taskStatusId;
+
+    @Column(name = "assignee_id", insertable = false, updatable = false)
+    private Long assigneeId;
+
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "task_labels",
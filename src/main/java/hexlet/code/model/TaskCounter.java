@@ -0,0 +1,46 @@
+package hexlet.code.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.io.Serializable;
+
+// Число задач в разрезе (status/assignee/label/total). Пишется TaskCounters через JDBC, сущность задаёт схему
+@Entity
+@Getter
+@Setter
+@ToString(includeFieldNames = true, onlyExplicitlyIncluded = true)
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Table(name = "task_counters")
+public class TaskCounter implements BaseEntity {
+    @EmbeddedId
+    @ToString.Include
+    @EqualsAndHashCode.Include
+    private Key id;
+
+    @ToString.Include
+    private long taskCount;
+
+    @Embeddable
+    @Getter
+    @Setter
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        @Column(nullable = false)
+        private String dimension;
+
+        @Column(name = "counter_key", nullable = false)
+        private String key;
+    }
+}
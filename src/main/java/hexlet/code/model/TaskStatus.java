@@ -1,5 +1,7 @@
 package hexlet.code.model;
 
+import hexlet.code.autocomplete.AutocompleteEntityListener;
+import hexlet.code.sync.ChangeLogWriter;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
@@ -14,6 +16,7 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
@@ -25,7 +28,7 @@ import static jakarta.persistence.GenerationType.IDENTITY;
 @Entity
 @Getter
 @Setter
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, AutocompleteEntityListener.class, ChangeLogWriter.class})
 @ToString(includeFieldNames = true, onlyExplicitlyIncluded = true)
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @Table(name = "task_statuses")
@@ -51,6 +54,9 @@ public class TaskStatus implements BaseEntity {
     @CreatedDate
     private LocalDateTime createdAt;
 
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+
     @OneToMany(mappedBy = "taskStatus")
     private List<Task> tasks = new ArrayList<>();
 
@@ -1,5 +1,7 @@
 package hexlet.code.model;
 
+import hexlet.code.autocomplete.AutocompleteEntityListener;
+import hexlet.code.sync.ChangeLogWriter;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
@@ -31,7 +33,7 @@ import static jakarta.persistence.GenerationType.IDENTITY;
 @Entity
 @Getter
 @Setter
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, AutocompleteEntityListener.class, ChangeLogWriter.class})
 @ToString(includeFieldNames = true, onlyExplicitlyIncluded = true)
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @Table(name = "users")
@@ -0,0 +1,25 @@
+package hexlet.code.monitoring;
+
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+
+public class EntityLoadCountingListener implements PostLoadEventListener, InitializeCollectionEventListener {
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.recordEntityLoad();
+        }
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.recordCollectionFetch();
+        }
+    }
+}
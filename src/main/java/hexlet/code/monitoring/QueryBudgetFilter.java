@@ -0,0 +1,95 @@
+package hexlet.code.monitoring;
+
+import hexlet.code.configuration.QueryBudgetConfig;
+import hexlet.code.exception.QueryBudgetExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Component
+@AllArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private final QueryBudgetConfig config;
+    private final MeterRegistry meterRegistry;
+
+    // Контекст запроса ставится и при выключенном бюджете: по нему журнал медленных запросов
+    // подписывает запросы обработчиком, без него всё ушло бы в "background"
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestQueryStats stats = RequestQueryStats.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestQueryStats.clear();
+        }
+        if (config.isEnabled()) {
+            check(stats);
+        }
+    }
+
+    private void check(RequestQueryStats stats) {
+        String handler = stats.getHandler();
+        record(handler, "statements", stats.getStatements());
+        record(handler, "entity.loads", stats.getEntityLoads());
+        record(handler, "collection.fetches", stats.getCollectionFetches());
+
+        List<String> violations = new ArrayList<>();
+        if (stats.getStatements() > config.getMaxStatements()) {
+            violations.add(String.format("%d statements (budget %d)",
+                    stats.getStatements(), config.getMaxStatements()));
+            countViolation(handler, "statements");
+        }
+        Map.Entry<String, Integer> repeated = stats.mostRepeatedStatement();
+        if (repeated != null && repeated.getValue() > config.getMaxRepeatedStatements()) {
+            violations.add(String.format("statement repeated %d times (limit %d), possible N+1: %s",
+                    repeated.getValue(), config.getMaxRepeatedStatements(), repeated.getKey()));
+            countViolation(handler, "repeated");
+        }
+        if (violations.isEmpty()) {
+            return;
+        }
+
+        String message = String.format("Query budget exceeded in %s: %s; entity loads %d, collection fetches %d",
+                handler, String.join("; ", violations), stats.getEntityLoads(), stats.getCollectionFetches());
+        if (config.isFailOnViolation()) {
+            throw new QueryBudgetExceededException(message);
+        }
+        log.warn(message);
+    }
+
+    private void record(String handler, String kind, int value) {
+        DistributionSummary.builder("app.sql.per.request")
+                .description("JDBC statements, entity loads and collection fetches per HTTP request")
+                .tag("handler", handler)
+                .tag("kind", kind)
+                .register(meterRegistry)
+                .record(value);
+    }
+
+    private void countViolation(String handler, String reason) {
+        Counter.builder("app.sql.budget.violations")
+                .tag("handler", handler)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,21 @@
+package hexlet.code.monitoring;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+@Component
+public class QueryBudgetInterceptor implements HandlerInterceptor {
+
+    // Подписывает статистику запроса именем обработчика, например TaskController.index
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null && handler instanceof HandlerMethod handlerMethod) {
+            stats.setHandler(handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName());
+        }
+        return true;
+    }
+}
@@ -0,0 +1,27 @@
+package hexlet.code.monitoring;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+public class QueryCountingListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // считаем после выполнения
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats == null) {
+            return;
+        }
+        // batch PreparedStatement приходит одним QueryInfo с несколькими наборами параметров — это один поход в базу
+        for (QueryInfo queryInfo : queryInfoList) {
+            stats.recordStatement(queryInfo.getQuery());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package hexlet.code.monitoring;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+public class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    @Setter
+    private String handler = "unknown";
+    private int statements;
+    private int entityLoads;
+    private int collectionFetches;
+    private final Map<String, Integer> statementsByShape = new HashMap<>();
+
+    public static RequestQueryStats start() {
+        RequestQueryStats stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    // null вне HTTP-запроса (старт приложения, фоновые задачи) — там бюджет не считаем
+    public static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public void recordStatement(String sql) {
+        statements++;
+        statementsByShape.merge(SqlFingerprint.of(sql), 1, Integer::sum);
+    }
+
+    public void recordEntityLoad() {
+        entityLoads++;
+    }
+
+    public void recordCollectionFetch() {
+        collectionFetches++;
+    }
+
+    public Map.Entry<String, Integer> mostRepeatedStatement() {
+        return statementsByShape.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .orElse(null);
+    }
+}
@@ -0,0 +1,59 @@
+package hexlet.code.monitoring;
+
+import net.ttddyy.dsproxy.ConnectionInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.proxy.ProxyConfig;
+import net.ttddyy.dsproxy.proxy.ResultSetProxyLogicFactory;
+import net.ttddyy.dsproxy.proxy.SimpleResultSetProxyLogic;
+
+import java.lang.reflect.Method;
+import java.sql.ResultSet;
+import java.util.function.IntConsumer;
+
+// Считает строки, прочитанные из выборки. Число строк известно только к закрытию ResultSet,
+// поэтому запись в лог откладывается до close()
+public class RowCountingResultSetLogic extends SimpleResultSetProxyLogic {
+
+    // datasource-proxy создаёт прокси ResultSet до вызова afterQuery в том же потоке — так слушатель его и находит
+    private static final ThreadLocal<RowCountingResultSetLogic> LAST_CREATED = new ThreadLocal<>();
+
+    public static final ResultSetProxyLogicFactory FACTORY = (resultSet, connectionInfo, proxyConfig) -> {
+        var logic = new RowCountingResultSetLogic(resultSet, connectionInfo, proxyConfig);
+        LAST_CREATED.set(logic);
+        return logic;
+    };
+
+    private int rows;
+    private IntConsumer onClose;
+
+    public RowCountingResultSetLogic(ResultSet resultSet, ConnectionInfo connectionInfo, ProxyConfig proxyConfig) {
+        super(resultSet, connectionInfo, proxyConfig);
+    }
+
+    public static RowCountingResultSetLogic takeLastCreated() {
+        RowCountingResultSetLogic logic = LAST_CREATED.get();
+        LAST_CREATED.remove();
+        return logic;
+    }
+
+    public void onClose(IntConsumer callback) {
+        this.onClose = callback;
+    }
+
+    @Override
+    protected Object performProxyLogic(Object proxy, Method method, Object[] args, MethodExecutionContext context)
+            throws Throwable {
+        Object result = super.performProxyLogic(proxy, method, args, context);
+        String name = method.getName();
+        if ("next".equals(name)) {
+            if (Boolean.TRUE.equals(result)) {
+                rows++;
+            }
+        } else if ("close".equals(name) && onClose != null) {
+            IntConsumer callback = onClose;
+            onClose = null;
+            callback.accept(rows);
+        }
+        return result;
+    }
+}
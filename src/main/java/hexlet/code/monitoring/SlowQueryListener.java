@@ -0,0 +1,104 @@
+package hexlet.code.monitoring;
+
+import hexlet.code.configuration.SlowQueryLogConfig;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+// Пишет в лог запросы медленнее порога и случайную выборку остальных; каждый запрос попадает в гистограмму.
+// Значения параметров не логируются (там email и хэши паролей) — только их типы
+@Slf4j
+@AllArgsConstructor
+public class SlowQueryListener implements QueryExecutionListener {
+
+    private final SlowQueryLogConfig config;
+    private final SqlStatementStats stats;
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // ResultSet от предыдущего запроса, который не дошёл до afterQuery, к этому отношения не имеет
+        RowCountingResultSetLogic.takeLastCreated();
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = execInfo.getElapsedTime();
+        for (QueryInfo queryInfo : queryInfoList) {
+            stats.record(SqlFingerprint.of(queryInfo.getQuery()), elapsed);
+        }
+
+        RowCountingResultSetLogic resultSet = RowCountingResultSetLogic.takeLastCreated();
+        boolean slow = elapsed >= config.getThresholdMs();
+        if (!slow && !sampled()) {
+            return;
+        }
+
+        String kind = slow ? "slow query" : "sampled query";
+        RequestQueryStats requestStats = RequestQueryStats.current();
+        String handler = requestStats != null ? requestStats.getHandler() : "background";
+        String params = queryInfoList.stream().map(SlowQueryListener::parameterShape).collect(Collectors.joining("; "));
+        String sql = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+
+        if (execInfo.getResult() instanceof ResultSet && resultSet != null) {
+            resultSet.onClose(rows -> write(kind, elapsed, String.valueOf(rows), handler, params, sql));
+        } else {
+            write(kind, elapsed, affectedRows(execInfo.getResult()), handler, params, sql);
+        }
+    }
+
+    private boolean sampled() {
+        double rate = config.getSampleRate();
+        return rate > 0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    // INFO, а не WARN: WARN уходит в Sentry событием, а медленный запрос — повод для разбора, не инцидент
+    private static void write(String kind, long elapsed, String rows, String handler, String params, String sql) {
+        log.info("{} {} ms, rows {}, handler {}, params {}: {}", kind, elapsed, rows, handler, params, sql);
+    }
+
+    // Форма параметров: типы по порядку, для batch — число наборов
+    static String parameterShape(QueryInfo queryInfo) {
+        List<List<ParameterSetOperation>> parameters = queryInfo.getParametersList();
+        if (parameters.isEmpty()) {
+            return "[]";
+        }
+        String shape = parameters.get(0).stream()
+                .sorted(Comparator.comparingInt(operation ->
+                        operation.getArgs()[0] instanceof Integer index ? index : Integer.MAX_VALUE))
+                .map(SlowQueryListener::parameterType)
+                .collect(Collectors.joining(", ", "[", "]"));
+        return parameters.size() > 1 ? shape + " x" + parameters.size() : shape;
+    }
+
+    private static String parameterType(ParameterSetOperation operation) {
+        if (ParameterSetOperation.isSetNullParameterOperation(operation)) {
+            return "null";
+        }
+        Object[] args = operation.getArgs();
+        return args.length > 1 && args[1] != null ? args[1].getClass().getSimpleName() : "null";
+    }
+
+    private static String affectedRows(Object result) {
+        if (result instanceof Integer || result instanceof Long) {
+            return String.valueOf(result);
+        }
+        if (result instanceof int[] counts) {
+            return String.valueOf(Arrays.stream(counts).sum());
+        }
+        if (result instanceof long[] counts) {
+            return String.valueOf(Arrays.stream(counts).sum());
+        }
+        // execute() возвращает boolean, число строк по нему неизвестно
+        return "?";
+    }
+}
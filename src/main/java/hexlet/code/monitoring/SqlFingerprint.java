@@ -0,0 +1,44 @@
+package hexlet.code.monitoring;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+public final class SqlFingerprint {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+
+    // Hibernate шлёт ограниченный набор текстов запросов с ?, поэтому регулярки гоняем один раз на текст
+    private static final int CACHE_LIMIT = 2000;
+    private static final Map<String, String> CACHE = new ConcurrentHashMap<>();
+
+    private SqlFingerprint() {
+    }
+
+    // Форма запроса без значений: литералы и списки IN (?, ?, ...) сворачиваются,
+    // чтобы одинаковые запросы с разными параметрами считались одним
+    public static String of(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        String cached = CACHE.get(sql);
+        if (cached != null) {
+            return cached;
+        }
+        String fingerprint = normalize(sql);
+        if (CACHE.size() < CACHE_LIMIT) {
+            CACHE.put(sql, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    private static String normalize(String sql) {
+        String normalized = WHITESPACE.matcher(sql.trim()).replaceAll(" ").toLowerCase();
+        normalized = STRING_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        return IN_LIST.matcher(normalized).replaceAll("(?)");
+    }
+}
@@ -0,0 +1,112 @@
+package hexlet.code.monitoring;
+
+import hexlet.code.configuration.SlowQueryLogConfig;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Гистограмма времени выполнения по форме запроса (SqlFingerprint), отдаётся через /actuator/sqlstats
+@Component
+@AllArgsConstructor
+public class SqlStatementStats {
+
+    static final String OTHER = "other";
+    private static final long[] BUCKETS_MS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000};
+
+    private final SlowQueryLogConfig config;
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    public void record(String fingerprint, long elapsedMs) {
+        Histogram histogram = histograms.get(fingerprint);
+        if (histogram == null) {
+            // Сверх лимита новые формы складываются в общий счётчик
+            String key = histograms.size() < config.getMaxFingerprints() ? fingerprint : OTHER;
+            histogram = histograms.computeIfAbsent(key, k -> new Histogram());
+        }
+        histogram.record(elapsedMs);
+    }
+
+    public List<Map<String, Object>> snapshot(int limit) {
+        return histograms.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Histogram> e) -> e.getValue().total.sum())
+                        .reversed())
+                .limit(limit)
+                .map(e -> e.getValue().toMap(e.getKey()))
+                .toList();
+    }
+
+    public void reset() {
+        histograms.clear();
+    }
+
+    private static final class Histogram {
+        private final LongAdder[] counts = new LongAdder[BUCKETS_MS.length + 1];
+        private final LongAdder total = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        Histogram() {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = new LongAdder();
+            }
+        }
+
+        void record(long elapsedMs) {
+            int bucket = 0;
+            while (bucket < BUCKETS_MS.length && elapsedMs > BUCKETS_MS[bucket]) {
+                bucket++;
+            }
+            counts[bucket].increment();
+            total.add(elapsedMs);
+            max.accumulate(elapsedMs);
+        }
+
+        Map<String, Object> toMap(String fingerprint) {
+            long[] snapshot = new long[counts.length];
+            long count = 0;
+            for (int i = 0; i < counts.length; i++) {
+                snapshot[i] = counts[i].sum();
+                count += snapshot[i];
+            }
+
+            Map<String, Long> buckets = new LinkedHashMap<>();
+            for (int i = 0; i < snapshot.length; i++) {
+                buckets.put(i < BUCKETS_MS.length ? "le" + BUCKETS_MS[i] : "inf", snapshot[i]);
+            }
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("statement", fingerprint);
+            result.put("count", count);
+            result.put("totalMs", total.sum());
+            result.put("meanMs", count == 0 ? 0.0 : (double) total.sum() / count);
+            result.put("p50Ms", percentile(snapshot, count, 0.50));
+            result.put("p95Ms", percentile(snapshot, count, 0.95));
+            result.put("p99Ms", percentile(snapshot, count, 0.99));
+            result.put("maxMs", max.get());
+            result.put("buckets", buckets);
+            return result;
+        }
+
+        // Верхняя граница корзины, в которую попадает перцентиль; для последней — фактический максимум
+        private long percentile(long[] snapshot, long count, double quantile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(quantile * count);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS_MS.length; i++) {
+                seen += snapshot[i];
+                if (seen >= rank) {
+                    return Math.min(BUCKETS_MS[i], max.get());
+                }
+            }
+            return max.get();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package hexlet.code.monitoring;
+
+import lombok.AllArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+// GET /actuator/sqlstats/20 — самые затратные по суммарному времени запросы, без числа — первые 20.
+// DELETE сбрасывает статистику. Число в пути, а не необязательный ?limit=: actuator в Boot 3.2 признаёт
+// необязательным только параметр со spring @Nullable, а тот тянет за собой предупреждения про JSR-305
+@Component
+@Endpoint(id = "sqlstats")
+@AllArgsConstructor
+public class SqlStatsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final SqlStatementStats stats;
+
+    @ReadOperation
+    public List<Map<String, Object>> statements() {
+        return stats.snapshot(DEFAULT_LIMIT);
+    }
+
+    @ReadOperation
+    public List<Map<String, Object>> statements(@Selector int limit) {
+        // Отрицательный лимит дошёл бы до Stream.limit и упал бы с 500
+        return stats.snapshot(Math.max(limit, 0));
+    }
+
+    @DeleteOperation
+    public void reset() {
+        stats.reset();
+    }
+}
@@ -0,0 +1,110 @@
+package hexlet.code.ordering;
+
+import hexlet.code.event.TaskColumnCrowdedEvent;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.sync.ChangeLogWriter;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Перенумерация {@code Task.index} внутри колонки статуса.
+ *
+ * <p>Index разрежены: соседние задачи отстоят на {@link #GAP}, и перемещение ставит задачу в середину
+ * промежутка одним UPDATE. Когда промежуток сужается, колонка перенумеровывается в фоне, после коммита
+ * перемещения; если места нет совсем, перемещение перенумеровывает колонку само, в той же транзакции.
+ * Порядок задач при перенумерации не меняется, поэтому событий об изменении задач она не публикует,
+ * но index клиентам синхронизации нужен, и задачи колонки попадают в журнал изменений. {@code updated_at}
+ * она не трогает: синхронизация идёт по журналу, а по {@code updated_at} архив отсчитывает возраст
+ * завершённых задач, и перенумерация колонки не должна его сбрасывать.
+ *
+ * <p>Перемещения и перенумерация сериализуются блокировкой строки статуса (в порядке id статусов),
+ * строки задач блокируются только после неё — взаимных блокировок между перемещениями нет.
+ */
+@Slf4j
+@Component
+public class TaskIndexRebalancer {
+
+    public static final int GAP = 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskStatusRepository taskStatusRepository;
+    private final ChangeLogWriter changeLogWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+    private final Set<Long> scheduled = ConcurrentHashMap.newKeySet();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public TaskIndexRebalancer(JdbcTemplate jdbcTemplate, TaskStatusRepository taskStatusRepository,
+                               ChangeLogWriter changeLogWriter, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.taskStatusRepository = taskStatusRepository;
+        this.changeLogWriter = changeLogWriter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-index-rebalancer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    // Вызывающий уже держит блокировку статуса. Сессия очищается: загруженные задачи нужно перечитать
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void rebalance(Long statusId) {
+        entityManager.flush();
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM tasks WHERE task_status_id = ? ORDER BY index NULLS LAST, id", Long.class, statusId);
+        // Огромной колонке достаётся промежуток меньше, но index остаются в пределах int
+        long gap = Math.min(GAP, Integer.MAX_VALUE / (ids.size() + 1L));
+        List<Object[]> rows = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            rows.add(new Object[] {(i + 1) * gap, ids.get(i)});
+        }
+        jdbcTemplate.batchUpdate("UPDATE tasks SET index = ? WHERE id = ?", rows);
+        changeLogWriter.recordTasksOfStatus(statusId);
+        entityManager.clear();
+        log.info("Rebalanced task indexes of status {}: {} tasks, gap {}", statusId, ids.size(), gap);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onColumnCrowded(TaskColumnCrowdedEvent event) {
+        if (!scheduled.add(event.statusId())) {
+            return;
+        }
+        executor.execute(() -> {
+            scheduled.remove(event.statusId());
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    taskStatusRepository.lockAllByIdIn(List.of(event.statusId()));
+                    rebalance(event.statusId());
+                });
+            } catch (RuntimeException e) {
+                // Не страшно: перемещение без места в колонке перенумерует её само
+                log.info("Background rebalance of status {} failed: {}", event.statusId(), e.getMessage());
+            }
+        });
+    }
+}
@@ -0,0 +1,21 @@
+package hexlet.code.outbox;
+
+import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Приёмник по умолчанию: сообщения уходят слушателям OutboxMessage внутри приложения.
+// Внешний брокер подключается своим @Primary бином OutboxSink
+@Component
+@AllArgsConstructor
+public class InProcessOutboxSink implements OutboxSink {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        messages.forEach(eventPublisher::publishEvent);
+    }
+}
@@ -0,0 +1,8 @@
+package hexlet.code.outbox;
+
+import java.time.LocalDateTime;
+
+// id монотонно растёт и годится потребителю для дедупликации: доставка не реже одного раза
+public record OutboxMessage(long id, String aggregateType, Long aggregateId, String eventType, String payload,
+                            LocalDateTime createdAt) {
+}
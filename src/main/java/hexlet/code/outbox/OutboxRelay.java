@@ -0,0 +1,158 @@
+package hexlet.code.outbox;
+
+import hexlet.code.configuration.OutboxConfig;
+import hexlet.code.model.OutboxCheckpoint;
+import hexlet.code.model.OutboxEvent;
+import hexlet.code.repository.OutboxCheckpointRepository;
+import hexlet.code.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Релей outbox: публикует события задач в {@link OutboxSink} пачками в порядке id.
+ *
+ * <p>Проход идёт в одной транзакции: строка чекпоинта блокируется, так что несколько узлов публикуют
+ * по очереди, затем пачка отдаётся приёмнику, опубликованные строки удаляются, а чекпоинт сдвигается.
+ * Если приёмник бросил исключение, транзакция откатывается и та же пачка уйдёт на следующем проходе —
+ * доставка не реже одного раза, дубликаты потребитель отсеивает по id сообщения.
+ *
+ * <p>Id выдаются при вставке, а видимыми строки становятся при коммите, поэтому транзакция с меньшим id
+ * может закоммититься позже. Встретив пропуск после чекпоинта, релей ждёт его до {@code gapTimeout} и лишь
+ * затем считает id потерянным откатом. Опоздавшая дольше строка всё равно будет опубликована: в таблице
+ * лежат только неопубликованные события, и строки не старше чекпоинта уходят без ожидания.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    static final String RELAY = "tasks";
+
+    private final OutboxConfig config;
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxCheckpointRepository checkpointRepository;
+    private final OutboxSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter published;
+    private final Counter failures;
+    private ScheduledExecutorService executor;
+
+    public OutboxRelay(OutboxConfig config, OutboxEventRepository outboxEventRepository,
+                       OutboxCheckpointRepository checkpointRepository, OutboxSink sink,
+                       PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.outboxEventRepository = outboxEventRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.sink = sink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.published = Counter.builder("app.outbox.published")
+                .description("Outbox events handed to the sink")
+                .register(meterRegistry);
+        this.failures = Counter.builder("app.outbox.failures")
+                .description("Relay passes rolled back because the sink or the database failed")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!config.isRelayEnabled() || executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = config.getPollInterval().toMillis();
+        executor.scheduleWithFixedDelay(this::poll, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    // Полная пачка — признак хвоста, дочитываем его сразу, не дожидаясь следующего интервала
+    private void poll() {
+        try {
+            while (relayBatch() == config.getBatchSize()) {
+                log.debug("Outbox backlog, relaying next batch");
+            }
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.info("Outbox relay pass failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    // Возвращает число опубликованных событий
+    public int relayBatch() {
+        Integer count = transactionTemplate.execute(status -> {
+            OutboxCheckpoint checkpoint = lockCheckpoint();
+            List<OutboxEvent> batch = untilGap(checkpoint.getLastEventId(),
+                    outboxEventRepository.findAllByOrderByIdAsc(Limit.of(config.getBatchSize())));
+            if (batch.isEmpty()) {
+                return 0;
+            }
+
+            try {
+                sink.publish(batch.stream().map(OutboxRelay::toMessage).toList());
+            } catch (Exception e) {
+                throw new IllegalStateException("Outbox sink failed", e);
+            }
+
+            outboxEventRepository.deleteAllInBatch(batch);
+            long last = batch.get(batch.size() - 1).getId();
+            checkpoint.setLastEventId(Math.max(checkpoint.getLastEventId(), last));
+            checkpoint.setUpdatedAt(LocalDateTime.now());
+            return batch.size();
+        });
+        published.increment(count);
+        return count;
+    }
+
+    private OutboxCheckpoint lockCheckpoint() {
+        return checkpointRepository.lockByRelay(RELAY).orElseGet(() -> {
+            // Первый запуск. Если второй узел успеет вставить ту же строку, проход упадёт и повторится
+            var checkpoint = new OutboxCheckpoint();
+            checkpoint.setRelay(RELAY);
+            return checkpointRepository.saveAndFlush(checkpoint);
+        });
+    }
+
+    // Обрезает пачку на первом свежем пропуске id после чекпоинта
+    private List<OutboxEvent> untilGap(long checkpoint, List<OutboxEvent> batch) {
+        LocalDateTime waitUntil = LocalDateTime.now().minus(config.getGapTimeout());
+        long expected = checkpoint + 1;
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            if (event.getId() <= checkpoint) {
+                continue;
+            }
+            if (event.getId() != expected && event.getCreatedAt().isAfter(waitUntil)) {
+                return batch.subList(0, i);
+            }
+            expected = event.getId() + 1;
+        }
+        return batch;
+    }
+
+    private static OutboxMessage toMessage(OutboxEvent event) {
+        return new OutboxMessage(event.getId(), event.getAggregateType(), event.getAggregateId(),
+                event.getEventType(), event.getPayload(), event.getCreatedAt());
+    }
+}
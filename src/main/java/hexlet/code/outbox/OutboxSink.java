@@ -0,0 +1,8 @@
+package hexlet.code.outbox;
+
+import java.util.List;
+
+// Куда релей публикует события. Исключение оставляет пачку неопубликованной, и она уйдёт повторно
+public interface OutboxSink {
+    void publish(List<OutboxMessage> messages) throws Exception;
+}
@@ -0,0 +1,37 @@
+package hexlet.code.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.model.OutboxEvent;
+import hexlet.code.repository.OutboxEventRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+// Пишет событие в outbox в той же транзакции, что и изменение задачи. BEFORE_COMMIT — как можно ближе
+// к коммиту: чем короче окно между выдачей id и коммитом, тем реже релей видит строки не по порядку
+@Component
+@AllArgsConstructor
+public class OutboxWriter {
+
+    static final String TASK = "task";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onTaskChanged(TaskChangedEvent event) throws JsonProcessingException {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setAggregateType(TASK);
+        outboxEvent.setAggregateId(event.taskId());
+        outboxEvent.setEventType(TASK + "." + event.type().name().toLowerCase(Locale.ROOT));
+        outboxEvent.setPayload(objectMapper.writeValueAsString(event.task()));
+        outboxEvent.setCreatedAt(LocalDateTime.now());
+        outboxEventRepository.save(outboxEvent);
+    }
+}
@@ -0,0 +1,7 @@
+package hexlet.code.pagination;
+
+// Параметры списка в одном из двух стилей: react-admin (_start, _end, _sort, _order) или page/perPage.
+// _start/_end — полуинтервал смещений, page считается с 1. В _sort и _order можно перечислить несколько
+// значений через запятую
+public record ListParams(Integer start, Integer end, Integer page, Integer perPage, String sort, String order) {
+}
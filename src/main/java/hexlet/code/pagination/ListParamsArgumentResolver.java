@@ -0,0 +1,43 @@
+package hexlet.code.pagination;
+
+import hexlet.code.exception.BadRequestException;
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+// @ModelAttribute здесь не подходит: WebDataBinder считает параметры с префиксом "_" маркерами полей
+@Component
+public class ListParamsArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.getParameterType() == ListParams.class;
+    }
+
+    @Override
+    public ListParams resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                      NativeWebRequest request, WebDataBinderFactory binderFactory) {
+        return new ListParams(
+                integer(request, "_start"),
+                integer(request, "_end"),
+                integer(request, "page"),
+                integer(request, "perPage"),
+                request.getParameter("_sort"),
+                request.getParameter("_order"));
+    }
+
+    private static Integer integer(NativeWebRequest request, String name) {
+        String value = request.getParameter(name);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.strip());
+        } catch (NumberFormatException e) {
+            throw new BadRequestException(name + " must be an integer: " + value);
+        }
+    }
+}
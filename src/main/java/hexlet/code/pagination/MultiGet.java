@@ -0,0 +1,39 @@
+package hexlet.code.pagination;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Ответ на ?id=1&id=2...: строки в порядке запрошенных id, ненайденные id — в заголовке X-Missing-Ids
+public record MultiGet<T>(List<T> found, List<Long> missing) {
+
+    public static <T> MultiGet<T> of(List<Long> ids, Collection<T> rows, Function<T, Long> idOf) {
+        Map<Long, T> byId = new HashMap<>();
+        rows.forEach(row -> byId.put(idOf.apply(row), row));
+        List<T> found = new ArrayList<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            T row = byId.get(id);
+            if (row == null) {
+                missing.add(id);
+            } else {
+                found.add(row);
+            }
+        }
+        return new MultiGet<>(found, missing);
+    }
+
+    public ResponseEntity.BodyBuilder ok() {
+        var response = ResponseEntity.ok().header("X-Total-Count", String.valueOf(found.size()));
+        if (!missing.isEmpty()) {
+            response.header("X-Missing-Ids", missing.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        }
+        return response;
+    }
+}
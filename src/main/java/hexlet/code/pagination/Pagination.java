@@ -0,0 +1,111 @@
+package hexlet.code.pagination;
+
+import hexlet.code.configuration.PaginationConfig;
+import hexlet.code.exception.BadRequestException;
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Перевод {@link ListParams} в {@link Pageable} и заголовки ответа со страницей.
+ *
+ * <p>Сортировать можно только по полям из переданного списка: ключ — имя поля в API, значение — путь
+ * свойства сущности. Последним ключом сортировки всегда идёт {@code id} в направлении первого ключа,
+ * поэтому порядок строк с одинаковыми значениями не меняется от запроса к запросу, страницы не пересекаются,
+ * а сортировку по одному полю покрывает индекс {@code (поле, id)}.
+ * Общее число строк считает отдельный {@code COUNT}, который Spring Data пропускает на последней странице.
+ */
+@Component
+@AllArgsConstructor
+public class Pagination {
+
+    private static final String ID = "id";
+
+    private final PaginationConfig config;
+
+    public Pageable pageable(ListParams params, Map<String, String> sortable) {
+        return pageable(params, sortable, config.getDefaultPerPage());
+    }
+
+    public Pageable pageable(ListParams params, Map<String, String> sortable, int defaultPerPage) {
+        Sort sort = sort(params, sortable);
+        if (params.start() != null || params.end() != null) {
+            int start = Math.max(params.start() == null ? 0 : params.start(), 0);
+            int size = params.end() == null ? defaultPerPage : params.end() - start;
+            return new OffsetPageRequest(start, bounded(size), sort);
+        }
+        int size = bounded(params.perPage() == null ? defaultPerPage : params.perPage());
+        int page = Math.max(params.page() == null ? 1 : params.page(), 1);
+        return new OffsetPageRequest((long) (page - 1) * size, size, sort);
+    }
+
+    // id для выборки по списку: без повторов и не больше одной страницы, чтобы IN оставался коротким
+    public List<Long> ids(List<Long> ids) {
+        List<Long> distinct = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinct.size() > config.getMaxPerPage()) {
+            throw new BadRequestException("At most " + config.getMaxPerPage() + " ids per request");
+        }
+        return distinct;
+    }
+
+    // X-Total-Count для react-admin и Content-Range для клиентов, которые читают диапазон
+    public static ResponseEntity.BodyBuilder ok(Page<?> page, String resource) {
+        long total = page.getTotalElements();
+        long first = page.getPageable().getOffset();
+        String range = page.hasContent()
+                ? first + "-" + (first + page.getNumberOfElements() - 1)
+                : "*";
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(total))
+                .header("Content-Range", resource + " " + range + "/" + total);
+    }
+
+    private int bounded(int size) {
+        return Math.max(1, Math.min(size, config.getMaxPerPage()));
+    }
+
+    private static Sort sort(ListParams params, Map<String, String> sortable) {
+        List<String> fields = split(params.sort());
+        List<String> directions = split(params.order());
+        List<Sort.Order> orders = new ArrayList<>();
+        boolean byId = false;
+        for (int i = 0; i < fields.size(); i++) {
+            String property = sortable.get(fields.get(i));
+            if (property == null) {
+                throw new BadRequestException("Cannot sort by " + fields.get(i) + ", allowed: " + sortable.keySet());
+            }
+            // Одно направление на все поля, если перечислено меньше направлений, чем полей
+            String direction = directions.isEmpty() ? "ASC" : directions.get(Math.min(i, directions.size() - 1));
+            orders.add(new Sort.Order(direction(direction), property));
+            byId |= ID.equals(property);
+        }
+        if (!byId) {
+            orders.add(new Sort.Order(orders.isEmpty() ? Sort.Direction.ASC : orders.get(0).getDirection(), ID));
+        }
+        return Sort.by(orders);
+    }
+
+    private static Sort.Direction direction(String value) {
+        return switch (value.toUpperCase(Locale.ROOT)) {
+            case "ASC" -> Sort.Direction.ASC;
+            case "DESC" -> Sort.Direction.DESC;
+            default -> throw new BadRequestException("Sort order must be ASC or DESC: " + value);
+        };
+    }
+
+    private static List<String> split(String value) {
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        return List.of(value.strip().split("\\s*,\\s*"));
+    }
+}
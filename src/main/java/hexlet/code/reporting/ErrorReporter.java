@@ -0,0 +1,146 @@
+package hexlet.code.reporting;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.sentry.SentryLevel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+// Ошибки из обработчиков не уходят в Sentry прямо из потока запроса: одинаковые события сразу сворачиваются
+// в сводки ограниченного размера, а фоновый поток раз в окно отправляет накопленное в ErrorSink.
+// ERROR и остальные уровни копятся раздельно, чтобы поток 404 от сканера не вытеснял настоящие сбои
+@Slf4j
+@Component
+public class ErrorReporter {
+
+    // "Task not found: 42" и "Task not found: 43" — одно и то же событие
+    private static final Pattern NUMBERS = Pattern.compile("\\d+");
+
+    private final ErrorSink sink;
+    private final ErrorReportingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Pending errors;
+    private final Pending warnings;
+    private final Counter dropped;
+    private ScheduledExecutorService executor;
+
+    public ErrorReporter(ErrorSink sink, ErrorReportingProperties properties, MeterRegistry meterRegistry) {
+        this.sink = sink;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.errors = new Pending(properties.getMaxSummaries());
+        this.warnings = new Pending(properties.getMaxSummaries());
+        this.dropped = Counter.builder("app.errors.dropped")
+                .description("Error events dropped because too many distinct summaries were pending")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "error-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = properties.getWindow().toMillis();
+        executor.scheduleAtFixedRate(this::flush, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+        flush();
+    }
+
+    public void report(SentryLevel level, String message, Throwable error) {
+        String type = error.getClass().getSimpleName();
+        // Счётчик точный, в сводки попадает только выборка
+        meterRegistry.counter("app.errors.reported", "type", type).increment();
+
+        double sampleRate = properties.sampleRateFor(type);
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+
+        Instant now = Instant.now();
+        String shape = NUMBERS.matcher(String.valueOf(message)).replaceAll("#");
+        var event = new ErrorSummary(type, level, shape, 1, sampleRate, now, now, error);
+        Pending pending = level == SentryLevel.ERROR || level == SentryLevel.FATAL ? errors : warnings;
+        if (!pending.add(type + '|' + level + '|' + shape, event)) {
+            dropped.increment();
+        }
+    }
+
+    // synchronized: плановый сброс и сброс при остановке не должны делить одно окно
+    public synchronized void flush() {
+        List<ErrorSummary> summaries = errors.drain();
+        summaries.addAll(warnings.drain());
+
+        for (ErrorSummary summary : summaries) {
+            try {
+                sink.send(summary);
+            } catch (RuntimeException e) {
+                // не WARN: он сам ушёл бы в Sentry через logback
+                log.info("Failed to forward error summary {}: {}", summary.type(), e.getMessage());
+            }
+        }
+    }
+
+    private static ErrorSummary merge(ErrorSummary first, ErrorSummary next) {
+        return new ErrorSummary(first.type(), first.level(), first.message(), first.count() + next.count(),
+                first.sampleRate(), first.firstSeen(), next.lastSeen(), first.error());
+    }
+
+    // Сводки одного окна. Повтор уже известного события только увеличивает счётчик и места не занимает,
+    // ограничено число разных сводок; место резервируется атомарно внутри compute
+    private static final class Pending {
+        private final Map<String, ErrorSummary> summaries = new ConcurrentHashMap<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final int capacity;
+
+        Pending(int capacity) {
+            this.capacity = capacity;
+        }
+
+        boolean add(String key, ErrorSummary event) {
+            ErrorSummary result = summaries.compute(key, (k, current) -> {
+                if (current != null) {
+                    return merge(current, event);
+                }
+                if (size.incrementAndGet() > capacity) {
+                    size.decrementAndGet();
+                    return null;
+                }
+                return event;
+            });
+            return result != null;
+        }
+
+        // remove по ключу атомарен относительно compute: событие попадает либо в эту сводку, либо в следующую
+        List<ErrorSummary> drain() {
+            List<ErrorSummary> drained = new ArrayList<>();
+            for (String key : summaries.keySet()) {
+                ErrorSummary summary = summaries.remove(key);
+                if (summary != null) {
+                    size.decrementAndGet();
+                    drained.add(summary);
+                }
+            }
+            return drained;
+        }
+    }
+}
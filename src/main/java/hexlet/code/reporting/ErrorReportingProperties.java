@@ -0,0 +1,25 @@
+package hexlet.code.reporting;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+public class ErrorReportingProperties {
+    // Сколько разных сводок копится за окно, отдельно для ERROR и для остальных уровней.
+    // Повторы уже известных сводок места не занимают; события новых сводок сверх лимита отбрасываются
+    private int maxSummaries = 1000;
+    // Одинаковые события за окно сворачиваются в одну сводку с количеством
+    private Duration window = Duration.ofSeconds(30);
+    private double defaultSampleRate = 1.0;
+    // Доля событий по простому имени класса исключения, например ResourceNotFoundException: 0.1
+    private Map<String, Double> sampleRates = new HashMap<>();
+
+    public double sampleRateFor(String type) {
+        return sampleRates.getOrDefault(type, defaultSampleRate);
+    }
+}
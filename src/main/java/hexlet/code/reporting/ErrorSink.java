@@ -0,0 +1,5 @@
+package hexlet.code.reporting;
+
+public interface ErrorSink {
+    void send(ErrorSummary summary);
+}
@@ -0,0 +1,15 @@
+package hexlet.code.reporting;
+
+import io.sentry.SentryLevel;
+
+import java.time.Instant;
+
+// Сводка по одинаковым событиям за окно. error — первое исключение окна, для стектрейса
+public record ErrorSummary(String type, SentryLevel level, String message, long count, double sampleRate,
+                           Instant firstSeen, Instant lastSeen, Throwable error) {
+
+    // Оценка реального числа событий с учётом сэмплирования
+    public long estimatedCount() {
+        return sampleRate > 0 ? Math.round(count / sampleRate) : count;
+    }
+}
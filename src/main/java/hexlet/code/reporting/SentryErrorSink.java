@@ -0,0 +1,32 @@
+package hexlet.code.reporting;
+
+import io.sentry.IScope;
+import io.sentry.Sentry;
+import io.sentry.SentryLevel;
+
+import java.util.List;
+
+public class SentryErrorSink implements ErrorSink {
+
+    @Override
+    public void send(ErrorSummary summary) {
+        if (summary.error() != null && summary.level() == SentryLevel.ERROR) {
+            Sentry.captureException(summary.error(), scope -> describe(scope, summary));
+        } else {
+            String message = summary.count() > 1
+                    ? summary.message() + " (x" + summary.estimatedCount() + ")"
+                    : summary.message();
+            Sentry.captureMessage(message, summary.level(), scope -> describe(scope, summary));
+        }
+    }
+
+    private static void describe(IScope scope, ErrorSummary summary) {
+        // Одна группа в Sentry на тип и форму сообщения, сколько бы раз оно ни повторилось
+        scope.setFingerprint(List.of(summary.type(), summary.message()));
+        scope.setExtra("occurrences", String.valueOf(summary.count()));
+        scope.setExtra("estimatedOccurrences", String.valueOf(summary.estimatedCount()));
+        scope.setExtra("sampleRate", String.valueOf(summary.sampleRate()));
+        scope.setExtra("firstSeen", summary.firstSeen().toString());
+        scope.setExtra("lastSeen", summary.lastSeen().toString());
+    }
+}
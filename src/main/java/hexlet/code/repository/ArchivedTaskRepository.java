@@ -0,0 +1,11 @@
+package hexlet.code.repository;
+
+import hexlet.code.model.ArchivedTask;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long>,
+        JpaSpecificationExecutor<ArchivedTask> {
+}
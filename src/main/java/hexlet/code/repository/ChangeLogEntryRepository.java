@@ -0,0 +1,30 @@
+package hexlet.code.repository;
+
+import hexlet.code.model.ChangeLogEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ChangeLogEntryRepository extends JpaRepository<ChangeLogEntry, Long> {
+    List<ChangeLogEntry> findAllByIdGreaterThanOrderByIdAsc(long id, Limit limit);
+
+    @Query("SELECT MAX(c.id) FROM ChangeLogEntry c")
+    Optional<Long> findMaxId();
+
+    @Query("SELECT MIN(c.id) FROM ChangeLogEntry c WHERE c.changedAt > :after")
+    Optional<Long> findFirstIdChangedAfter(LocalDateTime after);
+
+    @Query("SELECT MAX(c.id) FROM ChangeLogEntry c WHERE c.changedAt < :before")
+    Optional<Long> findLastIdChangedBefore(LocalDateTime before);
+
+    @Modifying
+    @Query("DELETE FROM ChangeLogEntry c WHERE c.id <= :id")
+    int deleteAllByIdUpTo(long id);
+}
@@ -0,0 +1,15 @@
+package hexlet.code.repository;
+
+import hexlet.code.dto.task.TaskParamsDTO;
+
+import java.util.List;
+
+// Фрагмент TaskRepository: верхние задачи каждого статуса одним оконным запросом
+public interface TaskBoardRepository {
+
+    // Строки отсортированы по статусу и месту в колонке; columnTotal — сколько задач в колонке всего
+    List<BoardRow> findBoard(TaskParamsDTO params, int limit);
+
+    record BoardRow(Long taskId, Long statusId, long columnTotal) {
+    }
+}
@@ -0,0 +1,57 @@
+package hexlet.code.repository;
+
+import hexlet.code.dto.task.TaskParamsDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Фильтры повторяют TaskSpecification, но в SQL: окна Criteria API не умеет
+public class TaskBoardRepositoryImpl implements TaskBoardRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BoardRow> findBoard(TaskParamsDTO params, int limit) {
+        StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+        Map<String, Object> parameters = new HashMap<>();
+        if (params.getTitleCont() != null && !params.getTitleCont().isBlank()) {
+            where.append(" AND LOWER(t.name) LIKE :title");
+            parameters.put("title", "%" + params.getTitleCont().toLowerCase() + "%");
+        }
+        if (params.getAssigneeId() != null) {
+            where.append(" AND t.assignee_id = :assigneeId");
+            parameters.put("assigneeId", params.getAssigneeId());
+        }
+        if (params.getStatus() != null && !params.getStatus().isBlank()) {
+            where.append(" AND t.task_status_id = (SELECT s.id FROM task_statuses s WHERE s.slug = :status)");
+            parameters.put("status", params.getStatus());
+        }
+        if (params.getLabelId() != null) {
+            where.append(" AND EXISTS (SELECT 1 FROM task_labels tl")
+                    .append(" WHERE tl.task_id = t.id AND tl.label_id = :labelId)");
+            parameters.put("labelId", params.getLabelId());
+        }
+
+        Query query = entityManager.createNativeQuery("SELECT id, task_status_id, column_total FROM ("
+                + "SELECT t.id, t.task_status_id,"
+                + " ROW_NUMBER() OVER (PARTITION BY t.task_status_id"
+                + " ORDER BY t.index NULLS LAST, t.id) AS position,"
+                + " COUNT(*) OVER (PARTITION BY t.task_status_id) AS column_total"
+                + " FROM tasks t" + where
+                + ") ranked WHERE position <= :limit ORDER BY task_status_id, position");
+        parameters.forEach(query::setParameter);
+        query.setParameter("limit", limit);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        return rows.stream()
+                .map(row -> new BoardRow(((Number) row[0]).longValue(), ((Number) row[1]).longValue(),
+                        ((Number) row[2]).longValue()))
+                .toList();
+    }
+}
@@ -0,0 +1,16 @@
+package hexlet.code.repository;
+
+import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.dto.task.TaskField;
+import hexlet.code.model.Task;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Set;
+
+// Фрагмент TaskRepository: задачи сразу в TaskDTO, из базы читаются только колонки запрошенных полей
+public interface TaskProjectionRepository {
+
+    List<TaskDTO> findProjected(Specification<Task> spec, Pageable pageable, Set<TaskField> fields);
+}
@@ -0,0 +1,109 @@
+package hexlet.code.repository;
+
+import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.dto.task.TaskField;
+import hexlet.code.model.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class TaskProjectionRepositoryImpl implements TaskProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskDTO> findProjected(Specification<Task> spec, Pageable pageable, Set<TaskField> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(root.get("id").alias(TaskField.ID.value()));
+        for (TaskField field : fields) {
+            switch (field) {
+                case INDEX -> selections.add(root.get("index").alias(field.value()));
+                case TITLE -> selections.add(root.get("name").alias(field.value()));
+                case CONTENT -> selections.add(root.get("description").alias(field.value()));
+                case STATUS -> selections.add(root.get("taskStatus").get("slug").alias(field.value()));
+                case ASSIGNEE_ID -> selections.add(root.get("assigneeId").alias(field.value()));
+                case CREATED_AT -> selections.add(root.get("createdAt").alias(field.value()));
+                default -> {
+                    // id выбран выше, метки — отдельным запросом
+                }
+            }
+        }
+        query.multiselect(selections);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        TypedQuery<Tuple> typed = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typed.setFirstResult((int) pageable.getOffset());
+            typed.setMaxResults(pageable.getPageSize());
+        }
+
+        List<TaskDTO> tasks = typed.getResultList().stream()
+                .map(tuple -> toDTO(tuple, fields))
+                .toList();
+        if (fields.contains(TaskField.TASK_LABEL_IDS) && !tasks.isEmpty()) {
+            fillLabelIds(tasks);
+        }
+        return tasks;
+    }
+
+    private static TaskDTO toDTO(Tuple tuple, Set<TaskField> fields) {
+        var dto = new TaskDTO();
+        dto.setId(tuple.get(TaskField.ID.value(), Long.class));
+        for (TaskField field : fields) {
+            switch (field) {
+                case INDEX -> dto.setIndex(tuple.get(field.value(), Integer.class));
+                case TITLE -> dto.setTitle(tuple.get(field.value(), String.class));
+                case CONTENT -> dto.setContent(tuple.get(field.value(), String.class));
+                case STATUS -> dto.setStatus(tuple.get(field.value(), String.class));
+                case ASSIGNEE_ID -> dto.setAssigneeId(tuple.get(field.value(), Long.class));
+                case CREATED_AT -> {
+                    LocalDateTime createdAt = tuple.get(field.value(), LocalDateTime.class);
+                    dto.setCreatedAt(createdAt == null ? null : createdAt.toLocalDate());
+                }
+                case TASK_LABEL_IDS -> dto.setTaskLabelIds(new HashSet<>());
+                default -> {
+                }
+            }
+        }
+        return dto;
+    }
+
+    // Метки всех задач страницы одним запросом по таблице связей, без загрузки самих меток
+    private void fillLabelIds(List<TaskDTO> tasks) {
+        Map<Long, TaskDTO> byId = new HashMap<>();
+        tasks.forEach(task -> byId.put(task.getId(), task));
+        entityManager.createQuery("SELECT t.id, l.id FROM Task t JOIN t.labels l WHERE t.id IN :ids", Object[].class)
+                .setParameter("ids", byId.keySet())
+                .getResultList()
+                .forEach(row -> byId.get((Long) row[0]).getTaskLabelIds().add((Long) row[1]));
+    }
+}
@@ -1,10 +1,41 @@
 package hexlet.code.repository;
 
 import hexlet.code.model.Task;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>,
+        TaskBoardRepository, TaskProjectionRepository {
+
+    @EntityGraph(attributePaths = {"taskStatus", "assignee", "labels"})
+    List<Task> findAllByIdIn(Collection<Long> ids);
+
+    // Соседи по index в колонке без учёта перемещаемой задачи; скаляры, чтобы не получить устаревшие сущности
+    @Query("SELECT MIN(t.index) FROM Task t"
+            + " WHERE t.taskStatus.id = :statusId AND t.index > :index AND t.id <> :taskId")
+    Integer findNextIndex(Long statusId, Integer index, Long taskId);
+
+    @Query("SELECT MAX(t.index) FROM Task t"
+            + " WHERE t.taskStatus.id = :statusId AND t.index < :index AND t.id <> :taskId")
+    Integer findPreviousIndex(Long statusId, Integer index, Long taskId);
+
+    @Query("SELECT t.index FROM Task t WHERE t.id = :id")
+    Integer findIndexById(Long id);
+
+    @Query("SELECT t.taskStatus.id FROM Task t WHERE t.id = :id")
+    Long findStatusIdById(Long id);
+
+    @Query("SELECT MAX(t.index) FROM Task t WHERE t.taskStatus.id = :statusId AND t.id <> :taskId")
+    Integer findLastIndex(Long statusId, Long taskId);
+
+    @Query("SELECT COUNT(t) FROM Task t"
+            + " WHERE t.taskStatus.id = :statusId AND t.index = :index AND t.id <> :taskId")
+    long countWithIndex(Long statusId, Integer index, Long taskId);
 }
@@ -1,15 +1,26 @@
 package hexlet.code.repository;
 
 import hexlet.code.model.TaskStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TaskStatusRepository extends JpaRepository<TaskStatus, Long> {
     Optional<TaskStatus> findByName(String name);
     Optional<TaskStatus> findBySlug(String slug);
+    List<TaskStatus> findAllBySlugIn(Collection<String> slugs);
     boolean existsByName(String name);
     boolean existsBySlug(String slug);
+
+    // Порядок по id: перемещения между колонками берут блокировки в одном порядке и не ждут друг друга по кругу
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM TaskStatus s WHERE s.id IN :ids ORDER BY s.id")
+    List<TaskStatus> lockAllByIdIn(Collection<Long> ids);
 }
@@ -0,0 +1,130 @@
+package hexlet.code.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+// Инвертированный индекс задач в памяти. Документ получает порядковый номер, списки вхождений —
+// растущие массивы номеров и частот. Изменённый документ помечается удалённым и добавляется заново,
+// удалённые номера вычищает перестроение. Не потокобезопасен: доступ сериализует TaskSearchIndex
+final class InvertedIndex {
+
+    private static final long DEAD = -1;
+
+    // При равном счёте выше задача с меньшим id — выдача стабильна
+    private static final Comparator<SearchHit> WORST_FIRST = Comparator.comparingDouble(SearchHit::score)
+            .thenComparing(SearchHit::taskId, Comparator.reverseOrder());
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private long[] taskIds = new long[1024];
+    private int[] lengths = new int[1024];
+    private int size;
+    private long totalLength;
+
+    void put(long taskId, List<String> title, List<String> description, int titleWeight) {
+        remove(taskId);
+        Map<String, Integer> frequencies = new HashMap<>();
+        title.forEach(term -> frequencies.merge(term, titleWeight, Integer::sum));
+        description.forEach(term -> frequencies.merge(term, 1, Integer::sum));
+
+        if (size == taskIds.length) {
+            taskIds = Arrays.copyOf(taskIds, size * 2);
+            lengths = Arrays.copyOf(lengths, size * 2);
+        }
+        int ordinal = size++;
+        taskIds[ordinal] = taskId;
+        lengths[ordinal] = title.size() * titleWeight + description.size();
+        totalLength += lengths[ordinal];
+        ordinals.put(taskId, ordinal);
+        frequencies.forEach((term, frequency) ->
+                postings.computeIfAbsent(term, t -> new Postings()).add(ordinal, frequency));
+    }
+
+    void remove(long taskId) {
+        Integer ordinal = ordinals.remove(taskId);
+        if (ordinal != null) {
+            taskIds[ordinal] = DEAD;
+            totalLength -= lengths[ordinal];
+        }
+    }
+
+    int documents() {
+        return ordinals.size();
+    }
+
+    double deadRatio() {
+        return size == 0 ? 0 : (double) (size - ordinals.size()) / size;
+    }
+
+    // Запрос — дизъюнкция терминов, документы ранжируются по BM25. Счёт копится в массиве по номерам
+    // документов: списки вхождений отсортированы по номеру, так что проход по памяти последовательный
+    List<SearchHit> search(Collection<String> terms, int limit, float k1, float b) {
+        int live = ordinals.size();
+        if (live == 0 || limit <= 0) {
+            return List.of();
+        }
+        // k1 * (1 - b + b * length / averageLength) = base + perLength * length
+        float base = k1 * (1 - b);
+        float perLength = k1 * b * live / Math.max(1f, totalLength);
+        float[] scores = new float[size];
+
+        for (String term : new LinkedHashSet<>(terms)) {
+            Postings list = postings.get(term);
+            if (list == null) {
+                continue;
+            }
+            // df считает и ещё не вычищенные удалённые документы — idf от этого лишь немного занижен
+            float idf = (float) Math.max(1e-6, Math.log(1 + (live - list.size + 0.5) / (list.size + 0.5)));
+            int[] listOrdinals = list.ordinals;
+            int[] listFrequencies = list.frequencies;
+            for (int i = 0; i < list.size; i++) {
+                int ordinal = listOrdinals[i];
+                int frequency = listFrequencies[i];
+                scores[ordinal] += idf * frequency * (k1 + 1) / (frequency + base + perLength * lengths[ordinal]);
+            }
+        }
+
+        // Объект результата создаётся, только если документ проходит в текущую верхушку
+        PriorityQueue<SearchHit> top = new PriorityQueue<>(limit + 1, WORST_FIRST);
+        float threshold = 0;
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            float score = scores[ordinal];
+            if (score <= threshold || taskIds[ordinal] == DEAD) {
+                continue;
+            }
+            top.add(new SearchHit(taskIds[ordinal], score));
+            if (top.size() > limit) {
+                top.poll();
+            }
+            if (top.size() == limit) {
+                threshold = top.peek().score();
+            }
+        }
+        List<SearchHit> hits = new ArrayList<>(top);
+        hits.sort(WORST_FIRST.reversed());
+        return hits;
+    }
+
+    private static final class Postings {
+        private int[] ordinals = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        void add(int ordinal, int frequency) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            ordinals[size] = ordinal;
+            frequencies[size] = frequency;
+            size++;
+        }
+    }
+}
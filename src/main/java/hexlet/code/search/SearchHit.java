@@ -0,0 +1,4 @@
+package hexlet.code.search;
+
+public record SearchHit(long taskId, float score) {
+}
@@ -0,0 +1,207 @@
+package hexlet.code.search;
+
+import hexlet.code.configuration.SearchConfig;
+import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.event.DatasetGeneratedEvent;
+import hexlet.code.event.TaskChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Полнотекстовый индекс задач по названию и описанию.
+ *
+ * <p>Индекс живёт в памяти узла. После коммита изменения задачи он обновляется из события, при старте и
+ * когда удалённых документов становится слишком много — перестраивается из базы в фоне. Пока идёт
+ * перестроение, поиск работает по старому индексу, а пришедшие изменения применяются к обоим.
+ * Поиск под read-lock, изменения под write-lock; запись короткая, читатели её почти не ждут.
+ */
+@Slf4j
+@Component
+public class TaskSearchIndex {
+
+    private final SearchConfig config;
+    private final JdbcTemplate jdbcTemplate;
+    private final TextAnalyzer analyzer;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final ExecutorService executor;
+    private final Timer searches;
+    private InvertedIndex index = new InvertedIndex();
+    // Изменения, пришедшие во время перестроения: повторяются на новом индексе перед подменой
+    private List<TaskChangedEvent> replay;
+    private volatile boolean ready;
+
+    public TaskSearchIndex(SearchConfig config, JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.jdbcTemplate = jdbcTemplate;
+        this.analyzer = new TextAnalyzer(config.isStemming());
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-search-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.searches = Timer.builder("app.search.query")
+                .description("Full-text task search over the in-memory index")
+                .register(meterRegistry);
+        Gauge.builder("app.search.documents", this, TaskSearchIndex::documents)
+                .description("Tasks in the full-text index")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduleRebuild();
+    }
+
+    // Генератор пишет задачи через JDBC без событий; стартовая пересборка могла застать таблицу пустой.
+    // Исполнитель однопоточный, так что эта пересборка встанет после стартовой, а не потеряется
+    @EventListener
+    public void onDatasetGenerated(DatasetGeneratedEvent event) {
+        scheduleRebuild();
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<SearchHit> search(String query, int limit) {
+        List<String> terms = analyzer.terms(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        return searches.record(() -> {
+            lock.readLock().lock();
+            try {
+                return index.search(terms, limit, config.getK1(), config.getB());
+            } finally {
+                lock.readLock().unlock();
+            }
+        });
+    }
+
+    List<String> terms(String text) {
+        return analyzer.terms(text);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTaskChanged(TaskChangedEvent event) {
+        boolean compact;
+        lock.writeLock().lock();
+        try {
+            apply(index, event);
+            if (replay != null) {
+                replay.add(event);
+            }
+            compact = index.deadRatio() > config.getRebuildDeadRatio() && index.documents() > 1000;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (compact) {
+            scheduleRebuild();
+        }
+    }
+
+    public void scheduleRebuild() {
+        executor.execute(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.warn("Task search index rebuild failed", e);
+            }
+        });
+    }
+
+    // Читает задачи по возрастанию id пачками; анализ текста идёт без блокировки
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long started = System.nanoTime();
+            lock.writeLock().lock();
+            try {
+                replay = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            InvertedIndex fresh = new InvertedIndex();
+            long lastId = 0;
+            int batch;
+            do {
+                List<Object[]> rows = jdbcTemplate.query(
+                        "SELECT id, name, description FROM tasks WHERE id > ? ORDER BY id FETCH FIRST ? ROWS ONLY",
+                        (rs, rowNum) -> new Object[] {rs.getLong(1), rs.getString(2), rs.getString(3)},
+                        lastId, config.getRebuildBatchSize());
+                for (Object[] row : rows) {
+                    lastId = (Long) row[0];
+                    fresh.put(lastId, analyzer.terms((String) row[1]), analyzer.terms((String) row[2]),
+                            config.getTitleWeight());
+                }
+                batch = rows.size();
+            } while (batch == config.getRebuildBatchSize());
+
+            lock.writeLock().lock();
+            try {
+                replay.forEach(event -> apply(fresh, event));
+                replay = null;
+                index = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            ready = true;
+            log.info("Task search index rebuilt: {} tasks in {} ms", fresh.documents(),
+                    (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                // После сбоя журнал больше не нужен: старый индекс остаётся в работе
+                replay = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            rebuilding.set(false);
+        }
+    }
+
+    private void apply(InvertedIndex target, TaskChangedEvent event) {
+        if (event.removesTask()) {
+            target.remove(event.taskId());
+            return;
+        }
+        TaskDTO task = event.task();
+        target.put(task.getId(), analyzer.terms(task.getTitle()), analyzer.terms(task.getContent()),
+                config.getTitleWeight());
+    }
+
+    private double documents() {
+        lock.readLock().lock();
+        try {
+            return index.documents();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package hexlet.code.search;
+
+import hexlet.code.configuration.SearchConfig;
+import hexlet.code.dto.task.TaskSearchHitDTO;
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+
+// Ранжирование — в индексе, тексты для сниппетов — одним запросом по первичному ключу найденных задач
+@Component
+@AllArgsConstructor
+public class TaskSearchService {
+
+    private static final String ELLIPSIS = "…";
+
+    private final TaskSearchIndex index;
+    private final SearchConfig config;
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<TaskSearchHitDTO> search(String query, int limit) {
+        List<SearchHit> hits = index.search(query, Math.max(1, Math.min(limit, config.getMaxLimit())));
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, String[]> texts = new HashMap<>();
+        jdbcTemplate.query("SELECT id, name, description FROM tasks WHERE id IN ("
+                        + String.join(", ", Collections.nCopies(hits.size(), "?")) + ")",
+                rs -> {
+                    texts.put(rs.getLong(1), new String[] {rs.getString(2), rs.getString(3)});
+                },
+                hits.stream().map(SearchHit::taskId).toArray());
+
+        Set<String> terms = new HashSet<>(index.terms(query));
+        List<TaskSearchHitDTO> result = new ArrayList<>(hits.size());
+        for (SearchHit hit : hits) {
+            String[] text = texts.get(hit.taskId());
+            // Задачу удалили между поиском и чтением
+            if (text == null) {
+                continue;
+            }
+            String snippet = snippet(text[1], terms);
+            result.add(new TaskSearchHitDTO(hit.taskId(), text[0], hit.score(), snippet == null ? text[0] : snippet));
+        }
+        return result;
+    }
+
+    private String snippet(String text, Set<String> terms) {
+        if (text == null) {
+            return null;
+        }
+        Matcher words = TextAnalyzer.words(text);
+        while (words.find()) {
+            if (!terms.contains(index.terms(words.group()).get(0))) {
+                continue;
+            }
+            int length = config.getSnippetLength();
+            int start = Math.max(0, words.start() - length / 4);
+            // Не начинаем с середины слова
+            while (start > 0 && Character.isLetterOrDigit(text.charAt(start - 1))) {
+                start--;
+            }
+            int end = Math.min(text.length(), start + length);
+            return (start > 0 ? ELLIPSIS : "") + text.substring(start, end).strip()
+                    + (end < text.length() ? ELLIPSIS : "");
+        }
+        return null;
+    }
+}
@@ -0,0 +1,92 @@
+package hexlet.code.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Разбивает текст на слова, приводит к нижнему регистру и, если включено, отрезает окончания.
+// Стемминг облегчённый: словарей нет, только частые окончания; запрос и документы режутся одинаково
+final class TextAnalyzer {
+
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{Nd}]+");
+    private static final int MIN_STEM = 3;
+
+    private static final String[] RUSSIAN_ENDINGS = {
+        "иями", "ями", "ами", "ого", "его", "ому", "ему", "ыми", "ими", "ией", "ий", "ый", "ой", "ая", "яя",
+        "ое", "ее", "ые", "ие", "ом", "ем", "ам", "ям", "ах", "ях", "ов", "ев", "ей", "ую", "юю", "ию",
+        "а", "я", "о", "е", "ы", "и", "у", "ю", "ь", "й"
+    };
+
+    private static final String[] ENGLISH_ENDINGS = {
+        "ations", "ation", "ments", "ment", "ings", "ing", "ies", "ied", "es", "ed", "ly", "s"
+    };
+
+    private final boolean stemming;
+
+    TextAnalyzer(boolean stemming) {
+        this.stemming = stemming;
+    }
+
+    List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        Matcher matcher = WORD.matcher(text);
+        while (matcher.find()) {
+            terms.add(term(matcher.group()));
+        }
+        return terms;
+    }
+
+    String term(String word) {
+        String lower = word.toLowerCase(Locale.ROOT).replace('ё', 'е');
+        return stemming ? stem(lower) : lower;
+    }
+
+    // Позиции слов в тексте — для сниппетов
+    static Matcher words(String text) {
+        return WORD.matcher(text);
+    }
+
+    private static String stem(String word) {
+        if (word.length() <= MIN_STEM) {
+            return word;
+        }
+        char first = word.charAt(0);
+        return first >= 'а' && first <= 'я' ? stemRussian(word) : stemEnglish(word);
+    }
+
+    private static String stemRussian(String word) {
+        for (String ending : RUSSIAN_ENDINGS) {
+            if (word.endsWith(ending) && word.length() - ending.length() >= MIN_STEM) {
+                return word.substring(0, word.length() - ending.length());
+            }
+        }
+        return word;
+    }
+
+    private static String stemEnglish(String word) {
+        String stem = word;
+        for (String ending : ENGLISH_ENDINGS) {
+            if (!word.endsWith(ending) || word.length() - ending.length() < MIN_STEM) {
+                continue;
+            }
+            String candidate = word.substring(0, word.length() - ending.length());
+            // "es" только после шипящих: fixes -> fix, но notes -> note
+            if (ending.equals("es") && !candidate.matches(".*(s|x|z|ch|sh)")) {
+                continue;
+            }
+            // stories, storied -> story
+            stem = ending.startsWith("ie") ? candidate + "y" : candidate;
+            break;
+        }
+        // Немое e: note, notes, noted, noting сходятся в "not"
+        if (stem.endsWith("e") && stem.length() > MIN_STEM) {
+            stem = stem.substring(0, stem.length() - 1);
+        }
+        return stem;
+    }
+}
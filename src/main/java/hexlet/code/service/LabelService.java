@@ -3,13 +3,18 @@ package hexlet.code.service;
 import hexlet.code.dto.label.LabelCreateDTO;
 import hexlet.code.dto.label.LabelUpdateDTO;
 import hexlet.code.model.Label;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface LabelService {
     List<Label> getAll();
+    Page<Label> getAll(Pageable pageable);
     Optional<Label> findById(Long id);
+    List<Label> findAllById(Collection<Long> ids);
     Label create(LabelCreateDTO labelData);
     Label update(Long id, LabelUpdateDTO labelData);
     void delete(Long id);
@@ -0,0 +1,14 @@
+package hexlet.code.service;
+
+import hexlet.code.dto.sync.ChangesDTO;
+
+import java.util.Optional;
+
+public interface SyncService {
+    // Токен, с которого читать изменения после полной загрузки. Брать его нужно до загрузки:
+    // изменения, попавшие в неё, придут повторно, а upsert идемпотентен
+    long head();
+
+    // Пусто, если записи журнала после since уже удалены по сроку хранения
+    Optional<ChangesDTO> changesSince(long since, int limit);
+}
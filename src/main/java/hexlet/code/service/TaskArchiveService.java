@@ -0,0 +1,19 @@
+package hexlet.code.service;
+
+import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.dto.task.TaskField;
+import hexlet.code.dto.task.TaskParamsDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+// Чтение архивных задач. fields == null — все поля
+public interface TaskArchiveService {
+    Page<TaskDTO> getAll(TaskParamsDTO params, Pageable pageable, Set<TaskField> fields);
+    Optional<TaskDTO> findById(Long id, Set<TaskField> fields);
+    List<TaskDTO> findAllById(Collection<Long> ids, Set<TaskField> fields);
+}
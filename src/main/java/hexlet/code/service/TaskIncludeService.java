@@ -0,0 +1,13 @@
+package hexlet.code.service;
+
+import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.dto.task.TaskInclude;
+import hexlet.code.dto.task.TaskIncludedDTO;
+
+import java.util.Collection;
+import java.util.Set;
+
+public interface TaskIncludeService {
+    // Не больше одного запроса на каждый вид связанных записей, сколько бы задач ни было
+    TaskIncludedDTO load(Collection<TaskDTO> tasks, Set<TaskInclude> include);
+}
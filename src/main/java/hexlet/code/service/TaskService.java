@@ -1,20 +1,33 @@
 package hexlet.code.service;
 
+import hexlet.code.dto.task.TaskBoardColumnDTO;
 import hexlet.code.dto.task.TaskCreateDTO;
+import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.dto.task.TaskField;
+import hexlet.code.dto.task.TaskMoveDTO;
+import hexlet.code.dto.task.TaskParamsDTO;
 import hexlet.code.dto.task.TaskUpdateDTO;
 import hexlet.code.model.Task;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface TaskService {
     Page<Task> getAll(Specification<Task> spec, Pageable pageable);
     List<Task> getAll();
     Optional<Task> findById(Long id);
+    List<Task> findAllById(Collection<Long> ids);
+    // Только запрошенные поля, сразу в DTO: непрочитанные колонки вроде description не грузятся
+    Page<TaskDTO> getAll(Specification<Task> spec, Pageable pageable, Set<TaskField> fields);
+    Optional<TaskDTO> findById(Long id, Set<TaskField> fields);
+    List<TaskBoardColumnDTO> getBoard(TaskParamsDTO params, int limit);
     Task create(TaskCreateDTO taskData);
     Task update(Long id, TaskUpdateDTO taskData);
+    Task move(Long id, TaskMoveDTO move);
     void delete(Long id);
 }
@@ -3,13 +3,18 @@ package hexlet.code.service;
 import hexlet.code.dto.taskStatus.TaskStatusCreateDTO;
 import hexlet.code.dto.taskStatus.TaskStatusUpdateDTO;
 import hexlet.code.model.TaskStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface TaskStatusService {
     List<TaskStatus> getAll();
+    Page<TaskStatus> getAll(Pageable pageable);
     Optional<TaskStatus> findById(Long id);
+    List<TaskStatus> findAllById(Collection<Long> ids);
     TaskStatus create(TaskStatusCreateDTO taskStatusData);
     TaskStatus update(Long id, TaskStatusUpdateDTO taskStatusData);
     void delete(Long id);
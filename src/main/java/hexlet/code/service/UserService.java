@@ -3,13 +3,18 @@ package hexlet.code.service;
 import hexlet.code.dto.user.UserCreateDTO;
 import hexlet.code.dto.user.UserUpdateDTO;
 import hexlet.code.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface UserService {
     List<User> getAll();
+    Page<User> getAll(Pageable pageable);
     Optional<User> findById(Long id);
+    List<User> findAllById(Collection<Long> ids);
     User create(UserCreateDTO userData);
     User update(Long id, UserUpdateDTO userData);
     void delete(Long id);
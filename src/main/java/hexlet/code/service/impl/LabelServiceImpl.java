@@ -8,8 +8,11 @@ import hexlet.code.model.Label;
 import hexlet.code.repository.LabelRepository;
 import hexlet.code.service.LabelService;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,11 +28,21 @@ public class LabelServiceImpl implements LabelService {
         return labelRepository.findAll();
     }
 
+    @Override
+    public Page<Label> getAll(Pageable pageable) {
+        return labelRepository.findAll(pageable);
+    }
+
     @Override
     public Optional<Label> findById(Long id) {
         return labelRepository.findById(id);
     }
 
+    @Override
+    public List<Label> findAllById(Collection<Long> ids) {
+        return labelRepository.findAllById(ids);
+    }
+
     @Override
     public Label create(LabelCreateDTO labelData) {
         Label label = labelMapper.map(labelData);
@@ -0,0 +1,144 @@
+package hexlet.code.service.impl;
+
+import hexlet.code.configuration.SyncConfig;
+import hexlet.code.dto.sync.ChangesDTO;
+import hexlet.code.mapper.LabelMapper;
+import hexlet.code.mapper.TaskMapper;
+import hexlet.code.mapper.TaskStatusMapper;
+import hexlet.code.mapper.UserMapper;
+import hexlet.code.model.ChangeLogEntry;
+import hexlet.code.model.Label;
+import hexlet.code.model.OutboxCheckpoint;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.pagination.MultiGet;
+import hexlet.code.repository.ChangeLogEntryRepository;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.OutboxCheckpointRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.service.SyncService;
+import hexlet.code.sync.ChangeLogPurger;
+import hexlet.code.sync.SyncEntity;
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Чтение журнала изменений для синхронизации клиентов.
+ *
+ * <p>Токен — id последней отданной записи {@code change_log}. Id выдаются при вставке, а видимыми записи
+ * становятся при коммите, поэтому транзакция с меньшим id может закоммититься позже. Как и релей outbox,
+ * чтение останавливается перед свежим пропуском id и отдаёт его только через {@code gapTimeout}.
+ *
+ * <p>Несколько записей одной сущности в пачке схлопываются в последнюю. Для изменённых отдаётся текущее
+ * состояние из таблицы, так что клиенту достаточно применить upsert и удаления, ответ пропорционален
+ * числу изменений, а не размеру данных.
+ */
+@Service
+@AllArgsConstructor
+@Transactional(readOnly = true)
+public class SyncServiceImpl implements SyncService {
+
+    private final SyncConfig config;
+    private final ChangeLogEntryRepository changeLogEntryRepository;
+    private final OutboxCheckpointRepository checkpointRepository;
+    private final TaskRepository taskRepository;
+    private final LabelRepository labelRepository;
+    private final TaskStatusRepository taskStatusRepository;
+    private final UserRepository userRepository;
+    private final TaskMapper taskMapper;
+    private final LabelMapper labelMapper;
+    private final TaskStatusMapper taskStatusMapper;
+    private final UserMapper userMapper;
+
+    @Override
+    public long head() {
+        long purged = purgedThrough();
+        LocalDateTime settled = LocalDateTime.now().minus(config.getGapTimeout());
+        // Среди свежих записей могут быть пропуски ещё не закоммиченных транзакций, их клиент перечитает
+        long head = changeLogEntryRepository.findFirstIdChangedAfter(settled)
+                .map(id -> id - 1)
+                .or(changeLogEntryRepository::findMaxId)
+                .orElse(purged);
+        return Math.max(head, purged);
+    }
+
+    @Override
+    public Optional<ChangesDTO> changesSince(long since, int limit) {
+        if (since < purgedThrough()) {
+            return Optional.empty();
+        }
+        List<ChangeLogEntry> entries = untilGap(since,
+                changeLogEntryRepository.findAllByIdGreaterThanOrderByIdAsc(since, Limit.of(limit)));
+
+        Map<SyncEntity, Map<Long, Boolean>> latest = new EnumMap<>(SyncEntity.class);
+        for (ChangeLogEntry entry : entries) {
+            SyncEntity.of(entry.getEntityType()).ifPresent(entity -> latest
+                    .computeIfAbsent(entity, key -> new LinkedHashMap<>())
+                    .put(entry.getEntityId(), entry.isDeleted()));
+        }
+
+        var changes = new ChangesDTO();
+        changes.setToken(String.valueOf(entries.isEmpty() ? since : entries.get(entries.size() - 1).getId()));
+        changes.setHasMore(entries.size() == limit);
+        var deleted = changes.getDeleted();
+        changes.setTasks(upserts(latest.get(SyncEntity.TASK), deleted.getTasks(),
+                taskRepository::findAllByIdIn, Task::getId, taskMapper::map));
+        changes.setLabels(upserts(latest.get(SyncEntity.LABEL), deleted.getLabels(),
+                labelRepository::findAllById, Label::getId, labelMapper::map));
+        changes.setStatuses(upserts(latest.get(SyncEntity.STATUS), deleted.getStatuses(),
+                taskStatusRepository::findAllById, TaskStatus::getId, taskStatusMapper::map));
+        changes.setUsers(upserts(latest.get(SyncEntity.USER), deleted.getUsers(),
+                userRepository::findAllById, User::getId, userMapper::map));
+        return Optional.of(changes);
+    }
+
+    private long purgedThrough() {
+        return checkpointRepository.findById(ChangeLogPurger.CHECKPOINT)
+                .map(OutboxCheckpoint::getLastEventId)
+                .orElse(0L);
+    }
+
+    // Обрезает пачку на первом свежем пропуске id после токена
+    private List<ChangeLogEntry> untilGap(long since, List<ChangeLogEntry> batch) {
+        LocalDateTime waitUntil = LocalDateTime.now().minus(config.getGapTimeout());
+        long expected = since + 1;
+        for (int i = 0; i < batch.size(); i++) {
+            ChangeLogEntry entry = batch.get(i);
+            if (entry.getId() != expected && entry.getChangedAt().isAfter(waitUntil)) {
+                return batch.subList(0, i);
+            }
+            expected = entry.getId() + 1;
+        }
+        return batch;
+    }
+
+    // Запись, которой уже нет в таблице, отдаётся удалённой, не дожидаясь её надгробия дальше по журналу
+    private static <T, D> List<D> upserts(Map<Long, Boolean> changed, List<Long> deleted,
+                                          Function<List<Long>, List<T>> loader, Function<T, Long> idOf,
+                                          Function<T, D> mapper) {
+        List<Long> ids = new ArrayList<>();
+        if (changed != null) {
+            changed.forEach((id, gone) -> (gone ? deleted : ids).add(id));
+        }
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        MultiGet<T> rows = MultiGet.of(ids, loader.apply(ids), idOf);
+        deleted.addAll(rows.missing());
+        return rows.found().stream().map(mapper).toList();
+    }
+}
@@ -0,0 +1,99 @@
+package hexlet.code.service.impl;
+
+import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.dto.task.TaskField;
+import hexlet.code.dto.task.TaskParamsDTO;
+import hexlet.code.mapper.ArchivedTaskMapper;
+import hexlet.code.model.ArchivedTask;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.ArchivedTaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.service.TaskArchiveService;
+import hexlet.code.specification.ArchivedTaskSpecification;
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@AllArgsConstructor
+@Transactional(readOnly = true)
+public class TaskArchiveServiceImpl implements TaskArchiveService {
+
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final TaskStatusRepository taskStatusRepository;
+    private final ArchivedTaskSpecification archivedTaskSpecification;
+    private final ArchivedTaskMapper archivedTaskMapper;
+
+    @Override
+    public Page<TaskDTO> getAll(TaskParamsDTO params, Pageable pageable, Set<TaskField> fields) {
+        Page<ArchivedTask> page = archivedTaskRepository.findAll(archivedTaskSpecification.build(params), pageable);
+        return new PageImpl<>(map(page.getContent(), fields), pageable, page.getTotalElements());
+    }
+
+    @Override
+    public Optional<TaskDTO> findById(Long id, Set<TaskField> fields) {
+        return archivedTaskRepository.findById(id)
+                .map(task -> map(List.of(task), fields).get(0));
+    }
+
+    @Override
+    public List<TaskDTO> findAllById(Collection<Long> ids, Set<TaskField> fields) {
+        return map(archivedTaskRepository.findAllById(ids), fields);
+    }
+
+    // Статусы одним запросом на всю страницу
+    private List<TaskDTO> map(List<ArchivedTask> tasks, Set<TaskField> fields) {
+        Set<Long> statusIds = tasks.stream()
+                .map(ArchivedTask::getTaskStatusId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, String> slugs = taskStatusRepository.findAllById(statusIds).stream()
+                .collect(Collectors.toMap(TaskStatus::getId, TaskStatus::getSlug));
+        return tasks.stream()
+                .map(task -> {
+                    TaskDTO dto = archivedTaskMapper.map(task);
+                    dto.setStatus(slugs.get(task.getTaskStatusId()));
+                    return fields == null ? dto : retain(dto, fields);
+                })
+                .toList();
+    }
+
+    // Архив читается редко и строками целиком, поэтому fields применяется уже к готовому DTO
+    private static TaskDTO retain(TaskDTO task, Set<TaskField> fields) {
+        var result = new TaskDTO();
+        result.setId(task.getId());
+        if (fields.contains(TaskField.INDEX)) {
+            result.setIndex(task.getIndex());
+        }
+        if (fields.contains(TaskField.TITLE)) {
+            result.setTitle(task.getTitle());
+        }
+        if (fields.contains(TaskField.CONTENT)) {
+            result.setContent(task.getContent());
+        }
+        if (fields.contains(TaskField.STATUS)) {
+            result.setStatus(task.getStatus());
+        }
+        if (fields.contains(TaskField.ASSIGNEE_ID)) {
+            result.setAssigneeId(task.getAssigneeId());
+        }
+        if (fields.contains(TaskField.TASK_LABEL_IDS)) {
+            result.setTaskLabelIds(task.getTaskLabelIds());
+        }
+        if (fields.contains(TaskField.CREATED_AT)) {
+            result.setCreatedAt(task.getCreatedAt());
+        }
+        return result;
+    }
+}
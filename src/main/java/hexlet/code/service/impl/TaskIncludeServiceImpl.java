@@ -0,0 +1,79 @@
+package hexlet.code.service.impl;
+
+import hexlet.code.dto.label.LabelDTO;
+import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.dto.task.TaskInclude;
+import hexlet.code.dto.task.TaskIncludedDTO;
+import hexlet.code.dto.taskStatus.TaskStatusDTO;
+import hexlet.code.dto.user.UserDTO;
+import hexlet.code.mapper.LabelMapper;
+import hexlet.code.mapper.TaskStatusMapper;
+import hexlet.code.mapper.UserMapper;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.service.TaskIncludeService;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+@Service
+@AllArgsConstructor
+public class TaskIncludeServiceImpl implements TaskIncludeService {
+
+    private final UserRepository userRepository;
+    private final TaskStatusRepository taskStatusRepository;
+    private final LabelRepository labelRepository;
+    private final UserMapper userMapper;
+    private final TaskStatusMapper taskStatusMapper;
+    private final LabelMapper labelMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskIncludedDTO load(Collection<TaskDTO> tasks, Set<TaskInclude> include) {
+        var included = new TaskIncludedDTO();
+        if (include.contains(TaskInclude.ASSIGNEE)) {
+            Set<Long> ids = tasks.stream()
+                    .map(TaskDTO::getAssigneeId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            Map<Long, UserDTO> users = new TreeMap<>();
+            if (!ids.isEmpty()) {
+                userRepository.findAllById(ids).forEach(user -> users.put(user.getId(), userMapper.map(user)));
+            }
+            included.setUsers(users);
+        }
+        if (include.contains(TaskInclude.STATUS)) {
+            Set<String> slugs = tasks.stream()
+                    .map(TaskDTO::getStatus)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            Map<String, TaskStatusDTO> statuses = new TreeMap<>();
+            if (!slugs.isEmpty()) {
+                taskStatusRepository.findAllBySlugIn(slugs)
+                        .forEach(status -> statuses.put(status.getSlug(), taskStatusMapper.map(status)));
+            }
+            included.setStatuses(statuses);
+        }
+        if (include.contains(TaskInclude.LABELS)) {
+            Set<Long> ids = tasks.stream()
+                    .map(TaskDTO::getTaskLabelIds)
+                    .filter(Objects::nonNull)
+                    .flatMap(Collection::stream)
+                    .collect(Collectors.toSet());
+            Map<Long, LabelDTO> labels = new TreeMap<>();
+            if (!ids.isEmpty()) {
+                labelRepository.findAllById(ids).forEach(label -> labels.put(label.getId(), labelMapper.map(label)));
+            }
+            included.setLabels(labels);
+        }
+        return included;
+    }
+}
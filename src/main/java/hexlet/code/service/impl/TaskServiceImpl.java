@@ -1,50 +1,131 @@
 package hexlet.code.service.impl;
 
+import hexlet.code.dto.task.TaskBoardColumnDTO;
 import hexlet.code.dto.task.TaskCreateDTO;
+import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.dto.task.TaskField;
+import hexlet.code.dto.task.TaskMoveDTO;
+import hexlet.code.dto.task.TaskParamsDTO;
 import hexlet.code.dto.task.TaskUpdateDTO;
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.event.TaskColumnCrowdedEvent;
+import hexlet.code.exception.ConflictException;
 import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.mapper.TaskMapper;
 import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
 import hexlet.code.model.User;
+import hexlet.code.ordering.TaskIndexRebalancer;
+import hexlet.code.repository.TaskBoardRepository.BoardRow;
 import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
 import hexlet.code.service.TaskService;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 @AllArgsConstructor
 public class TaskServiceImpl implements TaskService {
 
+    // Промежуток, при котором колонку пора перенумеровать в фоне
+    private static final int CROWDED_GAP = 16;
+
     private final TaskRepository taskRepository;
+    private final TaskStatusRepository taskStatusRepository;
     private final TaskMapper taskMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskIndexRebalancer rebalancer;
 
     @Override
+    @Transactional(readOnly = true)
     public Page<Task> getAll(Specification<Task> spec, Pageable pageable) {
         return taskRepository.findAll(spec, pageable);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Task> getAll() {
         return taskRepository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Task> findById(Long id) {
         return taskRepository.findById(id);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Task> findAllById(Collection<Long> ids) {
+        return taskRepository.findAllByIdIn(ids);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<TaskDTO> getAll(Specification<Task> spec, Pageable pageable, Set<TaskField> fields) {
+        List<TaskDTO> tasks = taskRepository.findProjected(spec, pageable, fields);
+        return PageableExecutionUtils.getPage(tasks, pageable, () -> taskRepository.count(spec));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<TaskDTO> findById(Long id, Set<TaskField> fields) {
+        Specification<Task> byId = (root, query, cb) -> cb.equal(root.get("id"), id);
+        return taskRepository.findProjected(byId, Pageable.unpaged(), fields).stream().findFirst();
+    }
+
+    // Один оконный запрос за id и размерами колонок, один — за самими задачами со связями
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskBoardColumnDTO> getBoard(TaskParamsDTO params, int limit) {
+        List<BoardRow> rows = taskRepository.findBoard(params, limit);
+        Map<Long, Task> tasks = taskRepository.findAllByIdIn(rows.stream().map(BoardRow::taskId).toList())
+                .stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        Map<Long, Long> totals = new HashMap<>();
+        Map<Long, List<TaskDTO>> columns = new HashMap<>();
+        for (BoardRow row : rows) {
+            totals.put(row.statusId(), row.columnTotal());
+            columns.computeIfAbsent(row.statusId(), id -> new ArrayList<>())
+                    .add(taskMapper.map(tasks.get(row.taskId())));
+        }
+
+        // Пустые статусы тоже колонки доски
+        List<TaskStatus> statuses = params.getStatus() == null || params.getStatus().isBlank()
+                ? taskStatusRepository.findAll(Sort.by("id"))
+                : taskStatusRepository.findBySlug(params.getStatus()).stream().toList();
+        return statuses.stream()
+                .map(status -> new TaskBoardColumnDTO(status.getSlug(), status.getName(),
+                        totals.getOrDefault(status.getId(), 0L), columns.getOrDefault(status.getId(), List.of())))
+                .toList();
+    }
+
     @Override
     public Task create(TaskCreateDTO taskData) {
-        Task task = taskMapper.map(taskData);
-        return taskRepository.save(task);
+        Task task = taskRepository.save(taskMapper.map(taskData));
+        eventPublisher.publishEvent(TaskChangedEvent.created(taskMapper.map(task)));
+        return task;
     }
 
     @Override
@@ -52,8 +133,102 @@ public class TaskServiceImpl implements TaskService {
         Task taskToUpdate = taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found: " + id));
 
+        TaskDTO previous = taskMapper.map(taskToUpdate);
         taskMapper.update(taskData, taskToUpdate);
-        return taskRepository.save(taskToUpdate);
+        // Смена одних меток не делает задачу грязной, и аудит updatedAt бы не тронул
+        taskToUpdate.setUpdatedAt(LocalDateTime.now());
+        Task task = taskRepository.save(taskToUpdate);
+        eventPublisher.publishEvent(TaskChangedEvent.updated(previous, taskMapper.map(task)));
+        return task;
+    }
+
+    // Обычно это один UPDATE: задача встаёт в середину промежутка между соседями
+    @Override
+    public Task move(Long id, TaskMoveDTO move) {
+        Task task = taskRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found: " + id));
+        Long anchorId = move.getBeforeId() != null ? move.getBeforeId() : move.getAfterId();
+        if (id.equals(anchorId)) {
+            return task;
+        }
+        Long targetId = targetStatusId(task, move, anchorId);
+        taskStatusRepository.lockAllByIdIn(List.of(task.getTaskStatus().getId(), targetId));
+        // Сосед мог уйти в другую колонку до блокировки; брать ещё одну блокировку не по порядку нельзя
+        if (anchorId != null && !targetId.equals(taskRepository.findStatusIdById(anchorId))) {
+            throw new ConcurrencyFailureException("Task " + anchorId + " was moved concurrently");
+        }
+        TaskDTO previous = taskMapper.map(task);
+
+        Rank rank = rank(targetId, id, anchorId, move.getBeforeId() != null);
+        if (rank == null) {
+            rebalancer.rebalance(targetId);
+            task = taskRepository.findById(id).orElseThrow();
+            rank = rank(targetId, id, anchorId, move.getBeforeId() != null);
+            // После перенумерации места нет только в колонке, где index не помещаются в int
+            if (rank == null) {
+                throw new ConflictException("No room to move task " + id + " in status " + targetId);
+            }
+        }
+
+        task.setTaskStatus(taskStatusRepository.getReferenceById(targetId));
+        task.setIndex(rank.index());
+        Task moved = taskRepository.save(task);
+        eventPublisher.publishEvent(TaskChangedEvent.updated(previous, taskMapper.map(moved)));
+        if (rank.gap() < CROWDED_GAP) {
+            eventPublisher.publishEvent(new TaskColumnCrowdedEvent(targetId));
+        }
+        return moved;
+    }
+
+    private Long targetStatusId(Task task, TaskMoveDTO move, Long anchorId) {
+        if (anchorId != null) {
+            return taskRepository.findById(anchorId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Task not found: " + anchorId))
+                    .getTaskStatus().getId();
+        }
+        if (move.getStatus() != null) {
+            return taskStatusRepository.findBySlug(move.getStatus())
+                    .orElseThrow(() -> new ResourceNotFoundException("Task status not found: " + move.getStatus()))
+                    .getId();
+        }
+        return task.getTaskStatus().getId();
+    }
+
+    // null — места нет: у соседа нет index, он не уникален или соседи стоят вплотную
+    private Rank rank(Long statusId, Long taskId, Long anchorId, boolean before) {
+        if (anchorId == null) {
+            Integer last = taskRepository.findLastIndex(statusId, taskId);
+            if (last == null) {
+                return new Rank(TaskIndexRebalancer.GAP, TaskIndexRebalancer.GAP);
+            }
+            // У конца огромной колонки после перенумерации меньше GAP: встаём в середину оставшегося места
+            long step = Math.min(TaskIndexRebalancer.GAP, (Integer.MAX_VALUE - (long) last) / 2);
+            return step < 1 ? null : new Rank((int) (last + step), step);
+        }
+
+        Integer anchor = taskRepository.findIndexById(anchorId);
+        if (anchor == null || taskRepository.countWithIndex(statusId, anchor, taskId) > 1) {
+            return null;
+        }
+        long low;
+        long high;
+        if (before) {
+            Integer previous = taskRepository.findPreviousIndex(statusId, anchor, taskId);
+            low = previous == null ? 0 : previous;
+            high = anchor;
+        } else {
+            Integer next = taskRepository.findNextIndex(statusId, anchor, taskId);
+            low = anchor;
+            high = next == null ? Math.min((long) anchor + 2L * TaskIndexRebalancer.GAP, Integer.MAX_VALUE) : next;
+        }
+        if (high - low < 2) {
+            return null;
+        }
+        long index = low + (high - low) / 2;
+        return new Rank((int) index, Math.min(index - low, high - index));
+    }
+
+    private record Rank(int index, long gap) {
     }
 
     @Override
@@ -67,5 +242,6 @@ public class TaskServiceImpl implements TaskService {
         }
 
         taskRepository.delete(taskToDelete);
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(taskMapper.map(taskToDelete)));
     }
 }
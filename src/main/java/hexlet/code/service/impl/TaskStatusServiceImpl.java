@@ -8,8 +8,11 @@ import hexlet.code.model.TaskStatus;
 import hexlet.code.repository.TaskStatusRepository;
 import hexlet.code.service.TaskStatusService;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,11 +28,21 @@ public class TaskStatusServiceImpl implements TaskStatusService {
         return taskStatusRepository.findAll();
     }
 
+    @Override
+    public Page<TaskStatus> getAll(Pageable pageable) {
+        return taskStatusRepository.findAll(pageable);
+    }
+
     @Override
     public Optional<TaskStatus> findById(Long id) {
         return taskStatusRepository.findById(id);
     }
 
+    @Override
+    public List<TaskStatus> findAllById(Collection<Long> ids) {
+        return taskStatusRepository.findAllById(ids);
+    }
+
     @Override
     public TaskStatus create(TaskStatusCreateDTO taskStatusData) {
         TaskStatus taskStatus = taskStatusMapper.map(taskStatusData);
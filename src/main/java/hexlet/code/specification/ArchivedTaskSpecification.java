@@ -0,0 +1,62 @@
+package hexlet.code.specification;
+
+import hexlet.code.dto.task.TaskParamsDTO;
+import hexlet.code.model.ArchivedTask;
+import hexlet.code.model.TaskStatus;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+// Те же фильтры, что и в TaskSpecification, но по колонкам tasks_archive
+@Component
+public class ArchivedTaskSpecification {
+
+    public Specification<ArchivedTask> build(TaskParamsDTO params) {
+        if (params == null) {
+            return Specification.where(null);
+        }
+
+        return withTitleCont(params.getTitleCont())
+                .and(withAssigneeId(params.getAssigneeId()))
+                .and(withStatus(params.getStatus()))
+                .and(withLabelId(params.getLabelId()));
+    }
+
+    private Specification<ArchivedTask> withTitleCont(String titleCont) {
+        return (root, query, cb) -> {
+            if (titleCont == null || titleCont.isBlank()) {
+                return cb.conjunction();
+            }
+            return cb.like(cb.lower(root.get("name")), "%" + titleCont.toLowerCase() + "%");
+        };
+    }
+
+    private Specification<ArchivedTask> withAssigneeId(Long assigneeId) {
+        return (root, query, cb) -> {
+            if (assigneeId == null) {
+                return cb.conjunction();
+            }
+            return cb.equal(root.get("assigneeId"), assigneeId);
+        };
+    }
+
+    private Specification<ArchivedTask> withStatus(String status) {
+        return (root, query, cb) -> {
+            if (status == null || status.isBlank()) {
+                return cb.conjunction();
+            }
+            var subquery = query.subquery(Long.class);
+            var taskStatus = subquery.from(TaskStatus.class);
+            subquery.select(taskStatus.get("id")).where(cb.equal(taskStatus.get("slug"), status));
+            return root.get("taskStatusId").in(subquery);
+        };
+    }
+
+    private Specification<ArchivedTask> withLabelId(Long labelId) {
+        return (root, query, cb) -> {
+            if (labelId == null) {
+                return cb.conjunction();
+            }
+            return cb.equal(root.join("labelIds"), labelId);
+        };
+    }
+}
@@ -0,0 +1,312 @@
+package hexlet.code.statistics;
+
+import hexlet.code.configuration.TaskCountersConfig;
+import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.dto.task.TaskStatisticsDTO;
+import hexlet.code.event.DatasetGeneratedEvent;
+import hexlet.code.event.TaskChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Счётчики задач по статусу, исполнителю и метке, которые поддерживаются инкрементально.
+ *
+ * <p>После коммита изменения задачи приращения складываются в {@link LongAdder} в памяти: писатели,
+ * меняющие одну и ту же горячую строку счётчика, не ждут друг друга ни в JVM, ни в базе. Раз в
+ * {@code flushInterval} фоновый поток одной транзакцией переносит накопленное в {@code task_counters}
+ * и перечитывает таблицу целиком, так что чтение статистики обходится без запросов к базе.
+ *
+ * <p>Счётчики приблизительны: приращения, не дошедшие до базы при падении узла, и изменения мимо
+ * TaskService (прямые вставки JDBC, удаление меток и пользователей) не учитываются. Раз в
+ * {@code reconcileInterval} и после генерации набора данных таблица пересчитывается по {@code tasks},
+ * расхождение пишется в метрику. Пересчёт пишет поправку {@code actual - stored} приращениями под
+ * блокировкой строк счётчиков, а не заменяет таблицу: сброс другого узла не теряется и не падает.
+ * Неотправленные приращения этого узла пересчёт уже видит, поэтому они забираются до него и не пишутся.
+ */
+@Slf4j
+@Component
+public class TaskCounters {
+
+    static final String TOTAL = "total";
+    static final String STATUS = "status";
+    static final String ASSIGNEE = "assignee";
+    static final String LABEL = "label";
+    static final String UNASSIGNED = "none";
+
+    private static final String INCREMENT = "UPDATE task_counters SET task_count = task_count + ?"
+            + " WHERE dimension = ? AND counter_key = ?";
+    private static final String INSERT = "INSERT INTO task_counters (dimension, counter_key, task_count)"
+            + " VALUES (?, ?, ?)";
+
+    private final TaskCountersConfig config;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter drift;
+    private final Map<CounterKey, LongAdder> pending = new ConcurrentHashMap<>();
+    private volatile State state = new State(Map.of(), Map.of());
+    private ScheduledExecutorService executor;
+
+    public TaskCounters(TaskCountersConfig config, JdbcTemplate jdbcTemplate,
+                        PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.drift = Counter.builder("app.task_counters.drift")
+                .description("Absolute difference between stored counters and a recount, summed over all keys")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (executor != null) {
+            return;
+        }
+        state = new State(load(), Map.of());
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-counters");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long flush = config.getFlushInterval().toMillis();
+        executor.scheduleWithFixedDelay(() -> runQuietly("flush", this::flush), flush, flush, TimeUnit.MILLISECONDS);
+        // Первый пересчёт сразу: DataInitializer пишет задачи мимо событий и к этому моменту уже закончил.
+        // DatasetGenerator работает позже, после него пересчёт запускает onDatasetGenerated
+        executor.scheduleWithFixedDelay(() -> runQuietly("reconcile", this::reconcile),
+                0, config.getReconcileInterval().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @EventListener
+    public void onDatasetGenerated(DatasetGeneratedEvent event) {
+        if (executor != null) {
+            executor.execute(() -> runQuietly("reconcile", this::reconcile));
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            runQuietly("flush", this::flush);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTaskChanged(TaskChangedEvent event) {
+        switch (event.type()) {
+            case CREATED -> add(event.task(), 1);
+            case DELETED, ARCHIVED -> add(event.task(), -1);
+            case UPDATED -> {
+                add(event.previous(), -1);
+                add(event.task(), 1);
+            }
+            default -> throw new IllegalArgumentException("Unknown task event: " + event.type());
+        }
+    }
+
+    // Хранимое значение плюс приращения, ещё не дошедшие до базы: свои изменения узел видит сразу
+    public TaskStatisticsDTO statistics() {
+        State current = state;
+        Map<CounterKey, Long> counts = new HashMap<>(current.stored());
+        current.inFlight().forEach((key, delta) -> counts.merge(key, delta, Long::sum));
+        pending.forEach((key, adder) -> counts.merge(key, adder.sum(), Long::sum));
+
+        Map<String, Long> byStatus = new TreeMap<>();
+        Map<Long, Long> byAssignee = new TreeMap<>();
+        Map<Long, Long> byLabel = new TreeMap<>();
+        long total = 0;
+        long unassigned = 0;
+        for (var entry : counts.entrySet()) {
+            long count = entry.getValue();
+            if (count <= 0) {
+                continue;
+            }
+            String key = entry.getKey().key();
+            switch (entry.getKey().dimension()) {
+                case TOTAL -> total = count;
+                case STATUS -> byStatus.put(key, count);
+                case ASSIGNEE -> {
+                    if (UNASSIGNED.equals(key)) {
+                        unassigned = count;
+                    } else {
+                        byAssignee.put(Long.valueOf(key), count);
+                    }
+                }
+                case LABEL -> byLabel.put(Long.valueOf(key), count);
+                default -> log.debug("Unknown task counter dimension {}", entry.getKey().dimension());
+            }
+        }
+        return new TaskStatisticsDTO(total, byStatus, byAssignee, unassigned, byLabel);
+    }
+
+    public synchronized void flush() {
+        Map<CounterKey, Long> deltas = drain();
+        if (deltas.isEmpty()) {
+            state = new State(load(), Map.of());
+            return;
+        }
+
+        state = new State(state.stored(), deltas);
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(deltas));
+        } catch (RuntimeException e) {
+            // Приращения возвращаются в очередь и уйдут следующей пачкой
+            deltas.forEach((key, delta) -> adder(key).add(delta));
+            state = new State(state.stored(), Map.of());
+            throw e;
+        }
+        state = new State(load(), Map.of());
+    }
+
+    // synchronized вместе с flush: между забором приращений и пересчётом этот узел ничего не пишет
+    public synchronized void reconcile() {
+        long started = System.nanoTime();
+        Map<CounterKey, Long> unflushed = drain();
+        state = new State(state.stored(), unflushed);
+        long difference;
+        try {
+            difference = transactionTemplate.execute(status -> {
+                // FOR UPDATE: поправка ляжет поверх именно этих значений, сброс других узлов подождёт
+                Map<CounterKey, Long> stored = load(" FOR UPDATE");
+                Map<CounterKey, Long> actual = recount();
+
+                Set<CounterKey> keys = new HashSet<>(actual.keySet());
+                keys.addAll(stored.keySet());
+                Map<CounterKey, Long> correction = new HashMap<>();
+                long sum = 0;
+                for (CounterKey key : keys) {
+                    long target = actual.getOrDefault(key, 0L);
+                    long current = stored.getOrDefault(key, 0L);
+                    sum += Math.abs(target - current - unflushed.getOrDefault(key, 0L));
+                    if (target != current) {
+                        correction.put(key, target - current);
+                    }
+                }
+                write(correction);
+                jdbcTemplate.update("DELETE FROM task_counters WHERE task_count = 0");
+                return sum;
+            });
+        } catch (RuntimeException e) {
+            unflushed.forEach((key, delta) -> adder(key).add(delta));
+            state = new State(state.stored(), Map.of());
+            throw e;
+        }
+        state = new State(load(), Map.of());
+        drift.increment(difference);
+        log.info("Task counters reconciled in {} ms, drift {}", (System.nanoTime() - started) / 1_000_000,
+                difference);
+    }
+
+    private Map<CounterKey, Long> drain() {
+        Map<CounterKey, Long> deltas = new HashMap<>();
+        pending.forEach((key, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta != 0) {
+                deltas.put(key, delta);
+            }
+        });
+        return deltas;
+    }
+
+    private void add(TaskDTO task, long delta) {
+        if (task == null) {
+            return;
+        }
+        adder(new CounterKey(TOTAL, "")).add(delta);
+        if (task.getStatus() != null) {
+            adder(new CounterKey(STATUS, task.getStatus())).add(delta);
+        }
+        String assignee = task.getAssigneeId() == null ? UNASSIGNED : task.getAssigneeId().toString();
+        adder(new CounterKey(ASSIGNEE, assignee)).add(delta);
+        if (task.getTaskLabelIds() != null) {
+            task.getTaskLabelIds().forEach(label -> adder(new CounterKey(LABEL, label.toString())).add(delta));
+        }
+    }
+
+    private LongAdder adder(CounterKey key) {
+        return pending.computeIfAbsent(key, k -> new LongAdder());
+    }
+
+    private void write(Map<CounterKey, Long> deltas) {
+        List<CounterKey> keys = new ArrayList<>(deltas.keySet());
+        int[] updated = jdbcTemplate.batchUpdate(INCREMENT, keys.stream()
+                .map(key -> new Object[] {deltas.get(key), key.dimension(), key.key()})
+                .toList());
+
+        // Строки ещё нет. Если её одновременно вставит другой узел, транзакция упадёт и повторится
+        List<Object[]> missing = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            if (updated[i] == 0) {
+                CounterKey key = keys.get(i);
+                missing.add(new Object[] {key.dimension(), key.key(), deltas.get(key)});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT, missing);
+    }
+
+    private Map<CounterKey, Long> load() {
+        return load("");
+    }
+
+    private Map<CounterKey, Long> load(String lock) {
+        Map<CounterKey, Long> counts = new HashMap<>();
+        jdbcTemplate.query("SELECT dimension, counter_key, task_count FROM task_counters" + lock, rs -> {
+            counts.put(new CounterKey(rs.getString(1), rs.getString(2)), rs.getLong(3));
+        });
+        return Map.copyOf(counts);
+    }
+
+    private Map<CounterKey, Long> recount() {
+        Map<CounterKey, Long> counts = new HashMap<>();
+        counts.put(new CounterKey(TOTAL, ""), jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks", Long.class));
+        collect(counts, STATUS, "SELECT s.slug, COUNT(*) FROM tasks t"
+                + " JOIN task_statuses s ON s.id = t.task_status_id GROUP BY s.slug");
+        collect(counts, ASSIGNEE, "SELECT assignee_id, COUNT(*) FROM tasks GROUP BY assignee_id");
+        collect(counts, LABEL, "SELECT label_id, COUNT(*) FROM task_labels GROUP BY label_id");
+        return counts;
+    }
+
+    private void collect(Map<CounterKey, Long> counts, String dimension, String sql) {
+        jdbcTemplate.query(sql, rs -> {
+            String key = rs.getString(1);
+            counts.put(new CounterKey(dimension, key == null ? UNASSIGNED : key), rs.getLong(2));
+        });
+    }
+
+    private static void runQuietly(String name, Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            log.info("Task counters {} failed, will retry: {}", name, e.getMessage());
+        }
+    }
+
+    record CounterKey(String dimension, String key) {
+    }
+
+    // stored — последнее прочитанное из базы, inFlight — приращения, которые сейчас пишутся
+    private record State(Map<CounterKey, Long> stored, Map<CounterKey, Long> inFlight) {
+    }
+}
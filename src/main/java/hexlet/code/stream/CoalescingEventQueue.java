@@ -0,0 +1,56 @@
+package hexlet.code.stream;
+
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.event.TaskChangedEvent.Type;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Очередь неотправленных событий одного подписчика. Ключ — id задачи: новое изменение задачи заменяет
+// неотправленное, поэтому медленный клиент получает последнее состояние, а не всю историю.
+// Размер ограничен числом разных задач. Не потокобезопасна, синхронизацию обеспечивает владелец
+final class CoalescingEventQueue {
+
+    enum Offer {
+        QUEUED, COALESCED, OVERFLOW
+    }
+
+    record Entry(long id, TaskChangedEvent event) {
+    }
+
+    private final int capacity;
+    private final Map<Long, Entry> pending = new LinkedHashMap<>();
+
+    CoalescingEventQueue(int capacity) {
+        this.capacity = capacity;
+    }
+
+    Offer offer(long id, TaskChangedEvent event) {
+        Entry previous = pending.remove(event.taskId());
+        if (previous == null && pending.size() >= capacity) {
+            return Offer.OVERFLOW;
+        }
+        pending.put(event.taskId(), new Entry(id, merge(previous, event)));
+        return previous == null ? Offer.QUEUED : Offer.COALESCED;
+    }
+
+    List<Entry> drain() {
+        List<Entry> entries = new ArrayList<>(pending.values());
+        pending.clear();
+        return entries;
+    }
+
+    boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    // Клиент ещё не видел создание — для него задача по-прежнему новая
+    private static TaskChangedEvent merge(Entry previous, TaskChangedEvent event) {
+        if (previous != null && previous.event().type() == Type.CREATED && event.type() == Type.UPDATED) {
+            return TaskChangedEvent.created(event.task());
+        }
+        return event;
+    }
+}
@@ -0,0 +1,41 @@
+package hexlet.code.stream;
+
+import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.dto.task.TaskParamsDTO;
+import hexlet.code.event.TaskChangedEvent;
+
+import java.util.Locale;
+
+// Те же условия, что у TaskSpecification, но проверяются в памяти по TaskDTO из события
+public record TaskEventFilter(String titleCont, Long assigneeId, String status, Long labelId) {
+
+    public static TaskEventFilter of(TaskParamsDTO params) {
+        if (params == null) {
+            return new TaskEventFilter(null, null, null, null);
+        }
+        String title = params.getTitleCont() == null || params.getTitleCont().isBlank()
+                ? null
+                : params.getTitleCont().toLowerCase(Locale.ROOT);
+        String status = params.getStatus() == null || params.getStatus().isBlank() ? null : params.getStatus();
+        return new TaskEventFilter(title, params.getAssigneeId(), status, params.getLabelId());
+    }
+
+    // Обновление интересно и тогда, когда задача попала в выборку, и когда из неё ушла
+    public boolean matches(TaskChangedEvent event) {
+        return matches(event.task()) || event.previous() != null && matches(event.previous());
+    }
+
+    boolean matches(TaskDTO task) {
+        if (titleCont != null && (task.getTitle() == null
+                || !task.getTitle().toLowerCase(Locale.ROOT).contains(titleCont))) {
+            return false;
+        }
+        if (assigneeId != null && !assigneeId.equals(task.getAssigneeId())) {
+            return false;
+        }
+        if (status != null && !status.equals(task.getStatus())) {
+            return false;
+        }
+        return labelId == null || task.getTaskLabelIds() != null && task.getTaskLabelIds().contains(labelId);
+    }
+}
@@ -0,0 +1,325 @@
+package hexlet.code.stream;
+
+import hexlet.code.configuration.TaskStreamConfig;
+import hexlet.code.event.TaskChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Рассылка изменений задач подписчикам SSE.
+ *
+ * <p>Событие приходит после коммита транзакции. Поток, закоммитивший изменение, только раскладывает его
+ * по очередям подписчиков и ни на ком не блокируется. Отправку выполняет небольшой пул: на каждого
+ * подписчика в пуле стоит не больше одной задачи, поэтому очередь пула ограничена числом подписчиков.
+ * Изменения одной задачи схлопываются, а подписчик, у которого накопилось больше
+ * {@code maxPendingEvents} разных задач, получает событие {@code resync} и отключается.
+ *
+ * <p>Запись в SSE блокирующая, поэтому каждая отправка засекается: подписчик, чья запись не закончилась
+ * за {@code sendTimeout}, отключается, а вместо застрявшего потока пул получает новый до её завершения.
+ * Так несколько клиентов с переполненным TCP-буфером не останавливают доставку остальным.
+ */
+@Slf4j
+@Component
+public class TaskStreamBroadcaster {
+
+    static final String RESYNC = "resync";
+
+    private final TaskStreamConfig config;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Места резервируются до добавления в subscribers, иначе параллельные подписки превысят лимит
+    private final AtomicInteger slots = new AtomicInteger();
+    // Подписчики, у которых прямо сейчас идёт запись, в том числе уже отписанные с resync
+    private final Set<Subscriber> sending = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ThreadPoolExecutor senders;
+    private final ScheduledExecutorService heartbeats;
+    private final Counter coalesced;
+    private final Counter dropped;
+
+    public TaskStreamBroadcaster(TaskStreamConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        // Очередь без границы, поэтому потоков ровно corePoolSize; максимум нужен только для его увеличения
+        this.senders = new ThreadPoolExecutor(config.getSenderThreads(), Integer.MAX_VALUE, 1, TimeUnit.MINUTES,
+                new LinkedBlockingQueue<>(), daemonThreads("task-stream-"));
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(daemonThreads("task-stream-heartbeat-"));
+        long interval = config.getHeartbeatInterval().toMillis();
+        heartbeats.scheduleAtFixedRate(this::heartbeat, interval, interval, TimeUnit.MILLISECONDS);
+        long check = Math.max(config.getSendTimeout().toMillis() / 2, 1);
+        heartbeats.scheduleAtFixedRate(this::evictStalled, check, check, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("app.task_stream.subscribers", subscribers, Set::size)
+                .description("Open task change streams")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("app.task_stream.coalesced")
+                .description("Task changes merged into an unsent change of the same task")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("app.task_stream.dropped")
+                .description("Subscribers disconnected because they fell behind or stopped reading")
+                .register(meterRegistry);
+    }
+
+    public Optional<SseEmitter> subscribe(TaskEventFilter filter) {
+        if (slots.incrementAndGet() > config.getMaxSubscribers()) {
+            slots.decrementAndGet();
+            return Optional.empty();
+        }
+        var emitter = new SseEmitter(config.getTimeout().toMillis());
+        var subscriber = new Subscriber(emitter, filter);
+        subscribers.add(subscriber);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        return Optional.of(emitter);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTaskChanged(TaskChangedEvent event) {
+        long id = sequence.incrementAndGet();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.filter.matches(event)) {
+                subscriber.offer(id, event);
+            }
+        }
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private void heartbeat() {
+        subscribers.forEach(Subscriber::requestHeartbeat);
+    }
+
+    private void evictStalled() {
+        long deadline = System.nanoTime() - config.getSendTimeout().toNanos();
+        for (Subscriber subscriber : sending) {
+            long since = subscriber.sendingSince;
+            if (since != 0 && since - deadline < 0) {
+                subscriber.evict();
+            }
+        }
+    }
+
+    // Застрявший поток не считается: пока его запись не вернётся, пул работает с заменой
+    private synchronized void resizeSenders(int delta) {
+        senders.setCorePoolSize(senders.getCorePoolSize() + delta);
+    }
+
+    void closeAll() {
+        subscribers.forEach(subscriber -> {
+            subscriber.close();
+            subscriber.emitter.complete();
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeats.shutdownNow();
+        senders.shutdownNow();
+        closeAll();
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        var counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final TaskEventFilter filter;
+        private final CoalescingEventQueue queue;
+        // System.nanoTime() начала текущей записи, 0 — запись не идёт
+        private volatile long sendingSince;
+        private boolean heartbeatDue;
+        private boolean resyncDue;
+        private boolean scheduled;
+        private boolean closed;
+        private boolean stalled;
+
+        Subscriber(SseEmitter emitter, TaskEventFilter filter) {
+            this.emitter = emitter;
+            this.filter = filter;
+            this.queue = new CoalescingEventQueue(config.getMaxPendingEvents());
+        }
+
+        void offer(long id, TaskChangedEvent event) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                switch (queue.offer(id, event)) {
+                    case COALESCED -> coalesced.increment();
+                    case OVERFLOW -> dropSlowConsumer();
+                    default -> {
+                    }
+                }
+                if (!schedule()) {
+                    return;
+                }
+            }
+            senders.execute(this::drain);
+        }
+
+        void requestHeartbeat() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                heartbeatDue = true;
+                if (!schedule()) {
+                    return;
+                }
+            }
+            senders.execute(this::drain);
+        }
+
+        // Вызывается под монитором: true, если отправку нужно поставить в пул
+        private boolean schedule() {
+            if (scheduled) {
+                return false;
+            }
+            scheduled = true;
+            return true;
+        }
+
+        private void drain() {
+            while (true) {
+                List<CoalescingEventQueue.Entry> entries;
+                boolean heartbeat;
+                boolean resync;
+                synchronized (this) {
+                    resync = resyncDue && !stalled;
+                    resyncDue = false;
+                    if (!resync && (closed || queue.isEmpty() && !heartbeatDue)) {
+                        scheduled = false;
+                        return;
+                    }
+                    entries = queue.drain();
+                    heartbeat = heartbeatDue;
+                    heartbeatDue = false;
+                }
+                if (!send(entries, heartbeat, resync) || resync) {
+                    return;
+                }
+            }
+        }
+
+        private boolean send(List<CoalescingEventQueue.Entry> entries, boolean heartbeat, boolean resync) {
+            sendingSince = System.nanoTime();
+            sending.add(this);
+            try {
+                for (var entry : entries) {
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(entry.id()))
+                            .name(entry.event().type().name().toLowerCase(Locale.ROOT))
+                            .data(entry.event().task(), MediaType.APPLICATION_JSON));
+                }
+                if (heartbeat) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+                if (resync) {
+                    emitter.send(SseEmitter.event().name(RESYNC).data(""));
+                    emitter.complete();
+                }
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                // Клиент отключился: Tomcat сообщит об ошибке и через onError, здесь достаточно отписать
+                close();
+                if (resync) {
+                    emitter.completeWithError(e);
+                }
+                return false;
+            } finally {
+                sending.remove(this);
+                sendingSince = 0;
+                finishStalled();
+            }
+        }
+
+        // Вызывается под монитором. Клиент сам перечитает список по событию resync;
+        // resync уходит через ту же drain, а значит, и под тем же таймаутом записи
+        private void dropSlowConsumer() {
+            closed = true;
+            resyncDue = true;
+            queue.drain();
+            release();
+            dropped.increment();
+            log.info("Task stream subscriber fell behind by {} tasks, disconnecting", config.getMaxPendingEvents());
+        }
+
+        // Из потока проверки. Методы emitter здесь не вызываются: они ждут ту же блокировку, что и зависшая
+        // запись. Соединение закрывается, когда запись вернётся — сама или по таймауту записи Tomcat
+        void evict() {
+            synchronized (this) {
+                if (stalled || sendingSince == 0) {
+                    return;
+                }
+                stalled = true;
+                closed = true;
+                queue.drain();
+            }
+            if (release()) {
+                dropped.increment();
+            }
+            resizeSenders(1);
+            log.info("Task stream subscriber did not accept a write within {}, disconnecting",
+                    config.getSendTimeout());
+        }
+
+        private void finishStalled() {
+            synchronized (this) {
+                if (!stalled) {
+                    return;
+                }
+            }
+            resizeSenders(-1);
+            try {
+                emitter.complete();
+            } catch (IllegalStateException e) {
+                log.debug("Task stream emitter already completed: {}", e.getMessage());
+            }
+        }
+
+        synchronized void close() {
+            closed = true;
+            queue.drain();
+            release();
+        }
+
+        // Место освобождается ровно один раз, кто бы ни отписал подписчика первым
+        private boolean release() {
+            if (subscribers.remove(this)) {
+                slots.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package hexlet.code.sync;
+
+import hexlet.code.configuration.SyncConfig;
+import hexlet.code.model.OutboxCheckpoint;
+import hexlet.code.repository.ChangeLogEntryRepository;
+import hexlet.code.repository.OutboxCheckpointRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Удаляет из change_log записи старше app.sync.retention. Граница удалённого хранится в строке
+// outbox_checkpoints: токен не новее неё получает 410, иначе клиент молча пропустил бы удалённые изменения
+@Slf4j
+@Component
+public class ChangeLogPurger {
+
+    public static final String CHECKPOINT = "change-log";
+
+    private final SyncConfig config;
+    private final ChangeLogEntryRepository changeLogEntryRepository;
+    private final OutboxCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private ScheduledExecutorService executor;
+
+    public ChangeLogPurger(SyncConfig config, ChangeLogEntryRepository changeLogEntryRepository,
+                           OutboxCheckpointRepository checkpointRepository,
+                           PlatformTransactionManager transactionManager) {
+        this.config = config;
+        this.changeLogEntryRepository = changeLogEntryRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "change-log-purger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = config.getPurgeInterval().toMillis();
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                purge();
+            } catch (RuntimeException e) {
+                log.info("Change log purge failed, will retry: {}", e.getMessage());
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    // Возвращает число удалённых записей
+    public int purge() {
+        Integer purged = transactionTemplate.execute(status -> {
+            Optional<Long> last = changeLogEntryRepository.findLastIdChangedBefore(
+                    LocalDateTime.now().minus(config.getRetention()));
+            if (last.isEmpty()) {
+                return 0;
+            }
+            OutboxCheckpoint checkpoint = lockCheckpoint();
+            checkpoint.setLastEventId(Math.max(checkpoint.getLastEventId(), last.get()));
+            checkpoint.setUpdatedAt(LocalDateTime.now());
+            return changeLogEntryRepository.deleteAllByIdUpTo(last.get());
+        });
+        if (purged > 0) {
+            log.info("Purged {} change log entries", purged);
+        }
+        return purged;
+    }
+
+    private OutboxCheckpoint lockCheckpoint() {
+        return checkpointRepository.lockByRelay(CHECKPOINT).orElseGet(() -> {
+            var checkpoint = new OutboxCheckpoint();
+            checkpoint.setRelay(CHECKPOINT);
+            return checkpointRepository.saveAndFlush(checkpoint);
+        });
+    }
+}
@@ -0,0 +1,99 @@
+package hexlet.code.sync;
+
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.model.Label;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+// Пишет change_log в транзакции самого изменения: откат убирает и запись журнала.
+// Задачи — по TaskChangedEvent: смена одних меток не делает задачу грязной, и @PostUpdate её бы пропустил.
+// Статусы, метки и пользователи событий не публикуют, для них класс подключён как JPA-listener.
+// Запись идёт через JDBC: из JPA-колбэка EntityManager трогать нельзя, а соединение у транзакции то же
+@Component
+public class ChangeLogWriter {
+
+    private static final String INSERT =
+            "INSERT INTO change_log (entity_type, entity_id, deleted, changed_at) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ChangeLogWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // BEFORE_COMMIT, как и outbox: чем ближе выдача id к коммиту, тем реже читатель видит пропуски
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onTaskChanged(TaskChangedEvent event) {
+        record(SyncEntity.TASK, event.taskId(), event.removesTask());
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        onChange(entity, false);
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        onChange(entity, true);
+    }
+
+    // Перенумерация колонки меняет index задач одним UPDATE мимо JPA и событий
+    public void recordTasksOfStatus(Long statusId) {
+        jdbcTemplate.update("INSERT INTO change_log (entity_type, entity_id, deleted, changed_at)"
+                + " SELECT ?, id, FALSE, ? FROM tasks WHERE task_status_id = ?",
+                SyncEntity.TASK.value(), now(), statusId);
+    }
+
+    // Засев и генератор набора данных вставляют строки через JDBC мимо JPA и событий
+    public void recordInserted(SyncEntity entity, String table, String column, Collection<?> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        List<Object> args = new ArrayList<>();
+        args.add(entity.value());
+        args.add(now());
+        args.addAll(values);
+        jdbcTemplate.update("INSERT INTO change_log (entity_type, entity_id, deleted, changed_at)"
+                + " SELECT ?, id, FALSE, ? FROM " + table + " WHERE " + column
+                + " IN (" + String.join(", ", Collections.nCopies(values.size(), "?")) + ")", args.toArray());
+    }
+
+    public void recordInserted(SyncEntity entity, String table, long firstId, long lastId) {
+        jdbcTemplate.update("INSERT INTO change_log (entity_type, entity_id, deleted, changed_at)"
+                + " SELECT ?, id, FALSE, ? FROM " + table + " WHERE id BETWEEN ? AND ?",
+                entity.value(), now(), firstId, lastId);
+    }
+
+    private void onChange(Object entity, boolean deleted) {
+        if (entity instanceof TaskStatus status) {
+            record(SyncEntity.STATUS, status.getId(), deleted);
+        } else if (entity instanceof Label label) {
+            record(SyncEntity.LABEL, label.getId(), deleted);
+        } else if (entity instanceof User user) {
+            record(SyncEntity.USER, user.getId(), deleted);
+        }
+    }
+
+    private void record(SyncEntity entity, Long id, boolean deleted) {
+        jdbcTemplate.update(INSERT, entity.value(), id, deleted, now());
+    }
+
+    private static Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now());
+    }
+}
@@ -0,0 +1,28 @@
+package hexlet.code.sync;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+// Значение хранится в change_log.entity_type
+public enum SyncEntity {
+    TASK("task"),
+    LABEL("label"),
+    STATUS("status"),
+    USER("user");
+
+    private final String value;
+
+    SyncEntity(String value) {
+        this.value = value;
+    }
+
+    public String value() {
+        return value;
+    }
+
+    public static Optional<SyncEntity> of(String value) {
+        return Arrays.stream(values())
+                .filter(entity -> entity.value.equals(value))
+                .findFirst();
+    }
+}
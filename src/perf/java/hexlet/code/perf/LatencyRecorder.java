@@ -0,0 +1,69 @@
+package hexlet.code.perf;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class LatencyRecorder {
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    public void record(String endpoint, long latencyNanos, boolean success) {
+        endpoints.computeIfAbsent(endpoint, key -> new Endpoint()).add(latencyNanos, success);
+    }
+
+    public Map<String, Map<String, Object>> summary(double durationSeconds) {
+        Map<String, Map<String, Object>> result = new TreeMap<>();
+        endpoints.forEach((name, endpoint) -> result.put(name, endpoint.summary(durationSeconds)));
+        return result;
+    }
+
+    private static final class Endpoint {
+        private long[] latencies = new long[1024];
+        private int size;
+        private long errors;
+
+        synchronized void add(long latencyNanos, boolean success) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latencyNanos;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        synchronized Map<String, Object> summary(double durationSeconds) {
+            long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("requests", size);
+            result.put("errors", errors);
+            result.put("throughputRps", round(size / durationSeconds));
+            result.put("p50Ms", percentile(sorted, 0.50));
+            result.put("p95Ms", percentile(sorted, 0.95));
+            result.put("p99Ms", percentile(sorted, 0.99));
+            result.put("maxMs", sorted.length == 0 ? 0.0 : toMillis(sorted[sorted.length - 1]));
+            return result;
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0.0;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length) - 1;
+            return toMillis(sorted[Math.max(rank, 0)]);
+        }
+
+        private static double toMillis(long nanos) {
+            return round(nanos / 1_000_000.0);
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 100) / 100.0;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package hexlet.code.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import hexlet.code.AppApplication;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Нагрузочный тест: поднимает приложение на профиле development, засеивает данные и подаёт
+ * смешанную нагрузку с заданной частотой (открытая модель). Латентность считается от запланированного
+ * момента отправки, поэтому очередь перед перегруженным сервером тоже попадает в перцентили.
+ *
+ * <p>Параметры: -Ploadtest.users, loadtest.labels, loadtest.tasks, loadtest.rps, loadtest.duration,
+ * loadtest.warmup (секунды), loadtest.concurrency.
+ */
+public final class LoadTest {
+
+    private static final String PASSWORD = "load-test-password";
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int users = intProperty("loadtest.users", 50);
+        int labels = intProperty("loadtest.labels", 20);
+        int tasks = intProperty("loadtest.tasks", 1000);
+        int rps = intProperty("loadtest.rps", 200);
+        int duration = intProperty("loadtest.duration", 30);
+        int warmup = intProperty("loadtest.warmup", 5);
+        int concurrency = intProperty("loadtest.concurrency", 64);
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(AppApplication.class)
+                .profiles("development")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.devtools.restart.enabled=false",
+                        "logging.level.root=WARN")
+                .run(args);
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        try {
+            var seed = seed(context, users, labels, tasks);
+            var port = context.getEnvironment().getRequiredProperty("local.server.port");
+            var client = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            var workload = new Workload(client, "http://localhost:" + port, seed);
+            workload.authenticate();
+
+            System.out.printf("Warming up for %ds at %d req/s%n", warmup, rps);
+            drive(workload, workers, rps, warmup, new LatencyRecorder());
+
+            System.out.printf("Running for %ds at %d req/s%n", duration, rps);
+            var recorder = new LatencyRecorder();
+            long started = System.nanoTime();
+            drive(workload, workers, rps, duration, recorder);
+            workers.shutdown();
+            workers.awaitTermination(1, TimeUnit.MINUTES);
+            double elapsed = (System.nanoTime() - started) / 1_000_000_000.0;
+
+            report(recorder, elapsed, rps, seed);
+        } finally {
+            workers.shutdownNow();
+            context.close();
+        }
+    }
+
+    private static void drive(Workload workload, ExecutorService workers, int rps, int seconds,
+                              LatencyRecorder recorder) {
+        long interval = TimeUnit.SECONDS.toNanos(1) / rps;
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+
+        for (long intended = start; intended < end; intended += interval) {
+            long delay = intended - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            long scheduledAt = intended;
+            String operation = workload.nextOperation();
+            workers.execute(() -> {
+                boolean success;
+                try {
+                    success = workload.execute(operation);
+                } catch (IOException e) {
+                    success = false;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                recorder.record(operation, System.nanoTime() - scheduledAt, success);
+            });
+        }
+    }
+
+    private static Workload.SeedData seed(ConfigurableApplicationContext context, int users, int labels, int tasks) {
+        var userRepository = context.getBean(UserRepository.class);
+        var labelRepository = context.getBean(LabelRepository.class);
+        var taskRepository = context.getBean(TaskRepository.class);
+        var statuses = context.getBean(TaskStatusRepository.class).findAll();
+
+        // Один хэш на всех: BCrypt на каждого пользователя растянул бы засев на минуты
+        String digest = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        List<User> newUsers = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            User user = new User();
+            user.setEmail("load" + i + "@example.com");
+            user.setFirstName("Load");
+            user.setLastName("User" + i);
+            user.setPasswordDigest(digest);
+            newUsers.add(user);
+        }
+        var savedUsers = userRepository.saveAll(newUsers);
+
+        List<Label> newLabels = new ArrayList<>();
+        for (int i = 0; i < labels; i++) {
+            Label label = new Label();
+            label.setName("load-label-" + i);
+            newLabels.add(label);
+        }
+        var savedLabels = labelRepository.saveAll(newLabels);
+
+        var random = ThreadLocalRandom.current();
+        List<Task> newTasks = new ArrayList<>();
+        for (int i = 0; i < tasks; i++) {
+            Task task = new Task();
+            task.setName("Load task " + i);
+            task.setDescription("Seeded by the load test");
+            task.setIndex(i);
+            task.setTaskStatus(statuses.get(random.nextInt(statuses.size())));
+            task.setAssignee(savedUsers.get(random.nextInt(savedUsers.size())));
+            task.setLabels(new HashSet<>(Set.of(savedLabels.get(random.nextInt(savedLabels.size())))));
+            newTasks.add(task);
+        }
+        var savedTasks = taskRepository.saveAll(newTasks);
+
+        return new Workload.SeedData(
+                savedUsers.stream().map(User::getEmail).toList(),
+                PASSWORD,
+                savedTasks.stream().map(Task::getId).toList(),
+                savedUsers.stream().map(User::getId).toList(),
+                statuses.stream().map(TaskStatus::getSlug).toList());
+    }
+
+    private static void report(LatencyRecorder recorder, double elapsed, int rps, Workload.SeedData seed)
+            throws IOException {
+        var endpoints = recorder.summary(elapsed);
+
+        System.out.printf("%n%-8s %9s %7s %10s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "rps", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        endpoints.forEach((name, stats) -> System.out.printf("%-8s %9s %7s %10s %9s %9s %9s %9s%n",
+                name, stats.get("requests"), stats.get("errors"), stats.get("throughputRps"),
+                stats.get("p50Ms"), stats.get("p95Ms"), stats.get("p99Ms"), stats.get("maxMs")));
+
+        String reportPath = System.getProperty("loadtest.report");
+        if (reportPath != null) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("targetRps", rps);
+            result.put("durationSeconds", elapsed);
+            result.put("seededTasks", seed.taskIds().size());
+            result.put("seededUsers", seed.userIds().size());
+            result.put("endpoints", endpoints);
+
+            File file = new File(reportPath);
+            file.getParentFile().mkdirs();
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, result);
+            System.out.println("Report written to " + file);
+        }
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        return Integer.parseInt(System.getProperty(name, String.valueOf(defaultValue)));
+    }
+}
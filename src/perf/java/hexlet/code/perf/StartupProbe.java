@@ -0,0 +1,219 @@
+package hexlet.code.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Смоук-тест и замер старта: запускает каждую сборку приложения отдельным процессом на профиле development (H2),
+ * логинится через /api/login и запрашивает /api/tasks. Время считается от запуска процесса до первого
+ * успешного ответа /api/tasks, RSS читается из /proc после этого ответа.
+ *
+ * <p>Аргументы: {@code имя=команда}, команда разбивается по пробелам, {@code {java}} заменяется на текущий java.
+ * Первая сборка — база для сравнения. Параметры: startup.report, startup.timeout (секунды),
+ * startup.username, startup.password.
+ */
+public final class StartupProbe {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(5);
+    private static final long POLL_INTERVAL_MS = 20;
+
+    private StartupProbe() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            throw new IllegalArgumentException("Usage: StartupProbe name=command [name=command ...]");
+        }
+        int timeout = Integer.parseInt(System.getProperty("startup.timeout", "120"));
+
+        Map<String, Map<String, Object>> results = new LinkedHashMap<>();
+        boolean failed = false;
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            String name = arg.substring(0, separator);
+            List<String> command = command(arg.substring(separator + 1));
+
+            System.out.printf("Starting %s: %s%n", name, String.join(" ", command));
+            var result = probe(name, command, timeout);
+            failed |= !Boolean.TRUE.equals(result.get("success"));
+            results.put(name, result);
+        }
+
+        report(results);
+        if (failed) {
+            System.exit(1);
+        }
+    }
+
+    private static List<String> command(String line) {
+        String java = ProcessHandle.current().info().command().orElse("java");
+        List<String> command = new ArrayList<>();
+        for (String token : line.trim().split("\\s+")) {
+            command.add(token.equals("{java}") ? java : token);
+        }
+        return command;
+    }
+
+    private static Map<String, Object> probe(String name, List<String> command, int timeoutSeconds)
+            throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> full = new ArrayList<>(command);
+        full.addAll(Arrays.asList(
+                "--spring.profiles.active=development",
+                "--server.port=" + port,
+                "--spring.devtools.restart.enabled=false"));
+
+        File log = logFile(name);
+        var client = HttpClient.newBuilder().connectTimeout(REQUEST_TIMEOUT).build();
+        var baseUrl = "http://localhost:" + port;
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("command", String.join(" ", command));
+        result.put("log", log.getPath());
+
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(full)
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+        try {
+            long deadline = started + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+            String token = null;
+            int tasksStatus = -1;
+            while (System.nanoTime() < deadline && process.isAlive()) {
+                try {
+                    if (token == null) {
+                        token = login(client, baseUrl);
+                    }
+                    if (token != null) {
+                        tasksStatus = tasks(client, baseUrl, token);
+                        if (tasksStatus == 200) {
+                            break;
+                        }
+                    }
+                } catch (ConnectException e) {
+                    // Сервер ещё не слушает порт
+                }
+                Thread.sleep(POLL_INTERVAL_MS);
+            }
+
+            boolean success = tasksStatus == 200;
+            result.put("success", success);
+            if (success) {
+                result.put("firstResponseMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+                result.put("rssMb", rssMb(process.pid()));
+            } else {
+                result.put("error", !process.isAlive()
+                        ? "process exited with code " + process.exitValue()
+                        : token == null ? "login failed" : "/api/tasks returned " + tasksStatus);
+            }
+            return result;
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static String login(HttpClient client, String baseUrl) throws IOException, InterruptedException {
+        var body = new ObjectMapper().writeValueAsString(Map.of(
+                "username", System.getProperty("startup.username", "hexlet@example.com"),
+                "password", System.getProperty("startup.password", "qwerty")));
+        var request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/login"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        var response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        return response.statusCode() == 200 ? response.body() : null;
+    }
+
+    private static int tasks(HttpClient client, String baseUrl, String token)
+            throws IOException, InterruptedException {
+        var request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/tasks"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        var response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        // Смоук-тест: ответ должен быть JSON-массивом задач, а не страницей ошибки
+        return response.statusCode() == 200 && !response.body().startsWith("[") ? -1 : response.statusCode();
+    }
+
+    // VmRSS из /proc есть только на Linux; на других системах в отчёте будет null
+    private static Double rssMb(long pid) throws IOException {
+        Path status = Path.of("/proc", String.valueOf(pid), "status");
+        if (!Files.exists(status)) {
+            return null;
+        }
+        for (String line : Files.readAllLines(status)) {
+            if (line.startsWith("VmRSS:")) {
+                long kb = Long.parseLong(line.replaceAll("\\D+", ""));
+                return Math.round(kb / 1024.0 * 10) / 10.0;
+            }
+        }
+        return null;
+    }
+
+    private static int freePort() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static File logFile(String name) throws IOException {
+        String reportPath = System.getProperty("startup.report");
+        File dir = reportPath != null
+                ? new File(reportPath).getParentFile()
+                : Files.createTempDirectory("startup").toFile();
+        dir.mkdirs();
+        return new File(dir, name + ".log");
+    }
+
+    private static void report(Map<String, Map<String, Object>> results) throws IOException {
+        Map<String, Object> baseline = results.values().iterator().next();
+
+        System.out.printf("%n%-12s %8s %12s %9s %12s%n", "build", "status", "first resp", "RSS MB", "vs baseline");
+        results.forEach((name, result) -> {
+            boolean success = Boolean.TRUE.equals(result.get("success"));
+            String ratio = "";
+            if (success && Boolean.TRUE.equals(baseline.get("success")) && result != baseline) {
+                ratio = String.format("%.2fx time", ((Number) result.get("firstResponseMs")).doubleValue()
+                        / ((Number) baseline.get("firstResponseMs")).doubleValue());
+                result.put("startupRatio", ratio);
+            }
+            System.out.printf("%-12s %8s %12s %9s %12s%n", name,
+                    success ? "ok" : "FAILED",
+                    success ? result.get("firstResponseMs") + " ms" : "-",
+                    success ? result.get("rssMb") : "-",
+                    success ? ratio : result.get("error"));
+        });
+
+        String reportPath = System.getProperty("startup.report");
+        if (reportPath != null) {
+            File file = new File(reportPath);
+            file.getParentFile().mkdirs();
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, results);
+            System.out.println("Report written to " + file);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package hexlet.code.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Смешанная нагрузка на API задач. Доли операций подобраны под типичное использование доски:
+ * в основном чтение списков и карточек, реже изменения.
+ */
+public class Workload {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final SeedData seed;
+    private final List<String> tokens = new CopyOnWriteArrayList<>();
+    private final Queue<Long> createdTaskIds = new ConcurrentLinkedQueue<>();
+
+    public Workload(HttpClient client, String baseUrl, SeedData seed) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.seed = seed;
+    }
+
+    public void authenticate() throws IOException, InterruptedException {
+        for (String email : seed.emails()) {
+            String token = login(email);
+            if (token == null) {
+                throw new IllegalStateException("Cannot log in as " + email);
+            }
+            tokens.add(token);
+        }
+    }
+
+    public String nextOperation() {
+        int roll = ThreadLocalRandom.current().nextInt(100);
+        if (roll < 5) {
+            return "login";
+        } else if (roll < 45) {
+            return "list";
+        } else if (roll < 70) {
+            return "show";
+        } else if (roll < 80) {
+            return "create";
+        } else if (roll < 95) {
+            return "update";
+        }
+        return "delete";
+    }
+
+    public boolean execute(String operation) throws IOException, InterruptedException {
+        return switch (operation) {
+            case "login" -> login(pick(seed.emails())) != null;
+            case "list" -> list();
+            case "show" -> show();
+            case "create" -> create() != null;
+            case "update" -> update();
+            case "delete" -> delete();
+            default -> throw new IllegalArgumentException("Unknown operation: " + operation);
+        };
+    }
+
+    public String login(String email) throws IOException, InterruptedException {
+        var body = objectMapper.writeValueAsString(Map.of("username", email, "password", seed.password()));
+        var request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/login"))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        var response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        return response.statusCode() == 200 ? response.body() : null;
+    }
+
+    private boolean list() throws IOException, InterruptedException {
+        var random = ThreadLocalRandom.current();
+        var query = new StringBuilder("?page=").append(random.nextInt(1, 4));
+        if (random.nextBoolean()) {
+            query.append("&status=").append(pick(seed.statusSlugs()));
+        }
+        if (random.nextInt(3) == 0) {
+            query.append("&assigneeId=").append(pick(seed.userIds()));
+        }
+        if (random.nextInt(4) == 0) {
+            query.append("&titleCont=task");
+        }
+        return send(authorized("/api/tasks" + query).GET(), 200);
+    }
+
+    private boolean show() throws IOException, InterruptedException {
+        return send(authorized("/api/tasks/" + pick(seed.taskIds())).GET(), 200);
+    }
+
+    private Long create() throws IOException, InterruptedException {
+        var random = ThreadLocalRandom.current();
+        var body = objectMapper.writeValueAsString(Map.of(
+                "title", "Load task " + random.nextInt(1_000_000),
+                "content", "Created by the load test",
+                "status", pick(seed.statusSlugs()),
+                "assigneeId", pick(seed.userIds()),
+                "index", random.nextInt(1000)));
+        var request = authorized("/api/tasks")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        var response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 201) {
+            return null;
+        }
+        Long id = objectMapper.readTree(response.body()).get("id").asLong();
+        createdTaskIds.add(id);
+        return id;
+    }
+
+    private boolean update() throws IOException, InterruptedException {
+        var body = objectMapper.writeValueAsString(Map.of(
+                "title", "Updated " + ThreadLocalRandom.current().nextInt(1_000_000),
+                "status", pick(seed.statusSlugs())));
+        var request = authorized("/api/tasks/" + pick(seed.taskIds()))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(body));
+        return send(request, 200);
+    }
+
+    private boolean delete() throws IOException, InterruptedException {
+        // Удаляем только задачи, созданные самой нагрузкой, чтобы не истощать засеянные данные
+        Long id = createdTaskIds.poll();
+        if (id == null) {
+            id = create();
+            createdTaskIds.remove(id);
+        }
+        if (id == null) {
+            return false;
+        }
+        return send(authorized("/api/tasks/" + id).DELETE(), 204);
+    }
+
+    private HttpRequest.Builder authorized(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Authorization", "Bearer " + pick(tokens));
+    }
+
+    private boolean send(HttpRequest.Builder request, int expectedStatus) throws IOException, InterruptedException {
+        var response = client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+        return response.statusCode() == expectedStatus;
+    }
+
+    private static <T> T pick(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    public record SeedData(List<String> emails, String password, List<Long> taskIds, List<Long> userIds,
+                           List<String> statusSlugs) {
+    }
+}
@@ -22,6 +22,8 @@ public class DatabaseCleanerExtension implements BeforeEachCallback {
              Statement statement = connection.createStatement()) {
 
             // очищаем таблицы в правильном порядке
+            statement.execute("DELETE FROM task_labels_archive");
+            statement.execute("DELETE FROM tasks_archive");
             statement.execute("DELETE FROM task_labels");
             statement.execute("DELETE FROM tasks");
             statement.execute("DELETE FROM labels");
@@ -0,0 +1,195 @@
+package hexlet.code.archive;
+
+import hexlet.code.DatabaseCleanerExtension;
+import hexlet.code.dto.task.TaskCreateDTO;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.ordering.TaskIndexRebalancer;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.service.TaskService;
+import hexlet.code.statistics.TaskCounters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Пачки по две задачи: перенос трёх задач проверяет и продолжение после полной пачки
+@SpringBootTest(properties = {"app.archive.batch-size=2", "app.archive.pause=0ms"})
+@AutoConfigureMockMvc
+@ExtendWith(DatabaseCleanerExtension.class)
+@WithMockUser
+public class TaskArchiverTest {
+
+    @Autowired
+    private TaskArchiver archiver;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskCounters taskCounters;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskIndexRebalancer rebalancer;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Label bug;
+    private Task first;
+    private Task second;
+    private Task third;
+    private Task recent;
+    private Task draft;
+
+    @BeforeEach
+    void setUp() {
+        taskStatus("published");
+        taskStatus("draft");
+        bug = new Label();
+        bug.setName("bug");
+        labelRepository.save(bug);
+
+        first = task("Release notes", "published", Set.of(bug.getId()));
+        second = task("Changelog", "published", Set.of());
+        third = task("Announcement", "published", Set.of(bug.getId()));
+        recent = task("Hotfix", "published", Set.of());
+        draft = task("Roadmap", "draft", Set.of());
+        for (Task task : new Task[] {first, second, third, draft}) {
+            jdbcTemplate.update("UPDATE tasks SET updated_at = ? WHERE id = ?",
+                    Timestamp.valueOf(LocalDateTime.now().minusDays(120)), task.getId());
+        }
+    }
+
+    @Test
+    void testMovesOldCompletedTasks() throws Exception {
+        long published = taskCounters.statistics().getByStatus().get("published");
+
+        assertThat(archiver.archive()).isEqualTo(3);
+
+        assertThat(count("SELECT COUNT(*) FROM tasks")).isEqualTo(2);
+        assertThat(count("SELECT COUNT(*) FROM tasks_archive")).isEqualTo(3);
+        assertThat(count("SELECT COUNT(*) FROM task_labels_archive")).isEqualTo(2);
+        assertThat(count("SELECT COUNT(*) FROM task_labels")).isZero();
+        assertThat(taskCounters.statistics().getByStatus().get("published")).isEqualTo(published - 3);
+
+        mockMvc.perform(get("/api/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "2"))
+                .andExpect(jsonPath("$[*].id", containsInAnyOrder(recent.getId().intValue(),
+                        draft.getId().intValue())));
+        assertThat(archiver.archive()).isZero();
+    }
+
+    @Test
+    void testRebalanceDoesNotResetArchiveClock() {
+        Long statusId = taskStatusRepository.findBySlug("published").orElseThrow().getId();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            taskStatusRepository.lockAllByIdIn(List.of(statusId));
+            rebalancer.rebalance(statusId);
+        });
+
+        assertThat(archiver.archive()).isEqualTo(3);
+        assertThat(count("SELECT COUNT(*) FROM tasks WHERE task_status_id = " + statusId)).isEqualTo(1);
+    }
+
+    @Test
+    void testServesArchivedTasksOnOptIn() throws Exception {
+        archiver.archive();
+
+        mockMvc.perform(get("/api/tasks").param("archived", "true").param("_sort", "id"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "3"))
+                .andExpect(jsonPath("$[*].id", contains(first.getId().intValue(), second.getId().intValue(),
+                        third.getId().intValue())))
+                .andExpect(jsonPath("$[0].status").value("published"))
+                .andExpect(jsonPath("$[0].taskLabelIds[0]").value(bug.getId()));
+        mockMvc.perform(get("/api/tasks").param("archived", "true").param("labelId", bug.getId().toString())
+                        .param("titleCont", "notes"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title").value("Release notes"));
+
+        mockMvc.perform(get("/api/tasks/{id}", first.getId()).param("archived", "true").param("fields", "title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Release notes"))
+                .andExpect(jsonPath("$.content").doesNotExist());
+        mockMvc.perform(get("/api/tasks").param("archived", "true")
+                        .param("id", second.getId().toString(), recent.getId().toString()))
+                .andExpect(jsonPath("$[*].id", contains(second.getId().intValue())))
+                .andExpect(header().string("X-Missing-Ids", recent.getId().toString()));
+    }
+
+    @Test
+    void testLookupsByIdFallBackToArchive() throws Exception {
+        archiver.archive();
+
+        mockMvc.perform(get("/api/tasks/{id}", first.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Release notes"))
+                .andExpect(jsonPath("$.status").value("published"));
+        mockMvc.perform(get("/api/tasks/{id}", first.getId()).param("fields", "title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").doesNotExist());
+        mockMvc.perform(get("/api/tasks").param("id", recent.getId().toString(), second.getId().toString(), "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(recent.getId().intValue(), second.getId().intValue())))
+                .andExpect(header().string("X-Missing-Ids", "0"));
+        mockMvc.perform(get("/api/tasks").param("id", second.getId().toString()).param("fields", "title"))
+                .andExpect(jsonPath("$[0].title").value("Changelog"));
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    private void taskStatus(String slug) {
+        TaskStatus status = new TaskStatus();
+        status.setName(slug);
+        status.setSlug(slug);
+        taskStatusRepository.save(status);
+    }
+
+    private Task task(String title, String status, Set<Long> labelIds) {
+        var data = new TaskCreateDTO();
+        data.setTitle(title);
+        data.setContent(title + " content");
+        data.setStatus(status);
+        data.setTaskLabelIds(labelIds);
+        return taskService.create(data);
+    }
+}
@@ -0,0 +1,161 @@
+package hexlet.code.autocomplete;
+
+import hexlet.code.DatabaseCleanerExtension;
+import hexlet.code.dto.autocomplete.AutocompleteItemDTO;
+import hexlet.code.model.Label;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ExtendWith(DatabaseCleanerExtension.class)
+public class AutocompleteTest {
+
+    @Autowired
+    private AutocompleteIndex index;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        // Очистка базы идёт мимо JPA
+        index.refresh();
+    }
+
+    @Test
+    void testMatchesStartOfAnyWord() {
+        Label label = label("good first issue");
+        user("John", "Smith", "jsmith@example.com");
+        User johnson = user("Ann", "Johnson", "ann@example.com");
+
+        assertThat(texts(index.search(AutocompleteKind.LABEL, "iss", 10))).containsExactly("good first issue");
+        assertThat(index.search(AutocompleteKind.LABEL, "ood", 10)).isEmpty();
+        assertThat(texts(index.search(AutocompleteKind.USER, "jo", 10)))
+                .containsExactly("John Smith <jsmith@example.com>", "Ann Johnson <ann@example.com>");
+        assertThat(index.search(AutocompleteKind.USER, "  ANN@", 10))
+                .extracting(AutocompleteItemDTO::getId)
+                .containsExactly(johnson.getId());
+        assertThat(index.search(null, "good", 10))
+                .extracting(AutocompleteItemDTO::getId)
+                .containsExactly(label.getId());
+    }
+
+    @Test
+    void testFollowsCommittedChanges() {
+        Label label = label("backend");
+        label.setName("frontend");
+        labelRepository.save(label);
+
+        assertThat(index.search(AutocompleteKind.LABEL, "back", 10)).isEmpty();
+        assertThat(texts(index.search(AutocompleteKind.LABEL, "front", 10))).containsExactly("frontend");
+
+        labelRepository.delete(label);
+        assertThat(index.search(AutocompleteKind.LABEL, "front", 10)).isEmpty();
+    }
+
+    @Test
+    void testIgnoresRolledBackChanges() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            label("rolled back");
+            status.setRollbackOnly();
+        });
+
+        assertThat(index.search(AutocompleteKind.LABEL, "roll", 10)).isEmpty();
+    }
+
+    @Test
+    void testRefreshPicksUpJdbcWrites() {
+        jdbcTemplate.update("INSERT INTO labels (name, created_at) VALUES ('seeded', CURRENT_TIMESTAMP)");
+        assertThat(index.search(AutocompleteKind.LABEL, "seed", 10)).isEmpty();
+
+        index.refresh();
+
+        assertThat(texts(index.search(AutocompleteKind.LABEL, "seed", 10))).containsExactly("seeded");
+    }
+
+    @Test
+    void testMixedKindsComeInFixedOrder() {
+        label("draft review");
+        user("Drake", "Stone", "drake@example.com");
+        TaskStatus status = new TaskStatus();
+        status.setName("Draft");
+        status.setSlug("draft");
+        taskStatusRepository.save(status);
+
+        assertThat(index.search(null, "dra", 10))
+                .extracting(AutocompleteItemDTO::getType)
+                .containsExactly(AutocompleteKind.STATUS, AutocompleteKind.LABEL, AutocompleteKind.USER);
+        assertThat(index.search(null, "dra", 2)).hasSize(2);
+    }
+
+    @Test
+    @WithMockUser
+    void testIndex() throws Exception {
+        Label label = label("urgent");
+
+        mockMvc.perform(get("/api/autocomplete").param("q", "urg").param("type", "label"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].type").value("label"))
+                .andExpect(jsonPath("$[0].id").value(label.getId()))
+                .andExpect(jsonPath("$[0].text").value("urgent"));
+
+        mockMvc.perform(get("/api/autocomplete").param("q", "urg").param("type", "task"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Label label(String name) {
+        Label label = new Label();
+        label.setName(name);
+        return labelRepository.save(label);
+    }
+
+    private User user(String firstName, String lastName, String email) {
+        User user = new User();
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        user.setEmail(email);
+        user.setPasswordDigest("digest");
+        return userRepository.save(user);
+    }
+
+    private static List<String> texts(List<AutocompleteItemDTO> items) {
+        return items.stream().map(AutocompleteItemDTO::getText).toList();
+    }
+}
@@ -0,0 +1,80 @@
+package hexlet.code.controller;
+
+import hexlet.code.DatabaseCleanerExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ExtendWith(DatabaseCleanerExtension.class)
+public class ActuatorEndpointsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testHealthIsPublic() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
+    // Вне профиля development метрики наружу не отдаются
+    @Test
+    void testPrometheusIsNotPublic() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockUser
+    void testPrometheusRequiresAdmin() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testPrometheusExposesApplicationMetrics() throws Exception {
+        mockMvc.perform(get("/api/tasks"))
+                .andExpect(status().isOk());
+
+        var body = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(body)
+                .contains("http_server_requests_seconds_bucket")
+                .contains("uri=\"/api/tasks\"")
+                .contains("spring_data_repository_invocations_seconds")
+                .contains("hikaricp_connections_acquire_seconds")
+                .contains("hibernate_statements_total")
+                .contains("jvm_gc_");
+    }
+
+    @Test
+    @WithMockUser
+    void testMetricsEndpointRequiresAdmin() throws Exception {
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testMetricsEndpointForAdmin() throws Exception {
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isOk());
+    }
+}
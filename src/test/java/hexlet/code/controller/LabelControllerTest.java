@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import static org.hamcrest.Matchers.contains;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
@@ -76,6 +77,49 @@ public class LabelControllerTest {
         actual.forEach(labelDTO -> Assertions.assertThat(labelDTO.getCreatedAt()).isNotNull());
     }
 
+    @Test
+    @WithMockUser
+    public void testGetLabelsRange() throws Exception {
+        for (String name : List.of("delta", "alpha", "echo", "charlie", "bravo")) {
+            Label label = new Label();
+            label.setName(name);
+            labelRepository.save(label);
+        }
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/labels")
+                        .param("_start", "1")
+                        .param("_end", "4")
+                        .param("_sort", "name")
+                        .param("_order", "DESC"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "5"))
+                .andExpect(header().string("Content-Range", "labels 1-3/5"))
+                .andExpect(jsonPath("$[*].name").value(contains("delta", "charlie", "bravo")));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/labels").param("_sort", "tasks"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    public void testGetLabelsByIds() throws Exception {
+        Label first = new Label();
+        first.setName("first");
+        labelRepository.save(first);
+        Label second = new Label();
+        second.setName("second");
+        labelRepository.save(second);
+        long missing = second.getId() + 100;
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/labels")
+                        .param("id", String.valueOf(second.getId()), String.valueOf(missing),
+                                String.valueOf(first.getId()), String.valueOf(second.getId())))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "2"))
+                .andExpect(header().string("X-Missing-Ids", String.valueOf(missing)))
+                .andExpect(jsonPath("$[*].name").value(contains("second", "first")));
+    }
+
     @Test
     @WithMockUser
     public void testCreateLabel() throws Exception {
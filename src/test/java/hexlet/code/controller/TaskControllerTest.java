@@ -6,9 +6,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import hexlet.code.dto.task.TaskCreateDTO;
 import hexlet.code.dto.task.TaskDTO;
 import hexlet.code.dto.task.TaskUpdateDTO;
+import hexlet.code.model.Label;
 import hexlet.code.model.Task;
 import hexlet.code.model.TaskStatus;
 import hexlet.code.model.User;
+import hexlet.code.monitoring.SqlStatementStats;
+import hexlet.code.repository.LabelRepository;
 import hexlet.code.repository.TaskRepository;
 import hexlet.code.repository.TaskStatusRepository;
 import hexlet.code.repository.UserRepository;
@@ -23,6 +26,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
@@ -30,15 +34,18 @@ import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import static org.hamcrest.Matchers.contains;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
 @AutoConfigureMockMvc
+@TestPropertySource(properties = "app.query-budget.fail-on-violation=true")
 @ExtendWith(DatabaseCleanerExtension.class)
 public class TaskControllerTest {
 
@@ -54,12 +61,18 @@ public class TaskControllerTest {
     @Autowired
     private TaskStatusRepository taskStatusRepository;
 
+    @Autowired
+    private LabelRepository labelRepository;
+
     @Autowired
     private TaskService taskService;
 
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private SqlStatementStats statementStats;
+
     private User testUser;
     private TaskStatus testStatus;
     private Task testTask;
@@ -255,4 +268,182 @@ public class TaskControllerTest {
         mockMvc.perform(delete("/api/tasks/9999"))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    @WithMockUser
+    void testGetBoard() throws Exception {
+        TaskStatus done = new TaskStatus();
+        done.setName("Done");
+        done.setSlug("done");
+        taskStatusRepository.save(done);
+        TaskStatus empty = new TaskStatus();
+        empty.setName("Empty");
+        empty.setSlug("empty");
+        taskStatusRepository.save(empty);
+
+        for (int index : new int[] {5, 3, 4}) {
+            createTask("Done " + index, "done", index, null);
+        }
+        createTask("Mine", "test_status", 0, testUser.getId());
+
+        mockMvc.perform(get("/api/tasks/board").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].status").value(contains("test_status", "done", "empty")))
+                .andExpect(jsonPath("$[0].total").value(2))
+                .andExpect(jsonPath("$[0].tasks[*].title").value(contains("Mine", "Test Task")))
+                .andExpect(jsonPath("$[1].total").value(3))
+                .andExpect(jsonPath("$[1].tasks[*].title").value(contains("Done 3", "Done 4")))
+                .andExpect(jsonPath("$[2].total").value(0))
+                .andExpect(jsonPath("$[2].tasks").isEmpty());
+
+        mockMvc.perform(get("/api/tasks/board").param("assigneeId", String.valueOf(testUser.getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].total").value(2))
+                .andExpect(jsonPath("$[1].total").value(0));
+    }
+
+    @Test
+    @WithMockUser
+    void testGetAllTasksSorted() throws Exception {
+        TaskStatus done = new TaskStatus();
+        done.setName("Done");
+        done.setSlug("done");
+        taskStatusRepository.save(done);
+        createTask("Done B", "done", 2, null);
+        createTask("Done A", "done", 1, testUser.getId());
+        createTask("Also first", "test_status", 1, null);
+
+        // Сначала по статусу, внутри статуса по index, при равном index — по id в направлении первого ключа
+        mockMvc.perform(get("/api/tasks")
+                        .param("_sort", "status,index")
+                        .param("_order", "DESC,ASC")
+                        .param("perPage", "3"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "4"))
+                .andExpect(jsonPath("$[*].title").value(contains("Done A", "Done B", "Also first")));
+
+        mockMvc.perform(get("/api/tasks")
+                        .param("_sort", "title")
+                        .param("page", "2")
+                        .param("perPage", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].title").value(contains("Done B", "Test Task")));
+
+        mockMvc.perform(get("/api/tasks").param("_sort", "content"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void testGetTasksWithFields() throws Exception {
+        statementStats.reset();
+
+        mockMvc.perform(get("/api/tasks").param("fields", "title,status"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "1"))
+                .andExpect(jsonPath("$[0].id").value(testTask.getId()))
+                .andExpect(jsonPath("$[0].title").value("Test Task"))
+                .andExpect(jsonPath("$[0].status").value("test_status"))
+                .andExpect(jsonPath("$[0].content").doesNotExist())
+                .andExpect(jsonPath("$[0].assigneeId").doesNotExist())
+                .andExpect(jsonPath("$[0].taskLabelIds").doesNotExist());
+
+        // Описание не читается из базы, а не только не попадает в ответ
+        List<String> statements = statementStats.snapshot(100).stream()
+                .map(row -> (String) row.get("statement"))
+                .filter(statement -> statement.contains("from tasks"))
+                .toList();
+        Assertions.assertThat(statements).isNotEmpty().noneMatch(statement -> statement.contains("description"));
+
+        mockMvc.perform(get("/api/tasks/{id}", testTask.getId()).param("fields", "taskLabelIds, createdAt"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.taskLabelIds").isEmpty())
+                .andExpect(jsonPath("$.createdAt").isNotEmpty())
+                .andExpect(jsonPath("$.title").doesNotExist());
+
+        mockMvc.perform(get("/api/tasks").param("fields", "title,secret"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void testGetTasksByIds() throws Exception {
+        createTask("Second", "test_status", 2, null);
+        Long second = taskRepository.findAll().stream()
+                .filter(task -> task.getName().equals("Second"))
+                .findFirst()
+                .orElseThrow()
+                .getId();
+
+        mockMvc.perform(get("/api/tasks")
+                        .param("id", String.valueOf(second), "0", String.valueOf(testTask.getId())))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "2"))
+                .andExpect(header().string("X-Missing-Ids", "0"))
+                .andExpect(jsonPath("$[*].title").value(contains("Second", "Test Task")))
+                .andExpect(jsonPath("$[1].assigneeId").value(testUser.getId()));
+
+        mockMvc.perform(get("/api/tasks")
+                        .param("id", String.valueOf(testTask.getId()), String.valueOf(second))
+                        .param("fields", "title"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Missing-Ids"))
+                .andExpect(jsonPath("$[*].title").value(contains("Test Task", "Second")))
+                .andExpect(jsonPath("$[0].status").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser
+    void testGetTasksWithIncluded() throws Exception {
+        Label bug = new Label();
+        bug.setName("bug");
+        labelRepository.save(bug);
+        TaskCreateDTO labelled = new TaskCreateDTO();
+        labelled.setTitle("Labelled");
+        labelled.setIndex(2);
+        labelled.setStatus("test_status");
+        labelled.setAssigneeId(testUser.getId());
+        labelled.setTaskLabelIds(Set.of(bug.getId()));
+        taskService.create(labelled);
+
+        String userKey = "$.included.users['" + testUser.getId() + "']";
+        String labelKey = "$.included.labels['" + bug.getId() + "']";
+        // Две задачи ссылаются на одного исполнителя и один статус — в included они по одному разу
+        mockMvc.perform(get("/api/tasks").param("include", "assignee,status,labels"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "2"))
+                .andExpect(jsonPath("$.data[*].title").value(contains("Test Task", "Labelled")))
+                .andExpect(jsonPath("$.included.users.length()").value(1))
+                .andExpect(jsonPath(userKey + ".email").value("test@example.com"))
+                .andExpect(jsonPath("$.included.statuses.length()").value(1))
+                .andExpect(jsonPath("$.included.statuses.test_status.name").value("Test Status"))
+                .andExpect(jsonPath(labelKey + ".name").value("bug"));
+
+        // Ссылки на включённые записи возвращаются, даже если fields их не назвал
+        mockMvc.perform(get("/api/tasks/{id}", testTask.getId())
+                        .param("fields", "title")
+                        .param("include", "assignee"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.assigneeId").value(testUser.getId()))
+                .andExpect(jsonPath("$.data.content").doesNotExist())
+                .andExpect(jsonPath(userKey + ".firstName").value("Test"))
+                .andExpect(jsonPath("$.included.statuses").doesNotExist());
+
+        mockMvc.perform(get("/api/tasks/board").param("include", "labels"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].tasks.length()").value(2))
+                .andExpect(jsonPath(labelKey + ".name").value("bug"));
+
+        mockMvc.perform(get("/api/tasks").param("include", "comments"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void createTask(String title, String status, int index, Long assigneeId) {
+        TaskCreateDTO createDTO = new TaskCreateDTO();
+        createDTO.setTitle(title);
+        createDTO.setIndex(index);
+        createDTO.setStatus(status);
+        createDTO.setAssigneeId(assigneeId);
+        taskService.create(createDTO);
+    }
 }
@@ -26,7 +26,9 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.hamcrest.Matchers.contains;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -79,6 +81,34 @@ public class TaskStatusControllerTest {
         actual.forEach(statusDTO -> Assertions.assertThat(statusDTO.getCreatedAt()).isNotNull());
     }
 
+    @Test
+    @WithMockUser
+    public void testGetTaskStatusesPage() throws Exception {
+        for (int i = 1; i <= 5; i++) {
+            TaskStatus status = new TaskStatus();
+            status.setName("Status " + i);
+            status.setSlug("status_" + i);
+            taskStatusRepository.save(status);
+        }
+
+        mockMvc.perform(get("/api/task_statuses")
+                        .param("page", "2")
+                        .param("perPage", "2")
+                        .param("_sort", "slug"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "5"))
+                .andExpect(jsonPath("$[*].slug").value(contains("status_3", "status_4")));
+
+        // Пустая страница за концом списка
+        mockMvc.perform(get("/api/task_statuses").param("page", "4").param("perPage", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Range", "task_statuses */5"))
+                .andExpect(jsonPath("$").isEmpty());
+
+        mockMvc.perform(get("/api/task_statuses").param("_order", "sideways").param("_sort", "name"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @WithMockUser
     public void testGetTaskStatusByIdWithAuth() throws Exception {
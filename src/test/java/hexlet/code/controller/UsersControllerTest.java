@@ -26,10 +26,13 @@ import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import static org.hamcrest.Matchers.contains;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -94,6 +97,21 @@ public class UsersControllerTest {
         Assertions.assertThat(actualEmails).isEqualTo(expectedEmails);
     }
 
+    @Test
+    @WithMockUser(username = "test@example.com")
+    public void testIndexSortedByMultipleFields() throws Exception {
+        createUser("zed@example.com", "Zed", "Adams", "password123", Role.USER);
+
+        mockMvc.perform(get("/api/users")
+                        .param("_sort", "lastName,firstName")
+                        .param("_order", "ASC,DESC")
+                        .param("perPage", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "3"))
+                .andExpect(jsonPath("$[*].email")
+                        .value(contains("zed@example.com", "test@example.com", "admin@example.com")));
+    }
+
     @Test
     @WithMockUser(username = "test@example.com")
     public void testShow() throws Exception {
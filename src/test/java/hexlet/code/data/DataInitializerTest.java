@@ -0,0 +1,116 @@
+package hexlet.code.data;
+
+import hexlet.code.DatabaseCleanerExtension;
+import hexlet.code.configuration.AdminConfig;
+import hexlet.code.model.Label;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.sync.ChangeLogWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ExtendWith(DatabaseCleanerExtension.class)
+public class DataInitializerTest {
+
+    @Autowired
+    private DataInitializer dataInitializer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private AdminConfig adminConfig;
+
+    @Autowired
+    private ChangeLogWriter changeLogWriter;
+
+    @Test
+    void testSeedsEmptyDatabase() {
+        long since = lastChange();
+        dataInitializer.seed();
+
+        assertThat(count("users")).isEqualTo(4);
+        assertThat(count("task_statuses")).isEqualTo(5);
+        assertThat(count("labels")).isEqualTo(4);
+        assertThat(count("tasks")).isEqualTo(8);
+        assertThat(count("task_labels")).isEqualTo(9);
+        // Засев идёт через JDBC, но клиенты синхронизации видят вставленные строки
+        assertThat(changes("user", since)).isEqualTo(4);
+        assertThat(changes("status", since)).isEqualTo(5);
+        assertThat(changes("label", since)).isEqualTo(4);
+        assertThat(changes("task", since)).isEqualTo(8);
+
+        assertThat(passwordEncoder.matches(adminConfig.getPassword(), adminDigest())).isTrue();
+    }
+
+    // Флаг проверяется в самом засеве: в AOT-образе условие на бин зафиксировано при сборке
+    @Test
+    void testDisabledSeedInsertsNothing() {
+        var environment = new MockEnvironment().withProperty("app.seed.enabled", "false");
+        new DataInitializer(jdbcTemplate, passwordEncoder, adminConfig, environment, changeLogWriter).seed();
+
+        assertThat(count("users")).isZero();
+        assertThat(count("tasks")).isZero();
+    }
+
+    @Test
+    void testRepeatedSeedIsNoOp() {
+        dataInitializer.seed();
+        String digest = adminDigest();
+        long since = lastChange();
+
+        dataInitializer.seed();
+
+        assertThat(count("users")).isEqualTo(4);
+        assertThat(count("task_statuses")).isEqualTo(5);
+        assertThat(count("labels")).isEqualTo(4);
+        assertThat(count("tasks")).isEqualTo(8);
+        // Существующих пользователей не перехэшируем
+        assertThat(adminDigest()).isEqualTo(digest);
+        assertThat(lastChange()).isEqualTo(since);
+    }
+
+    @Test
+    void testInsertsOnlyMissingRows() {
+        Label bug = new Label();
+        bug.setName("bug");
+        labelRepository.save(bug);
+
+        dataInitializer.seed();
+
+        assertThat(count("labels")).isEqualTo(4);
+        assertThat(jdbcTemplate.queryForObject("SELECT id FROM labels WHERE name = 'bug'", Long.class))
+                .isEqualTo(bug.getId());
+    }
+
+    private String adminDigest() {
+        return jdbcTemplate.queryForObject("SELECT password_digest FROM users WHERE email = ?",
+                String.class, adminConfig.getEmail());
+    }
+
+    private long lastChange() {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM change_log", Long.class);
+    }
+
+    private long changes(String entityType, long since) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT entity_id) FROM change_log"
+                + " WHERE entity_type = ? AND id > ?", Long.class, entityType, since);
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+}
@@ -0,0 +1,141 @@
+package hexlet.code.data;
+
+import hexlet.code.DatabaseCleanerExtension;
+import hexlet.code.configuration.DatasetConfig;
+import hexlet.code.model.Label;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.statistics.TaskCounters;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest
+@ExtendWith(DatabaseCleanerExtension.class)
+public class DatasetGeneratorTest {
+
+    @Autowired
+    private DatasetGenerator generator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TaskCounters taskCounters;
+
+    private DatasetConfig config;
+
+    @BeforeEach
+    void setUp() {
+        for (String slug : List.of("draft", "to_review", "published")) {
+            TaskStatus status = new TaskStatus();
+            status.setName(slug);
+            status.setSlug(slug);
+            taskStatusRepository.save(status);
+        }
+
+        config = new DatasetConfig();
+        config.setUsers(300);
+        config.setLabels(20);
+        config.setTasks(5000);
+        config.setBatchSize(250);
+        config.setThreads(4);
+    }
+
+    @Test
+    void testGeneratesRequestedVolume() {
+        long since = count("SELECT COALESCE(MAX(id), 0) FROM change_log");
+        var result = generator.generate(config);
+
+        assertThat(result.tasks()).isEqualTo(5000);
+        assertThat(count("SELECT COUNT(*) FROM users")).isEqualTo(300);
+        assertThat(count("SELECT COUNT(*) FROM labels")).isEqualTo(20);
+        assertThat(count("SELECT COUNT(*) FROM tasks")).isEqualTo(5000);
+        assertThat(count("SELECT COUNT(*) FROM task_labels"))
+                .isPositive()
+                .isLessThanOrEqualTo(5000L * config.getMaxLabelsPerTask());
+        // Вставки мимо JPA всё равно видны клиентам синхронизации
+        assertThat(count("SELECT COUNT(*) FROM change_log WHERE entity_type = 'user' AND id > " + since))
+                .isEqualTo(300);
+        assertThat(count("SELECT COUNT(*) FROM change_log WHERE entity_type = 'label' AND id > " + since))
+                .isEqualTo(20);
+        assertThat(count("SELECT COUNT(*) FROM change_log WHERE entity_type = 'task' AND id > " + since))
+                .isEqualTo(5000);
+    }
+
+    @Test
+    void testAssigneesAreSkewed() {
+        generator.generate(config);
+
+        long assigned = count("SELECT COUNT(*) FROM tasks WHERE assignee_id IS NOT NULL");
+        assertThat(assigned).isBetween(4250L, 4750L);
+
+        // 10% самых загруженных пользователей держат заметно больше 10% задач
+        List<Long> perUser = jdbcTemplate.queryForList(
+                "SELECT COUNT(*) FROM tasks WHERE assignee_id IS NOT NULL GROUP BY assignee_id ORDER BY 1 DESC",
+                Long.class);
+        long top = perUser.stream().limit(30).mapToLong(Long::longValue).sum();
+        assertThat((double) top / assigned).isGreaterThan(0.35);
+    }
+
+    @Test
+    void testApplicationInsertsContinueAfterReservedIds() {
+        generator.generate(config);
+        long maxUserId = count("SELECT MAX(id) FROM users");
+        long maxLabelId = count("SELECT MAX(id) FROM labels");
+
+        User user = new User();
+        user.setEmail("after-dataset@example.com");
+        user.setPasswordDigest("digest");
+        Label label = new Label();
+        label.setName("after-dataset");
+
+        assertThat(userRepository.save(user).getId()).isGreaterThan(maxUserId);
+        assertThat(labelRepository.save(label).getId()).isGreaterThan(maxLabelId);
+    }
+
+    @Test
+    void testSearchIndexIsRebuiltAfterGeneration() {
+        generator.generate(config);
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+                assertThat(meterRegistry.get("app.search.documents").gauge().value()).isEqualTo(5000));
+    }
+
+    @Test
+    void testCountersAreReconciledAfterGeneration() {
+        generator.generate(config);
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+                assertThat(taskCounters.statistics().getTotal()).isEqualTo(5000));
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
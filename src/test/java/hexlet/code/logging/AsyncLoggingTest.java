@@ -0,0 +1,117 @@
+package hexlet.code.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class AsyncLoggingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @WithMockUser
+    void testRequestIdIsPropagated() throws Exception {
+        mockMvc.perform(get("/api/tasks").header(RequestIdFilter.HEADER, "lb-1234"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(RequestIdFilter.HEADER, "lb-1234"));
+
+        // Небезопасное значение заменяется сгенерированным
+        mockMvc.perform(get("/api/tasks").header(RequestIdFilter.HEADER, "bad id\n"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(RequestIdFilter.HEADER,
+                        matchesPattern("[0-9a-f-]{36}")));
+    }
+
+    @Test
+    void testDroppedEventsAreExposedAsMetrics() {
+        assertThat(meterRegistry.get("logback.events.dropped")
+                .tag("appender", "ASYNC_CONSOLE")
+                .tag("reason", "discarded")
+                .functionCounter())
+                .isNotNull();
+    }
+
+    @Test
+    void testLowLevelEventsAreDiscardedUnderPressure() throws Exception {
+        var context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        var blocking = new BlockingAppender();
+        blocking.setContext(context);
+        blocking.start();
+
+        var appender = new CountingAsyncAppender();
+        appender.setContext(context);
+        appender.setName("pressure-test");
+        appender.setQueueSize(4);
+        appender.setDiscardingThreshold(2);
+        appender.setNeverBlock(true);
+        appender.addAppender(blocking);
+        appender.start();
+
+        try {
+            // Воркер забирает первое событие и зависает на нём — дальше очередь только наполняется
+            appender.doAppend(event(context, Level.INFO));
+            assertThat(blocking.entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+            for (int i = 0; i < 3; i++) {
+                appender.doAppend(event(context, Level.INFO));
+            }
+            // Свободно одно место из четырёх: INFO выбрасывается, WARN ещё проходит
+            appender.doAppend(event(context, Level.INFO));
+            appender.doAppend(event(context, Level.WARN));
+            // Очередь полна — neverBlock выбрасывает даже WARN
+            appender.doAppend(event(context, Level.WARN));
+
+            var counters = CountingAsyncAppender.counters().get("pressure-test");
+            assertThat(counters.getDiscarded()).isEqualTo(1);
+            assertThat(counters.getQueueFull()).isEqualTo(1);
+        } finally {
+            blocking.release.countDown();
+            appender.stop();
+        }
+    }
+
+    private static ILoggingEvent event(LoggerContext context, Level level) {
+        var logger = context.getLogger("test");
+        return new LoggingEvent(AsyncLoggingTest.class.getName(), logger, level, "message", null, null);
+    }
+
+    private static final class BlockingAppender extends AppenderBase<ILoggingEvent> {
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
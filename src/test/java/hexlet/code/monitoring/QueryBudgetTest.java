@@ -0,0 +1,132 @@
+package hexlet.code.monitoring;
+
+import hexlet.code.DatabaseCleanerExtension;
+import hexlet.code.configuration.QueryBudgetConfig;
+import hexlet.code.exception.QueryBudgetExceededException;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "app.query-budget.fail-on-violation=true")
+@ExtendWith(DatabaseCleanerExtension.class)
+public class QueryBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 10; i++) {
+            User user = new User();
+            user.setEmail("budget" + i + "@example.com");
+            user.setPasswordDigest("password");
+            user = userRepository.save(user);
+
+            TaskStatus status = new TaskStatus();
+            status.setName("Budget status " + i);
+            status.setSlug("budget_status_" + i);
+            status = taskStatusRepository.save(status);
+
+            Label label = new Label();
+            label.setName("budget label " + i);
+            label = labelRepository.save(label);
+
+            Task task = new Task();
+            task.setName("Budget task " + i);
+            task.setTaskStatus(status);
+            task.setAssignee(user);
+            task.setLabels(new HashSet<>(Set.of(label)));
+            taskRepository.save(task);
+        }
+    }
+
+    @Test
+    @WithMockUser
+    void testTaskListStaysWithinBudget() throws Exception {
+        // Без пакетной догрузки каждая задача тянула бы метки, статус и исполнителя отдельными запросами
+        mockMvc.perform(get("/api/tasks"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testRepeatedStatementFailsRequest() {
+        QueryBudgetConfig config = new QueryBudgetConfig();
+        config.setMaxRepeatedStatements(3);
+        config.setFailOnViolation(true);
+        var filter = new QueryBudgetFilter(config, new SimpleMeterRegistry());
+
+        assertThatThrownBy(() -> filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                (request, response) -> {
+                    RequestQueryStats stats = RequestQueryStats.current();
+                    stats.setHandler("TaskController.index");
+                    for (long id = 1; id <= 4; id++) {
+                        stats.recordStatement("select * from task_labels where task_id = " + id);
+                    }
+                }))
+                .isInstanceOf(QueryBudgetExceededException.class)
+                .hasMessageContaining("TaskController.index")
+                .hasMessageContaining("N+1");
+    }
+
+    @Test
+    void testStatementBudgetIsReportedWithoutFailing() throws Exception {
+        QueryBudgetConfig config = new QueryBudgetConfig();
+        config.setMaxStatements(1);
+        var meterRegistry = new SimpleMeterRegistry();
+        var filter = new QueryBudgetFilter(config, meterRegistry);
+
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), (request, response) -> {
+            RequestQueryStats.current().recordStatement("select 1");
+            RequestQueryStats.current().recordStatement("select 2 from users");
+        });
+
+        assertThat(meterRegistry.get("app.sql.budget.violations").tag("reason", "statements").counter().count())
+                .isEqualTo(1.0);
+        assertThat(RequestQueryStats.current()).isNull();
+    }
+
+    @Test
+    void testFingerprintIgnoresValues() {
+        assertThat(SqlFingerprint.of("select * from labels where id in (1, 2,3) and name = 'a'"))
+                .isEqualTo(SqlFingerprint.of("SELECT *  FROM labels WHERE id IN (?) AND name = 'bb'"));
+    }
+}
@@ -0,0 +1,149 @@
+package hexlet.code.monitoring;
+
+import hexlet.code.DatabaseCleanerExtension;
+import hexlet.code.configuration.QueryBudgetConfig;
+import hexlet.code.configuration.SlowQueryLogConfig;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {"app.slow-query.threshold-ms=0", "app.slow-query.sample-rate=0"})
+@ExtendWith({DatabaseCleanerExtension.class, OutputCaptureExtension.class})
+public class SlowQueryLogTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private SqlStatementStats statementStats;
+
+    private Task testTask;
+
+    @BeforeEach
+    void setUp() {
+        TaskStatus status = new TaskStatus();
+        status.setName("Slow status");
+        status.setSlug("slow_status");
+        status = taskStatusRepository.save(status);
+
+        testTask = new Task();
+        testTask.setName("Slow task");
+        testTask.setTaskStatus(status);
+        testTask = taskRepository.save(testTask);
+        statementStats.reset();
+    }
+
+    @Test
+    @WithMockUser
+    void testQueryAboveThresholdIsLoggedWithShape(CapturedOutput output) throws Exception {
+        mockMvc.perform(get("/api/tasks/" + testTask.getId()))
+                .andExpect(status().isOk());
+
+        // Порог 0 — медленным считается любой запрос. Лог пишется асинхронно, поэтому ждём
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(output.getOut())
+                .contains("slow query")
+                .contains("rows 1, handler TaskController.show, params [Long]: select")
+                .doesNotContain("Hibernate: "));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testStatementHistogramIsExposed() throws Exception {
+        mockMvc.perform(get("/api/tasks/" + testTask.getId()))
+                .andExpect(status().isOk());
+
+        var body = mockMvc.perform(get("/actuator/sqlstats"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(body)
+                .contains("from tasks")
+                .contains("\"p99Ms\"")
+                .contains("\"buckets\"");
+
+        mockMvc.perform(get("/actuator/sqlstats/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+        mockMvc.perform(get("/actuator/sqlstats/-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void testHandlerIsKnownWithBudgetDisabled(CapturedOutput output) throws Exception {
+        var budget = new QueryBudgetConfig();
+        budget.setEnabled(false);
+        SlowQueryLogConfig config = new SlowQueryLogConfig();
+        config.setThresholdMs(0);
+        var listener = new SlowQueryListener(config, new SqlStatementStats(config));
+
+        new QueryBudgetFilter(budget, new SimpleMeterRegistry()).doFilter(new MockHttpServletRequest(),
+                new MockHttpServletResponse(), (request, response) -> {
+                    RequestQueryStats.current().setHandler("LabelController.update");
+                    ExecutionInfo execInfo = new ExecutionInfo();
+                    execInfo.setResult(1);
+                    listener.afterQuery(execInfo, List.of(new QueryInfo("update labels set name = ? where id = ?")));
+                });
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(output.getOut())
+                .contains("handler LabelController.update, params []: update labels"));
+    }
+
+    @Test
+    void testFastQueryIsOnlyCounted(CapturedOutput output) {
+        SlowQueryLogConfig config = new SlowQueryLogConfig();
+        config.setThresholdMs(1000);
+        var stats = new SqlStatementStats(config);
+        var listener = new SlowQueryListener(config, stats);
+
+        ExecutionInfo execInfo = new ExecutionInfo();
+        execInfo.setElapsedTime(3);
+        execInfo.setResult(1);
+        listener.afterQuery(execInfo, List.of(new QueryInfo("update labels set name = ? where id = ?")));
+
+        assertThat(output.getOut()).doesNotContain("update labels");
+        assertThat(stats.snapshot(10))
+                .singleElement()
+                .satisfies(entry -> {
+                    assertThat(entry.get("count")).isEqualTo(1L);
+                    assertThat(entry.get("p50Ms")).isEqualTo(3L);
+                });
+    }
+}
@@ -0,0 +1,206 @@
+package hexlet.code.ordering;
+
+import hexlet.code.DatabaseCleanerExtension;
+import hexlet.code.dto.task.TaskCreateDTO;
+import hexlet.code.dto.task.TaskMoveDTO;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ExtendWith(DatabaseCleanerExtension.class)
+public class TaskMoveTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private List<Long> todo;
+    private List<Long> done;
+
+    @BeforeEach
+    void setUp() {
+        createStatus("todo");
+        createStatus("done");
+        todo = new ArrayList<>();
+        done = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            todo.add(createTask("Todo " + i, "todo", i * TaskIndexRebalancer.GAP));
+            done.add(createTask("Done " + i, "done", i * TaskIndexRebalancer.GAP));
+        }
+    }
+
+    @Test
+    void testMovesWithSingleRowUpdate() {
+        Integer before = index(todo.get(0));
+
+        taskService.move(todo.get(2), moveAfter(todo.get(0)));
+
+        assertThat(column("todo")).containsExactly(todo.get(0), todo.get(2), todo.get(1));
+        assertThat(index(todo.get(0))).isEqualTo(before);
+        assertThat(index(todo.get(2))).isEqualTo(TaskIndexRebalancer.GAP + TaskIndexRebalancer.GAP / 2);
+    }
+
+    @Test
+    void testMovesAcrossColumns() {
+        taskService.move(todo.get(0), moveBefore(done.get(0)));
+        var toEnd = new TaskMoveDTO();
+        toEnd.setStatus("todo");
+        taskService.move(done.get(2), toEnd);
+
+        assertThat(column("done")).containsExactly(todo.get(0), done.get(0), done.get(1));
+        assertThat(column("todo")).containsExactly(todo.get(1), todo.get(2), done.get(2));
+    }
+
+    @Test
+    void testRebalancesWhenGapRunsOut() {
+        for (int i = 0; i < todo.size(); i++) {
+            jdbcTemplate.update("UPDATE tasks SET index = ? WHERE id = ?", i + 1, todo.get(i));
+        }
+
+        taskService.move(todo.get(2), moveBefore(todo.get(1)));
+
+        assertThat(column("todo")).containsExactly(todo.get(0), todo.get(2), todo.get(1));
+        // Колонка перенумерована с исходным промежутком, задача встала в середину
+        assertThat(index(todo.get(0))).isEqualTo(TaskIndexRebalancer.GAP);
+    }
+
+    @Test
+    void testAppendsIntoRemainingRoomAtColumnEnd() {
+        jdbcTemplate.update("UPDATE tasks SET index = ? WHERE id = ?", Integer.MAX_VALUE - 10, todo.get(2));
+        var toEnd = new TaskMoveDTO();
+        toEnd.setStatus("todo");
+
+        taskService.move(done.get(0), toEnd);
+
+        assertThat(column("todo")).containsExactly(todo.get(0), todo.get(1), todo.get(2), done.get(0));
+        assertThat(index(done.get(0))).isEqualTo(Integer.MAX_VALUE - 5);
+    }
+
+    @Test
+    void testCrowdedColumnIsRebalancedInBackground() {
+        // Промежуток каждый раз делится пополам: после седьмого перемещения он меньше 16
+        for (int i = 0; i < 7; i++) {
+            Long moving = i % 2 == 0 ? todo.get(2) : todo.get(1);
+            Long anchor = i % 2 == 0 ? todo.get(1) : todo.get(2);
+            taskService.move(moving, moveBefore(anchor));
+        }
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            List<Integer> indexes = jdbcTemplate.queryForList("SELECT index FROM tasks t"
+                    + " JOIN task_statuses s ON s.id = t.task_status_id WHERE s.slug = 'todo' ORDER BY index",
+                    Integer.class);
+            assertThat(indexes).containsExactly(TaskIndexRebalancer.GAP, 2 * TaskIndexRebalancer.GAP,
+                    3 * TaskIndexRebalancer.GAP);
+        });
+    }
+
+    @Test
+    void testConcurrentCrossColumnMovesDoNotDeadlock() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int round = 0; round < 10; round++) {
+                results.add(executor.submit(() -> taskService.move(todo.get(0), moveBefore(done.get(1)))));
+                results.add(executor.submit(() -> taskService.move(done.get(2), moveAfter(todo.get(1)))));
+            }
+            for (Future<?> result : results) {
+                result.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(column("todo")).containsExactly(todo.get(1), done.get(2), todo.get(2));
+        assertThat(column("done")).containsExactly(done.get(0), todo.get(0), done.get(1));
+    }
+
+    @Test
+    @WithMockUser
+    void testMoveEndpoint() throws Exception {
+        mockMvc.perform(post("/api/tasks/{id}/move", todo.get(0))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"afterId\": " + todo.get(2) + "}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.index").value(4 * TaskIndexRebalancer.GAP));
+
+        mockMvc.perform(post("/api/tasks/{id}/move", todo.get(0))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"afterId\": " + todo.get(1) + ", \"beforeId\": " + todo.get(2) + "}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<Long> column(String slug) {
+        return jdbcTemplate.queryForList("SELECT t.id FROM tasks t JOIN task_statuses s ON s.id = t.task_status_id"
+                + " WHERE s.slug = ? ORDER BY t.index, t.id", Long.class, slug);
+    }
+
+    private Integer index(Long id) {
+        return taskRepository.findById(id).map(Task::getIndex).orElseThrow();
+    }
+
+    private static TaskMoveDTO moveBefore(Long id) {
+        var move = new TaskMoveDTO();
+        move.setBeforeId(id);
+        return move;
+    }
+
+    private static TaskMoveDTO moveAfter(Long id) {
+        var move = new TaskMoveDTO();
+        move.setAfterId(id);
+        return move;
+    }
+
+    private void createStatus(String slug) {
+        TaskStatus status = new TaskStatus();
+        status.setName(slug);
+        status.setSlug(slug);
+        taskStatusRepository.save(status);
+    }
+
+    private Long createTask(String title, String status, int index) {
+        var dto = new TaskCreateDTO();
+        dto.setTitle(title);
+        dto.setStatus(status);
+        dto.setIndex(index);
+        return taskService.create(dto).getId();
+    }
+}
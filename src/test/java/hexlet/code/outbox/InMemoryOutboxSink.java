@@ -0,0 +1,38 @@
+package hexlet.code.outbox;
+
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// В тестах события outbox остаются в памяти; failNext имитирует недоступный брокер
+@Primary
+@Component
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final List<OutboxMessage> messages = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failures = new AtomicInteger();
+
+    @Override
+    public void publish(List<OutboxMessage> batch) {
+        if (failures.getAndUpdate(left -> Math.max(left - 1, 0)) > 0) {
+            throw new IllegalStateException("Sink unavailable");
+        }
+        messages.addAll(batch);
+    }
+
+    public List<OutboxMessage> getMessages() {
+        return List.copyOf(messages);
+    }
+
+    public void failNext(int times) {
+        failures.set(times);
+    }
+
+    public void clear() {
+        messages.clear();
+        failures.set(0);
+    }
+}
@@ -0,0 +1,158 @@
+package hexlet.code.outbox;
+
+import hexlet.code.DatabaseCleanerExtension;
+import hexlet.code.dto.task.TaskCreateDTO;
+import hexlet.code.dto.task.TaskUpdateDTO;
+import hexlet.code.exception.ResourceNotFoundException;
+import hexlet.code.model.OutboxEvent;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.OutboxCheckpointRepository;
+import hexlet.code.repository.OutboxEventRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.openapitools.jackson.nullable.JsonNullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Релей выключен, проходы вызываются из теста: так порядок и повторы проверяются детерминированно
+@SpringBootTest
+@TestPropertySource(properties = {
+    "app.outbox.relay-enabled=false",
+    "app.outbox.batch-size=2",
+    "app.outbox.gap-timeout=1h"
+})
+@ExtendWith(DatabaseCleanerExtension.class)
+public class OutboxRelayTest {
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private InMemoryOutboxSink sink;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        // Дочищаем события предыдущих тестов
+        int relayed;
+        do {
+            relayed = relay.relayBatch();
+        } while (relayed > 0);
+        sink.clear();
+
+        TaskStatus status = new TaskStatus();
+        status.setName("draft");
+        status.setSlug("draft");
+        taskStatusRepository.save(status);
+    }
+
+    @Test
+    void testRelaysEventsInOrderAndAdvancesCheckpoint() {
+        var task = taskService.create(task("Outbox task"));
+        var update = new TaskUpdateDTO();
+        update.setTitle(JsonNullable.of("Renamed"));
+        taskService.update(task.getId(), update);
+        taskService.delete(task.getId());
+        assertThat(outboxEventRepository.count()).isEqualTo(3);
+
+        // batch-size=2: вторая пачка забирает хвост
+        assertThat(relay.relayBatch()).isEqualTo(2);
+        assertThat(relay.relayBatch()).isEqualTo(1);
+        assertThat(relay.relayBatch()).isZero();
+
+        assertThat(sink.getMessages())
+                .extracting(OutboxMessage::eventType)
+                .containsExactly("task.created", "task.updated", "task.deleted");
+        assertThat(sink.getMessages())
+                .extracting(OutboxMessage::aggregateId)
+                .containsOnly(task.getId());
+        assertThat(sink.getMessages().get(1).payload()).contains("\"title\":\"Renamed\"");
+        assertThat(outboxEventRepository.count()).isZero();
+        assertThat(checkpointRepository.findById(OutboxRelay.RELAY).orElseThrow().getLastEventId())
+                .isEqualTo(sink.getMessages().get(2).id());
+    }
+
+    @Test
+    void testRolledBackChangeWritesNoEvent() {
+        var task = taskService.create(task("Outbox task"));
+        var update = new TaskUpdateDTO();
+        update.setStatus(JsonNullable.of("missing"));
+
+        assertThatThrownBy(() -> taskService.update(task.getId(), update))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        assertThat(outboxEventRepository.findAll())
+                .extracting(OutboxEvent::getEventType)
+                .containsExactly("task.created");
+    }
+
+    @Test
+    void testRedeliversBatchAfterSinkFailure() {
+        taskService.create(task("Outbox task"));
+        sink.failNext(1);
+
+        assertThatThrownBy(() -> relay.relayBatch()).isInstanceOf(IllegalStateException.class);
+        assertThat(outboxEventRepository.count()).isEqualTo(1);
+
+        assertThat(relay.relayBatch()).isEqualTo(1);
+        assertThat(sink.getMessages()).extracting(OutboxMessage::eventType).containsExactly("task.created");
+    }
+
+    @Test
+    void testWaitsForGapBeforeLaterEvents() {
+        // Откатившаяся вставка оставляет пропуск id, как транзакция, которая ещё не закоммитилась
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            var event = new OutboxEvent();
+            event.setAggregateType("task");
+            event.setAggregateId(0L);
+            event.setEventType("task.created");
+            event.setPayload("{}");
+            event.setCreatedAt(LocalDateTime.now());
+            outboxEventRepository.saveAndFlush(event);
+            status.setRollbackOnly();
+        });
+        taskService.create(task("Committed"));
+
+        assertThat(relay.relayBatch()).isZero();
+
+        jdbcTemplate.update("UPDATE outbox_events SET created_at = ?", LocalDateTime.now().minusDays(1));
+        assertThat(relay.relayBatch()).isEqualTo(1);
+        assertThat(sink.getMessages().get(0).payload()).contains("Committed");
+    }
+
+    private static TaskCreateDTO task(String title) {
+        var dto = new TaskCreateDTO();
+        dto.setTitle(title);
+        dto.setStatus("draft");
+        return dto;
+    }
+}
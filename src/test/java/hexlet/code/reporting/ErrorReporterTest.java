@@ -0,0 +1,134 @@
+package hexlet.code.reporting;
+
+import hexlet.code.DatabaseCleanerExtension;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.sentry.SentryLevel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "sentry.reporting.sample-rates.ResourceNotFoundException=1.0")
+@ExtendWith(DatabaseCleanerExtension.class)
+public class ErrorReporterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ErrorReporter errorReporter;
+
+    @Autowired
+    private InMemoryErrorSink sink;
+
+    @Autowired
+    private ErrorReportingProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        errorReporter.flush();
+        sink.clear();
+    }
+
+    @Test
+    @WithMockUser
+    void testRepeatedNotFoundIsAggregated() throws Exception {
+        for (long id = 100_000; id < 100_020; id++) {
+            mockMvc.perform(get("/api/tasks/" + id))
+                    .andExpect(status().isNotFound());
+        }
+
+        // Запросы ничего не отправили сами — всё ждёт сброса окна
+        assertThat(sink.getSummaries()).isEmpty();
+        errorReporter.flush();
+
+        assertThat(sink.getSummaries())
+                .singleElement()
+                .satisfies(summary -> {
+                    assertThat(summary.type()).isEqualTo("ResourceNotFoundException");
+                    assertThat(summary.level()).isEqualTo(SentryLevel.WARNING);
+                    assertThat(summary.message()).isEqualTo("Resource not found: Task Not Found: #");
+                    assertThat(summary.count()).isEqualTo(20);
+                });
+    }
+
+    @Test
+    void testSampleRatesAreBoundByExceptionType() {
+        assertThat(properties.sampleRateFor("BadCredentialsException")).isEqualTo(0.2);
+        assertThat(properties.sampleRateFor("ResourceNotFoundException")).isEqualTo(1.0);
+        assertThat(properties.sampleRateFor("RuntimeException")).isEqualTo(1.0);
+    }
+
+    @Test
+    void testRepeatsAreAggregatedOnInsert() {
+        var config = new ErrorReportingProperties();
+        config.setMaxSummaries(2);
+        var meterRegistry = new SimpleMeterRegistry();
+        var localSink = new InMemoryErrorSink();
+        var reporter = new ErrorReporter(localSink, config, meterRegistry);
+
+        for (int i = 0; i < 5; i++) {
+            reporter.report(SentryLevel.ERROR, "boom " + i, new IllegalStateException("boom"));
+        }
+        reporter.flush();
+
+        assertThat(meterRegistry.get("app.errors.dropped").counter().count()).isZero();
+        assertThat(meterRegistry.get("app.errors.reported").tag("type", "IllegalStateException").counter().count())
+                .isEqualTo(5.0);
+        assertThat(localSink.getSummaries())
+                .singleElement()
+                .satisfies(summary -> {
+                    assertThat(summary.count()).isEqualTo(5);
+                    assertThat(summary.error()).isInstanceOf(IllegalStateException.class);
+                });
+    }
+
+    @Test
+    void testWarningFloodDoesNotDropErrors() {
+        var config = new ErrorReportingProperties();
+        config.setMaxSummaries(2);
+        var meterRegistry = new SimpleMeterRegistry();
+        var localSink = new InMemoryErrorSink();
+        var reporter = new ErrorReporter(localSink, config, meterRegistry);
+
+        for (String path : new String[] {"a", "b", "c", "d"}) {
+            reporter.report(SentryLevel.WARNING, "Not found: /" + path, new IllegalArgumentException());
+        }
+        reporter.report(SentryLevel.ERROR, "Database is down", new IllegalStateException());
+        reporter.flush();
+
+        assertThat(meterRegistry.get("app.errors.dropped").counter().count()).isEqualTo(2.0);
+        assertThat(localSink.getSummaries())
+                .extracting(ErrorSummary::level)
+                .containsExactly(SentryLevel.ERROR, SentryLevel.WARNING, SentryLevel.WARNING);
+    }
+
+    @Test
+    void testSampleRateIsAppliedPerType() {
+        var config = new ErrorReportingProperties();
+        config.setSampleRates(Map.of("IllegalArgumentException", 0.0));
+        var localSink = new InMemoryErrorSink();
+        var reporter = new ErrorReporter(localSink, config, new SimpleMeterRegistry());
+
+        reporter.report(SentryLevel.WARNING, "ignored", new IllegalArgumentException());
+        reporter.report(SentryLevel.WARNING, "kept", new IllegalStateException());
+        reporter.flush();
+
+        assertThat(localSink.getSummaries())
+                .extracting(ErrorSummary::type)
+                .containsExactly("IllegalStateException");
+    }
+}
@@ -0,0 +1,28 @@
+package hexlet.code.reporting;
+
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// В тестах сводки об ошибках остаются в памяти вместо отправки в Sentry
+@Primary
+@Component
+public class InMemoryErrorSink implements ErrorSink {
+
+    private final List<ErrorSummary> summaries = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void send(ErrorSummary summary) {
+        summaries.add(summary);
+    }
+
+    public List<ErrorSummary> getSummaries() {
+        return List.copyOf(summaries);
+    }
+
+    public void clear() {
+        summaries.clear();
+    }
+}
@@ -0,0 +1,132 @@
+package hexlet.code.search;
+
+import hexlet.code.DatabaseCleanerExtension;
+import hexlet.code.dto.task.TaskCreateDTO;
+import hexlet.code.dto.task.TaskSearchHitDTO;
+import hexlet.code.dto.task.TaskUpdateDTO;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.openapitools.jackson.nullable.JsonNullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ExtendWith(DatabaseCleanerExtension.class)
+public class TaskSearchTest {
+
+    @Autowired
+    private TaskSearchIndex index;
+
+    @Autowired
+    private TaskSearchService searchService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        TaskStatus status = new TaskStatus();
+        status.setName("draft");
+        status.setSlug("draft");
+        taskStatusRepository.save(status);
+        // Очистка базы идёт мимо событий
+        index.rebuild();
+    }
+
+    @Test
+    void testRanksTitleMatchesHigherAndBuildsSnippets() {
+        var inDescription = create("Quarterly report", "The payment gateway sometimes rejects cards after the update");
+        var inTitle = create("Payment gateway outage", "Customers cannot check out");
+        create("Unrelated", "Nothing to see here");
+
+        var hits = searchService.search("payment", 10);
+
+        assertThat(hits).extracting(TaskSearchHitDTO::getId).containsExactly(inTitle, inDescription);
+        assertThat(hits.get(1).getSnippet()).startsWith("The payment gateway");
+        assertThat(hits.get(0).getSnippet()).isEqualTo("Payment gateway outage");
+    }
+
+    @Test
+    void testMatchesWordFormsInRussian() {
+        var task = create("Исправить срочные задачи", "Платёжный шлюз отклоняет карты");
+
+        assertThat(searchService.search("срочная задача", 10)).extracting(TaskSearchHitDTO::getId)
+                .containsExactly(task);
+        assertThat(searchService.search("платежного шлюза", 10).get(0).getSnippet())
+                .isEqualTo("Платёжный шлюз отклоняет карты");
+    }
+
+    @Test
+    void testFollowsUpdatesAndDeletes() {
+        var task = create("Legacy importer", "Rewrite the CSV importer");
+        var update = new TaskUpdateDTO();
+        update.setTitle(JsonNullable.of("Modern exporter"));
+        update.setContent(JsonNullable.of("Stream JSON"));
+        taskService.update(task, update);
+
+        assertThat(searchService.search("importer", 10)).isEmpty();
+        assertThat(searchService.search("exporter", 10)).extracting(TaskSearchHitDTO::getId).containsExactly(task);
+
+        taskService.delete(task);
+        assertThat(searchService.search("exporter", 10)).isEmpty();
+    }
+
+    @Test
+    void testRebuildPicksUpRowsWrittenBehindTheService() {
+        Long statusId = jdbcTemplate.queryForObject("SELECT id FROM task_statuses WHERE slug = 'draft'", Long.class);
+        jdbcTemplate.update("INSERT INTO tasks (name, description, index, created_at, task_status_id)"
+                        + " VALUES ('Bulk loaded', 'Imported by the dataset generator', 1, ?, ?)",
+                LocalDateTime.now(), statusId);
+        assertThat(searchService.search("dataset", 10)).isEmpty();
+
+        index.rebuild();
+
+        assertThat(searchService.search("dataset", 10)).extracting(TaskSearchHitDTO::getTitle)
+                .containsExactly("Bulk loaded");
+    }
+
+    @Test
+    @WithMockUser
+    void testSearchEndpoint() throws Exception {
+        var task = create("Flaky login test", "Fails on CI when the clock skews");
+
+        mockMvc.perform(get("/api/tasks/search").param("q", "failing tests"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(task))
+                .andExpect(jsonPath("$[0].title").value("Flaky login test"))
+                .andExpect(jsonPath("$[0].snippet").value("Fails on CI when the clock skews"));
+    }
+
+    private Long create(String title, String content) {
+        var dto = new TaskCreateDTO();
+        dto.setTitle(title);
+        dto.setContent(content);
+        dto.setStatus("draft");
+        return taskService.create(dto).getId();
+    }
+}
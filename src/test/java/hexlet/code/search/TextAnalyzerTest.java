@@ -0,0 +1,34 @@
+package hexlet.code.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TextAnalyzerTest {
+
+    private final TextAnalyzer analyzer = new TextAnalyzer(true);
+
+    @Test
+    void testSplitsAndLowercases() {
+        assertThat(new TextAnalyzer(false).terms("Fix the API: v2-release, ЁЖИК!"))
+                .containsExactly("fix", "the", "api", "v2", "release", "ежик");
+    }
+
+    @Test
+    void testStemsEnglishForms() {
+        assertThat(analyzer.terms("fix fixes fixed fixing")).containsOnly("fix");
+        assertThat(analyzer.terms("note notes noted noting")).containsOnly("not");
+        assertThat(analyzer.terms("story stories")).containsOnly("story");
+    }
+
+    @Test
+    void testStemsRussianForms() {
+        assertThat(analyzer.terms("задача задачи задачу задачами")).containsOnly("задач");
+        assertThat(analyzer.terms("срочный срочная срочного")).containsOnly("срочн");
+    }
+
+    @Test
+    void testKeepsShortWords() {
+        assertThat(analyzer.terms("bug api ui")).containsExactly("bug", "api", "ui");
+    }
+}
@@ -0,0 +1,170 @@
+package hexlet.code.statistics;
+
+import hexlet.code.DatabaseCleanerExtension;
+import hexlet.code.dto.task.TaskCreateDTO;
+import hexlet.code.dto.task.TaskUpdateDTO;
+import hexlet.code.model.Label;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.service.TaskService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.openapitools.jackson.nullable.JsonNullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ExtendWith(DatabaseCleanerExtension.class)
+public class TaskCountersTest {
+
+    @Autowired
+    private TaskCounters taskCounters;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private User user;
+    private Label label;
+
+    @BeforeEach
+    void setUp() {
+        for (String slug : new String[] {"draft", "published"}) {
+            TaskStatus status = new TaskStatus();
+            status.setName(slug);
+            status.setSlug(slug);
+            taskStatusRepository.save(status);
+        }
+        user = new User();
+        user.setEmail("counter@example.com");
+        user.setPasswordDigest("digest");
+        userRepository.save(user);
+        label = new Label();
+        label.setName("counted");
+        labelRepository.save(label);
+
+        // Очистка базы идёт мимо счётчиков
+        taskCounters.reconcile();
+    }
+
+    @Test
+    void testCountersFollowTaskWrites() {
+        var first = taskService.create(task("First", user.getId(), Set.of(label.getId())));
+        taskService.create(task("Second", null, Set.of()));
+        var third = taskService.create(task("Third", user.getId(), Set.of(label.getId())));
+
+        var update = new TaskUpdateDTO();
+        update.setStatus(JsonNullable.of("published"));
+        update.setAssigneeId(JsonNullable.of(null));
+        taskService.update(first.getId(), update);
+        taskService.delete(third.getId());
+
+        // До сброса в базу узел видит свои изменения из памяти, после — из таблицы
+        assertStatistics();
+        taskCounters.flush();
+        assertStatistics();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT task_count FROM task_counters WHERE dimension = 'total'", Long.class)).isEqualTo(2);
+    }
+
+    @Test
+    void testReconcileCorrectsDrift() {
+        taskService.create(task("Counted", null, Set.of()));
+        Long statusId = jdbcTemplate.queryForObject("SELECT id FROM task_statuses WHERE slug = 'draft'", Long.class);
+        jdbcTemplate.update("INSERT INTO tasks (name, index, created_at, task_status_id, assignee_id)"
+                + " VALUES ('Bypassed', 1, ?, ?, ?)", LocalDateTime.now(), statusId, user.getId());
+        taskCounters.flush();
+        assertThat(taskCounters.statistics().getTotal()).isEqualTo(1);
+        double driftBefore = meterRegistry.counter("app.task_counters.drift").count();
+
+        taskCounters.reconcile();
+
+        var statistics = taskCounters.statistics();
+        assertThat(statistics.getTotal()).isEqualTo(2);
+        assertThat(statistics.getByAssignee()).isEqualTo(Map.of(user.getId(), 1L));
+        assertThat(meterRegistry.counter("app.task_counters.drift").count() - driftBefore).isEqualTo(3);
+    }
+
+    @Test
+    void testReconcileDoesNotCountUnflushedTasksTwice() {
+        taskService.create(task("Pending", user.getId(), Set.of(label.getId())));
+        double driftBefore = meterRegistry.counter("app.task_counters.drift").count();
+
+        // Задача уже в tasks, а её приращение ещё в памяти: пересчёт забирает его себе
+        taskCounters.reconcile();
+        taskCounters.flush();
+
+        assertThat(taskCounters.statistics().getTotal()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT task_count FROM task_counters WHERE dimension = 'total'", Long.class)).isEqualTo(1);
+        assertThat(meterRegistry.counter("app.task_counters.drift").count() - driftBefore).isZero();
+    }
+
+    @Test
+    @WithMockUser
+    void testStatisticsEndpoint() throws Exception {
+        taskService.create(task("Counted", user.getId(), Set.of(label.getId())));
+
+        mockMvc.perform(get("/api/tasks/statistics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.byStatus.draft").value(1))
+                .andExpect(jsonPath("$.byAssignee['" + user.getId() + "']").value(1))
+                .andExpect(jsonPath("$.byLabel['" + label.getId() + "']").value(1))
+                .andExpect(jsonPath("$.unassigned").value(0));
+    }
+
+    private void assertStatistics() {
+        var statistics = taskCounters.statistics();
+        assertThat(statistics.getTotal()).isEqualTo(2);
+        assertThat(statistics.getByStatus()).isEqualTo(Map.of("draft", 1L, "published", 1L));
+        assertThat(statistics.getByAssignee()).isEmpty();
+        assertThat(statistics.getUnassigned()).isEqualTo(2);
+        assertThat(statistics.getByLabel()).isEqualTo(Map.of(label.getId(), 1L));
+    }
+
+    private static TaskCreateDTO task(String title, Long assigneeId, Set<Long> labelIds) {
+        var dto = new TaskCreateDTO();
+        dto.setTitle(title);
+        dto.setStatus("draft");
+        dto.setAssigneeId(assigneeId);
+        dto.setTaskLabelIds(labelIds);
+        return dto;
+    }
+}
@@ -0,0 +1,50 @@
+package hexlet.code.stream;
+
+import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.event.TaskChangedEvent.Type;
+import hexlet.code.stream.CoalescingEventQueue.Offer;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CoalescingEventQueueTest {
+
+    @Test
+    void testChangesOfSameTaskAreCoalesced() {
+        var queue = new CoalescingEventQueue(10);
+
+        assertThat(queue.offer(1, TaskChangedEvent.created(task(1L, "v1")))).isEqualTo(Offer.QUEUED);
+        assertThat(queue.offer(2, TaskChangedEvent.updated(task(1L, "v1"), task(1L, "v2"))))
+                .isEqualTo(Offer.COALESCED);
+
+        var entries = queue.drain();
+        assertThat(entries).hasSize(1);
+        // Клиент не видел создания, поэтому получает created с последним состоянием
+        assertThat(entries.get(0).event().type()).isEqualTo(Type.CREATED);
+        assertThat(entries.get(0).event().task().getTitle()).isEqualTo("v2");
+        assertThat(entries.get(0).id()).isEqualTo(2);
+        assertThat(queue.isEmpty()).isTrue();
+    }
+
+    @Test
+    void testOverflowCountsDistinctTasksOnly() {
+        var queue = new CoalescingEventQueue(2);
+        queue.offer(1, TaskChangedEvent.created(task(1L, "a")));
+        queue.offer(2, TaskChangedEvent.created(task(2L, "b")));
+
+        assertThat(queue.offer(3, TaskChangedEvent.deleted(task(2L, "b"))))
+                .isEqualTo(Offer.COALESCED);
+        assertThat(queue.offer(4, TaskChangedEvent.created(task(3L, "c"))))
+                .isEqualTo(Offer.OVERFLOW);
+        assertThat(queue.drain()).extracting(entry -> entry.event().type())
+                .containsExactly(Type.CREATED, Type.DELETED);
+    }
+
+    private static TaskDTO task(Long id, String title) {
+        var task = new TaskDTO();
+        task.setId(id);
+        task.setTitle(title);
+        return task;
+    }
+}
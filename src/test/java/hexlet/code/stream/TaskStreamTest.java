@@ -0,0 +1,167 @@
+package hexlet.code.stream;
+
+import hexlet.code.DatabaseCleanerExtension;
+import hexlet.code.dto.task.TaskCreateDTO;
+import hexlet.code.dto.task.TaskUpdateDTO;
+import hexlet.code.exception.ResourceNotFoundException;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.openapitools.jackson.nullable.JsonNullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "app.task-stream.max-subscribers=2")
+@ExtendWith(DatabaseCleanerExtension.class)
+public class TaskStreamTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private TaskStreamBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        for (String slug : new String[] {"draft", "published"}) {
+            TaskStatus status = new TaskStatus();
+            status.setName(slug);
+            status.setSlug(slug);
+            taskStatusRepository.save(status);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.closeAll();
+    }
+
+    @Test
+    @WithMockUser
+    void testStreamsCommittedChangesMatchingFilter() throws Exception {
+        MvcResult stream = subscribe("draft");
+
+        var draft = taskService.create(task("Draft task", "draft"));
+        taskService.create(task("Published task", "published"));
+        // Задача уходит из выборки — подписчик должен об этом узнать
+        var update = new TaskUpdateDTO();
+        update.setStatus(JsonNullable.of("published"));
+        taskService.update(draft.getId(), update);
+
+        await().atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertThat(body(stream)).contains("event:updated"));
+        assertThat(body(stream))
+                .contains("event:created", "\"title\":\"Draft task\"")
+                .doesNotContain("Published task");
+    }
+
+    @Test
+    @WithMockUser
+    void testRolledBackChangesAreNotStreamed() throws Exception {
+        MvcResult stream = subscribe(null);
+        var task = taskService.create(task("Task", "draft"));
+
+        var update = new TaskUpdateDTO();
+        update.setStatus(JsonNullable.of("missing"));
+        assertThatThrownBy(() -> taskService.update(task.getId(), update))
+                .isInstanceOf(ResourceNotFoundException.class);
+        taskService.delete(task.getId());
+
+        await().atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertThat(body(stream)).contains("event:deleted"));
+        assertThat(body(stream)).doesNotContain("event:updated");
+    }
+
+    @Test
+    @WithMockUser
+    void testRejectsSubscribersOverLimit() throws Exception {
+        subscribe(null);
+        subscribe(null);
+
+        mockMvc.perform(get("/api/tasks/stream"))
+                .andExpect(status().isServiceUnavailable());
+        assertThat(broadcaster.subscriberCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testConcurrentSubscribersDoNotExceedLimit() throws Exception {
+        var ready = new CountDownLatch(1);
+        var accepted = new AtomicInteger();
+        var executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int i = 0; i < 8; i++) {
+                executor.execute(() -> {
+                    awaitLatch(ready);
+                    broadcaster.subscribe(TaskEventFilter.of(null))
+                            .ifPresent(emitter -> accepted.incrementAndGet());
+                });
+            }
+            ready.countDown();
+        } finally {
+            executor.shutdown();
+            assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(accepted.get()).isEqualTo(2);
+        assertThat(broadcaster.subscriberCount()).isEqualTo(2);
+    }
+
+    private static void awaitLatch(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private MvcResult subscribe(String status) throws Exception {
+        var request = get("/api/tasks/stream");
+        if (status != null) {
+            request.param("status", status);
+        }
+        return mockMvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private static String body(MvcResult result) throws Exception {
+        return result.getResponse().getContentAsString();
+    }
+
+    private static TaskCreateDTO task(String title, String status) {
+        var dto = new TaskCreateDTO();
+        dto.setTitle(title);
+        dto.setStatus(status);
+        return dto;
+    }
+}
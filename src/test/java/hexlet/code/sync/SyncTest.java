@@ -0,0 +1,232 @@
+package hexlet.code.sync;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.DatabaseCleanerExtension;
+import hexlet.code.dto.task.TaskCreateDTO;
+import hexlet.code.dto.task.TaskUpdateDTO;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.openapitools.jackson.nullable.JsonNullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ExtendWith(DatabaseCleanerExtension.class)
+@WithMockUser
+public class SyncTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ChangeLogPurger purger;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testReturnsUpsertsAndDeletionsSinceToken() throws Exception {
+        String token = head();
+
+        TaskStatus draft = taskStatus("draft");
+        User user = user("sync@example.com");
+        Label bug = label("bug");
+        Label gone = label("obsolete");
+        bug.setName("defect");
+        labelRepository.save(bug);
+        labelRepository.delete(gone);
+        Task task = task("Write docs", draft, user, bug);
+
+        JsonNode changes = changes(token);
+        assertThat(ids(changes.get("labels"))).containsExactly(bug.getId());
+        assertThat(changes.get("labels").get(0).get("name").asText()).isEqualTo("defect");
+        // head() отступает перед свежими записями, так что в ответ попадают и удалённые очисткой базы строки
+        assertThat(ids(changes.get("deleted").get("labels"))).contains(gone.getId());
+        assertThat(ids(changes.get("statuses"))).containsExactly(draft.getId());
+        assertThat(ids(changes.get("users"))).containsExactly(user.getId());
+        assertThat(ids(changes.get("tasks"))).containsExactly(task.getId());
+        assertThat(changes.get("hasMore").asBoolean()).isFalse();
+
+        JsonNode nothing = changes(changes.get("token").asText());
+        assertThat(nothing.get("token").asText()).isEqualTo(changes.get("token").asText());
+        assertThat(nothing.get("tasks")).isEmpty();
+        assertThat(nothing.get("labels")).isEmpty();
+        assertThat(nothing.get("deleted").get("tasks")).isEmpty();
+    }
+
+    @Test
+    void testLabelOnlyTaskUpdateIsTracked() throws Exception {
+        Task task = task("Triage", taskStatus("draft"), null, label("bug"));
+        Label urgent = label("urgent");
+        String token = head();
+
+        var update = new TaskUpdateDTO();
+        update.setTaskLabelIds(JsonNullable.of(Set.of(urgent.getId())));
+        taskService.update(task.getId(), update);
+
+        JsonNode changes = changes(token);
+        assertThat(ids(changes.get("tasks"))).containsExactly(task.getId());
+        assertThat(changes.get("tasks").get(0).get("taskLabelIds").get(0).asLong()).isEqualTo(urgent.getId());
+        assertThat(jdbcTemplate.queryForObject("SELECT updated_at FROM tasks WHERE id = ?",
+                Timestamp.class, task.getId())).isNotNull();
+
+        taskService.delete(task.getId());
+        assertThat(ids(changes(changes.get("token").asText()).get("deleted").get("tasks")))
+                .contains(task.getId());
+    }
+
+    @Test
+    void testWaitsForUncommittedEarlierChange() throws Exception {
+        String token = head();
+        var written = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var transactions = new TransactionTemplate(transactionManager);
+
+        // Первая транзакция получает id в журнале, но коммитится после второй
+        CompletableFuture<Label> slow = CompletableFuture.supplyAsync(() -> transactions.execute(status -> {
+            Label label = new Label();
+            label.setName("slow");
+            labelRepository.saveAndFlush(label);
+            written.countDown();
+            await(release);
+            return label;
+        }));
+        assertThat(written.await(10, TimeUnit.SECONDS)).isTrue();
+        Label fast = label("fast");
+
+        JsonNode pending = changes(token);
+        assertThat(pending.get("labels")).isEmpty();
+
+        release.countDown();
+        Label slowLabel = slow.get(10, TimeUnit.SECONDS);
+        assertThat(ids(changes(pending.get("token").asText()).get("labels")))
+                .containsExactly(slowLabel.getId(), fast.getId());
+    }
+
+    @Test
+    void testTokenOlderThanRetentionIsGone() throws Exception {
+        label("before");
+        String token = head();
+        jdbcTemplate.update("INSERT INTO change_log (entity_type, entity_id, deleted, changed_at) VALUES (?, ?, ?, ?)",
+                SyncEntity.LABEL.value(), -1L, true, Timestamp.valueOf(LocalDateTime.now().minusDays(60)));
+
+        assertThat(purger.purge()).isPositive();
+
+        mockMvc.perform(get("/api/changes").param("since", token))
+                .andExpect(status().isGone());
+        assertThat(Long.parseLong(head())).isGreaterThan(Long.parseLong(token));
+        changes(head());
+    }
+
+    @Test
+    void testRejectsInvalidToken() throws Exception {
+        mockMvc.perform(get("/api/changes").param("since", "abc"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/changes").param("since", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String head() throws Exception {
+        var body = mockMvc.perform(get("/api/changes"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("token").asText();
+    }
+
+    private JsonNode changes(String since) throws Exception {
+        var body = mockMvc.perform(get("/api/changes").param("since", since))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private static List<Long> ids(JsonNode nodes) {
+        List<Long> ids = new ArrayList<>();
+        nodes.forEach(node -> ids.add(node.isObject() ? node.get("id").asLong() : node.asLong()));
+        return ids;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Task task(String title, TaskStatus status, User assignee, Label label) {
+        var data = new TaskCreateDTO();
+        data.setTitle(title);
+        data.setStatus(status.getSlug());
+        data.setAssigneeId(assignee == null ? null : assignee.getId());
+        data.setTaskLabelIds(Set.of(label.getId()));
+        return taskService.create(data);
+    }
+
+    private TaskStatus taskStatus(String slug) {
+        TaskStatus status = new TaskStatus();
+        status.setName(slug);
+        status.setSlug(slug);
+        return taskStatusRepository.save(status);
+    }
+
+    private User user(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPasswordDigest("digest");
+        return userRepository.save(user);
+    }
+
+    private Label label(String name) {
+        Label label = new Label();
+        label.setName(name);
+        return labelRepository.save(label);
+    }
+}